@@ -2,12 +2,42 @@ package com.booster.queryburst.common.kafka;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
+import org.redisson.api.RFuture;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
+/**
+ * Kafka Consumer 멱등성 서비스.
+ *
+ * <h2>단건</h2>
+ * SET NX PROCESSING → (커밋 후) SET PROCESSED / (실패 시) PROCESSING이면 DEL
+ *
+ * <h2>배치 (poll 단위)</h2>
+ * <pre>
+ * tryStartProcessing(groupId, events) — 파이프라인 1회로 키별 SET NX PX, 새로 선점한 레코드만 반환
+ * markProcessed(groupId, events)      — 파이프라인 1회로 전체 SET PROCESSED PX
+ * clearProcessing(groupId, events)    — 파이프라인 1회로 PROCESSING 상태인 키만 DEL (키별 compare-and-delete)
+ * </pre>
+ * 배치 크기와 무관하게 레코드당 왕복이 아닌 배치당 고정 왕복으로 처리된다.
+ * 모든 명령이 단일 키 명령이므로 키가 여러 슬롯에 흩어지는 Redis Cluster에서도 그대로 동작한다
+ * (키는 레코드마다 고정이어야 재전달을 걸러낼 수 있어 배치 단위 해시 태그로 묶을 수 없다).
+ * 같은 poll 안에 동일 키가 두 번 들어오면 첫 레코드만 선점된다.
+ *
+ * <h2>이전 형식 호환</h2>
+ * 값은 StringCodec으로 저장한다. 이전 버전은 같은 키에 기본 코덱으로 저장했으며,
+ * 선점(SET NX)과 완료(SET)는 값을 읽지 않으므로 그대로 호환된다.
+ * 값을 비교하는 clearProcessing만 두 인코딩의 PROCESSING을 모두 지운다.
+ * 이전 키는 최대 25시간 뒤 만료되므로 그 뒤에는 기본 코덱 비교를 제거해도 된다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,7 +53,7 @@ public class ConsumerIdempotencyService {
 
     public boolean tryStartProcessing(String groupId, Long orderId, String eventType) {
         String key = buildKey(groupId, orderId, eventType);
-        RBucket<String> bucket = redissonClient.getBucket(key);
+        RBucket<String> bucket = redissonClient.getBucket(key, StringCodec.INSTANCE);
         boolean acquired = bucket.setIfAbsent(PROCESSING, PROCESSING_TTL);
         if (!acquired) {
             log.warn("[ConsumerIdempotency] duplicate or processing event skipped. key={}", key);
@@ -33,20 +63,77 @@ public class ConsumerIdempotencyService {
 
     public void markProcessed(String groupId, Long orderId, String eventType) {
         String key = buildKey(groupId, orderId, eventType);
-        redissonClient.getBucket(key).set(PROCESSED, PROCESSED_TTL);
+        redissonClient.getBucket(key, StringCodec.INSTANCE).set(PROCESSED, PROCESSED_TTL);
         log.debug("[ConsumerIdempotency] marked processed. key={}", key);
     }
 
     public void clearProcessing(String groupId, Long orderId, String eventType) {
         String key = buildKey(groupId, orderId, eventType);
-        RBucket<String> bucket = redissonClient.getBucket(key);
-        String currentState = bucket.get();
-        if (PROCESSING.equals(currentState)) {
-            bucket.delete();
+        boolean cleared = redissonClient.<String>getBucket(key, StringCodec.INSTANCE).compareAndSet(PROCESSING, null)
+                || redissonClient.<String>getBucket(key).compareAndSet(PROCESSING, null);
+        if (cleared) {
             log.debug("[ConsumerIdempotency] cleared processing mark. key={}", key);
         }
     }
 
+    /**
+     * poll 단위 선점. 새로 선점한 레코드만 입력 순서대로 반환한다.
+     */
+    public <T extends IdempotentEvent> List<T> tryStartProcessing(String groupId, List<T> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        List<RFuture<Boolean>> results = new ArrayList<>(events.size());
+        for (IdempotentEvent event : events) {
+            results.add(batch.<String>getBucket(buildKey(groupId, event.orderId(), event.idempotencyType()), StringCodec.INSTANCE)
+                    .setIfAbsentAsync(PROCESSING, PROCESSING_TTL));
+        }
+        batch.execute();
+
+        List<T> accepted = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (results.get(i).toCompletableFuture().join()) {
+                accepted.add(events.get(i));
+            }
+        }
+        if (accepted.size() < events.size()) {
+            log.warn("[ConsumerIdempotency] duplicate or processing events skipped. group={}, skipped={}",
+                    groupId, events.size() - accepted.size());
+        }
+        return accepted;
+    }
+
+    public void markProcessed(String groupId, Collection<? extends IdempotentEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        for (IdempotentEvent event : events) {
+            batch.<String>getBucket(buildKey(groupId, event.orderId(), event.idempotencyType()), StringCodec.INSTANCE)
+                    .setAsync(PROCESSED, PROCESSED_TTL);
+        }
+        batch.execute();
+        log.debug("[ConsumerIdempotency] marked processed. group={}, size={}", groupId, events.size());
+    }
+
+    public void clearProcessing(String groupId, Collection<? extends IdempotentEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        for (IdempotentEvent event : events) {
+            String key = buildKey(groupId, event.orderId(), event.idempotencyType());
+            batch.<String>getBucket(key, StringCodec.INSTANCE).compareAndSetAsync(PROCESSING, null);
+            batch.<String>getBucket(key).compareAndSetAsync(PROCESSING, null);
+        }
+        batch.execute();
+        log.debug("[ConsumerIdempotency] cleared processing marks. group={}, size={}", groupId, events.size());
+    }
+
     private String buildKey(String groupId, Long orderId, String eventType) {
         return KEY_PREFIX + groupId + ":" + orderId + ":" + eventType;
     }
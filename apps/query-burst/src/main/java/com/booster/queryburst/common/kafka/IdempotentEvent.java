@@ -0,0 +1,21 @@
+package com.booster.queryburst.common.kafka;
+
+/**
+ * Consumer 멱등성 키를 구성하는 이벤트 식별 정보.
+ *
+ * {@link ConsumerIdempotencyService}의 배치 메서드가 poll 단위 레코드를 그대로 받을 수 있도록
+ * 메시지 payload 레코드가 구현한다.
+ */
+public interface IdempotentEvent {
+
+    Long orderId();
+
+    String eventType();
+
+    /**
+     * 멱등성 키에 사용하는 이벤트 구분값. 기본은 eventType이다.
+     */
+    default String idempotencyType() {
+        return eventType();
+    }
+}
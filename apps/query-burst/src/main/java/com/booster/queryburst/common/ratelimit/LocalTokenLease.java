@@ -0,0 +1,89 @@
+package com.booster.queryburst.common.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인스턴스 로컬 토큰 임대(lease) 저장소.
+ *
+ * Redis 버킷에서 한 번에 여러 토큰을 가져와(chunk) 보관하고, 소진될 때까지 네트워크 없이 허용한다.
+ * 임대된 토큰은 이미 Redis 버킷에서 차감된 상태이므로 전체 허용 수는 버킷이 내준 토큰 수를 넘지 않는다.
+ * 로컬 보관 때문에 허용 시점만 늦어질 수 있어, 임의 구간의 허용 수는 버킷 한도보다
+ * 최대 (인스턴스 수 × chunk)만큼 많을 수 있다. 키당 로컬 보관량은 저장 시 지정한 상한(chunk)을 넘지 않는다.
+ *
+ * 동시에 받아온 임대의 잔여 토큰은 새 임대에 합산하되 상한에서 자른다.
+ * 만료된 임대의 잔여 토큰은 이어받지 않고 버린다. 오래 보관한 토큰을 나중에 몰아 쓰지 않게 하기 위함이며,
+ * 그만큼은 과소 허용(최대 키당 chunk)이 된다. 정리(CLEANUP_THRESHOLD)로 지우는 엔트리도 만료된 것뿐이다.
+ */
+class LocalTokenLease {
+
+    // 만료된 lease 정리를 시작하는 엔트리 수 (회원별 키 누적 방지)
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * 유효한 lease에서 토큰 1개를 꺼낸다.
+     */
+    boolean tryTake(String key) {
+        Lease lease = leases.get(key);
+        return lease != null && !lease.isExpired(System.nanoTime()) && lease.tryTake();
+    }
+
+    /**
+     * Redis에서 받아온 잔여 토큰을 lease에 더하고 유효 시간을 갱신한다. 기존 lease가 만료됐으면 새로 만든다.
+     *
+     * @param maxTokens 키당 로컬 보관 상한(chunk). 넘는 토큰은 버린다.
+     */
+    void store(String key, int tokens, int maxTokens, long ttlNanos) {
+        if (tokens <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (leases.size() >= CLEANUP_THRESHOLD) {
+            leases.values().removeIf(lease -> lease.isExpired(now));
+        }
+        leases.compute(key, (ignored, lease) -> {
+            if (lease == null || lease.isExpired(now)) {
+                return new Lease(Math.min(tokens, maxTokens), now + ttlNanos);
+            }
+            lease.add(tokens, maxTokens, now + ttlNanos);
+            return lease;
+        });
+    }
+
+    private static final class Lease {
+
+        private final AtomicInteger remaining;
+        private volatile long expiresAtNanos;
+
+        private Lease(int tokens, long expiresAtNanos) {
+            this.remaining = new AtomicInteger(tokens);
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        boolean tryTake() {
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        /**
+         * compute 안에서만 호출된다. 잔여 토큰은 compute 밖의 tryTake와 경합하므로 CAS로 더한다.
+         */
+        void add(int tokens, int maxTokens, long expiresAtNanos) {
+            remaining.updateAndGet(current -> Math.min(Math.max(current, 0) + tokens, maxTokens));
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
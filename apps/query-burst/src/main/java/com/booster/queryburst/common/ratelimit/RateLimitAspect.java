@@ -1,5 +1,6 @@
 package com.booster.queryburst.common.ratelimit;
 
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -7,10 +8,11 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.redisson.api.RScript;
-import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -18,9 +20,33 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
-import java.util.List;
+import java.time.Duration;
 import java.time.Instant;
-
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DistributedRateLimit} 처리 Aspect.
+ *
+ * <h2>Hot Path 비용 최소화</h2>
+ * <ul>
+ *   <li>Token Bucket 스크립트는 {@link RedisScriptExecutor}로 SCRIPT LOAD 후 EVALSHA 호출 (본문 재전송 없음)</li>
+ *   <li>SpEL 키 표현식과 파라미터 이름은 메서드별로 최초 1회만 파싱/조회하여 캐시</li>
+ * </ul>
+ *
+ * <h2>로컬 lease 모드 (rate-limit.local-lease.enabled)</h2>
+ * <pre>
+ * 1. 로컬 lease에 토큰이 남아 있으면 Redis 호출 없이 허용
+ * 2. 소진/만료 시 Redis 버킷에서 chunk개를 한 번에 가져옴 (잔여 토큰이 적으면 있는 만큼만)
+ * 3. 1개는 현재 요청에 사용, 나머지는 lease-ttl 동안 로컬 보관
+ * </pre>
+ * chunk = max(1, permits × chunk-ratio).
+ * 전역 버킷에서 선차감하므로 총 허용량은 버킷이 내준 토큰 수를 넘지 않는다.
+ * 로컬 보관 때문에 허용 시점이 늦어질 수 있어, 임의 구간의 허용 수는 버킷 한도보다
+ * 최대 (인스턴스 수 × chunk)만큼 많을 수 있다. 키당 로컬 보관량은 chunk를 넘지 않고,
+ * lease-ttl이 지난 잔여 토큰은 버린다.
+ */
 @Slf4j
 @Aspect
 @Component
@@ -51,26 +77,39 @@ public class RateLimitAspect {
             local elapsed = math.max(0, (now - lastRefill) / 1000)
             local newTokens = math.min(maxTokens, tokens + elapsed * refillRate)
 
-            local allowed
-            if newTokens >= requested then
-                newTokens = newTokens - requested
-                allowed = 1
+            local granted = math.min(requested, math.floor(newTokens))
+            if granted >= 1 then
+                newTokens = newTokens - granted
             else
-                allowed = 0
+                granted = 0
             end
 
             redis.call('HSET', key, 'tokens', newTokens, 'lastRefill', now)
             redis.call('EXPIRE', key, ttl)
 
-            return allowed
+            return granted
             """;
 
-    private final RedissonClient redissonClient;
+    private final RedisScriptExecutor redisScriptExecutor;
     private final KafkaTemplate<String, String> kafkaTemplate;
 
     private final ExpressionParser spelParser = new SpelExpressionParser();
     private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+    // 메서드별 파싱된 키 표현식 + 파라미터 이름 캐시
+    private final Map<Method, KeyExpression> keyExpressionCache = new ConcurrentHashMap<>();
+
+    private final LocalTokenLease localTokenLease = new LocalTokenLease();
+
+    @Value("${rate-limit.local-lease.enabled:false}")
+    private boolean localLeaseEnabled;
+
+    @Value("${rate-limit.local-lease.chunk-ratio:0.2}")
+    private double chunkRatio;
+
+    @Value("${rate-limit.local-lease.ttl:1s}")
+    private Duration localLeaseTtl;
+
     @Around("@annotation(rateLimitAnnotation)")
     public Object around(ProceedingJoinPoint joinPoint, DistributedRateLimit rateLimitAnnotation) throws Throwable {
         int permits = rateLimitAnnotation.permits();
@@ -93,8 +132,17 @@ public class RateLimitAspect {
         double refillRate = (double) permits / windowSeconds;
         int ttl = windowSeconds * 2;
 
+        if (localLeaseEnabled && localTokenLease.tryTake(redisKey)) {
+            return true;
+        }
+
+        int requested = localLeaseEnabled ? leaseChunkSize(permits) : 1;
         try {
-            return executeTokenBucket(redisKey, permits, refillRate, ttl);
+            long granted = executeTokenBucket(redisKey, permits, refillRate, requested, ttl);
+            if (granted > 1) {
+                localTokenLease.store(redisKey, (int) granted - 1, requested, localLeaseTtl.toNanos());
+            }
+            return granted >= 1;
         } catch (Exception e) {
             log.error("[RateLimit] Redis unavailable. Allowing request. key={}, reason={}",
                     resolvedKey, e.getMessage());
@@ -102,26 +150,35 @@ public class RateLimitAspect {
         }
     }
 
-    private boolean executeTokenBucket(String key, int maxTokens, double refillRate, int ttl) {
-        RScript script = redissonClient.getScript();
-        Long result = script.eval(
-                RScript.Mode.READ_WRITE,
+    private int leaseChunkSize(int permits) {
+        return Math.max(1, (int) (permits * chunkRatio));
+    }
+
+    /**
+     * 최대 requested개의 토큰을 차감하고 실제 획득한 수를 반환한다. 잔여 토큰이 1개 미만이면 0.
+     */
+    private long executeTokenBucket(String key, int maxTokens, double refillRate, int requested, int ttl) {
+        Long result = redisScriptExecutor.execute(
                 TOKEN_BUCKET_SCRIPT,
+                RScript.Mode.READ_WRITE,
                 RScript.ReturnType.LONG,
                 List.of(key),
                 String.valueOf(maxTokens),
                 String.valueOf(refillRate),
-                "1",
+                String.valueOf(requested),
                 String.valueOf(ttl)
         );
-        return result != null && result == 1L;
+        return result == null ? 0L : result;
     }
 
     private String resolveKey(ProceedingJoinPoint joinPoint, String keyExpression) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        KeyExpression keyExpr = keyExpressionCache.computeIfAbsent(method, m -> new KeyExpression(
+                spelParser.parseExpression(keyExpression),
+                parameterNameDiscoverer.getParameterNames(m)
+        ));
         Object[] args = joinPoint.getArgs();
-        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        String[] parameterNames = keyExpr.parameterNames();
 
         EvaluationContext context = new StandardEvaluationContext();
         if (parameterNames != null) {
@@ -135,7 +192,7 @@ public class RateLimitAspect {
             }
         }
 
-        Object value = spelParser.parseExpression(keyExpression).getValue(context);
+        Object value = keyExpr.expression().getValue(context);
         return value != null ? value.toString() : "unknown";
     }
 
@@ -158,4 +215,7 @@ public class RateLimitAspect {
             log.warn("[RateLimit] abuse event publish failed. key={}, reason={}", key, e.getMessage());
         }
     }
+
+    private record KeyExpression(Expression expression, String[] parameterNames) {
+    }
 }
@@ -0,0 +1,69 @@
+package com.booster.queryburst.common.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua 스크립트 실행기 (SCRIPT LOAD + EVALSHA).
+ *
+ * <h2>동작</h2>
+ * <pre>
+ * 최초 호출: SCRIPT LOAD → SHA1 캐시
+ * 이후 호출: EVALSHA sha (스크립트 본문 대신 40바이트 digest만 전송)
+ * NOSCRIPT : Redis 재시작/SCRIPT FLUSH/페일오버로 캐시가 비었을 때 → 재로드 후 1회 재시도
+ * </pre>
+ *
+ * 인자와 결과는 {@link StringCodec}으로 주고받는다. 호출자는 숫자 인자도 문자열로 전달해야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisScriptExecutor {
+
+    private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+    private final RedissonClient redissonClient;
+
+    // 스크립트 본문 → SHA1
+    private final Map<String, String> shaCache = new ConcurrentHashMap<>();
+
+    public <R> R execute(
+            String script,
+            RScript.Mode mode,
+            RScript.ReturnType returnType,
+            List<Object> keys,
+            Object... args
+    ) {
+        RScript rScript = redissonClient.getScript(StringCodec.INSTANCE);
+        String sha = shaCache.computeIfAbsent(script, rScript::scriptLoad);
+        try {
+            return rScript.evalSha(mode, sha, returnType, keys, args);
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            log.info("[RedisScript] NOSCRIPT 응답. 스크립트를 다시 로드합니다. sha={}", sha);
+            String reloaded = rScript.scriptLoad(script);
+            shaCache.put(script, reloaded);
+            return rScript.evalSha(mode, reloaded, returnType, keys, args);
+        }
+    }
+
+    private boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.contains(NO_SCRIPT_ERROR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,12 +19,13 @@ public class DataInitController {
 
     /**
      * 더미 데이터 적재 시작 (비동기 - 즉시 반환)
-     * POST /api/data-init
+     * POST /api/data-init            → 체크포인트 이후 남은 청크부터 이어서 적재
+     * POST /api/data-init?reset=true → 적재 테이블과 체크포인트를 비우고 처음부터 적재
      */
     @PostMapping
-    public ResponseEntity<String> start() {
+    public ResponseEntity<String> start(@RequestParam(defaultValue = "false") boolean reset) {
         try {
-            dataInitializer.initializeAsync();
+            dataInitializer.initializeAsync(reset);
             return ResponseEntity.accepted()
                 .body("더미 데이터 적재를 시작했습니다. GET /api/data-init/status 로 진행 상황을 확인하세요.");
         } catch (IllegalStateException e) {
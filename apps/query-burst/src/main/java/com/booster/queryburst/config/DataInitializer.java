@@ -1,21 +1,38 @@
 package com.booster.queryburst.config;
 
+import com.booster.queryburst.product.application.CategoryTreeCache;
+import com.booster.queryburst.product.domain.CategoryProductCountRepository;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -24,18 +41,26 @@ import java.util.concurrent.atomic.AtomicReference;
  * 쿼리 실습용 대용량 더미 데이터 적재기
  *
  * 활성화 조건: dev 프로파일
- * 실행 방법: POST /api/data-init (직접 호출 방식)
+ * 실행 방법: POST /api/data-init (직접 호출 방식), POST /api/data-init?reset=true (처음부터 다시)
  *
  * 적재 순서 (FK 의존성):
  *   category → member → product → orders → order_item
  *
  * 병렬 전략:
- *   - category: 소량(~155건)이므로 단건 순차 적재
- *   - 나머지: batchSize 단위로 청크 분할 → Fixed Thread Pool로 병렬 배치 INSERT
+ *   - category: 소량(~155건)이므로 단건 순차 적재 (ON CONFLICT DO NOTHING으로 재실행 안전)
+ *   - 나머지: chunkSize 단위 청크로 분할 → Fixed Thread Pool에서 청크마다 COPY FROM STDIN 1회
  *
  * 성능 핵심:
- *   - reWriteBatchedInserts=true (JDBC URL 옵션): N개 단건 INSERT → 단일 multi-row INSERT 변환
- *   - ThreadLocalRandom: 스레드별 독립 난수 생성 (CAS 경합 없음)
+ *   - COPY FROM STDIN: 행을 텍스트 포맷으로 스트리밍하여 INSERT 파싱/플래닝 비용 없이 적재 (청크 전체를 메모리에 만들지 않음)
+ *   - 보조 인덱스/FK는 적재 전에 제거하고 적재 후 한 번에 생성 (행마다 인덱스 갱신·FK 검사 제거)
+ *
+ * 재개(resume):
+ *   - 청크 COPY와 data_init_checkpoint 기록을 같은 트랜잭션으로 커밋 → 완료 청크는 정확히 한 번만 적재
+ *   - 중단 후 다시 호출하면 체크포인트에 없는 청크만 적재하고, 제거해 둔 인덱스는 data_init_deferred_ddl에서 복원
+ *
+ * 결정성:
+ *   - 청크마다 (seed, 테이블, 청크 번호)로 시드한 SplittableRandom 사용 → 스레드 스케줄링과 무관하게 같은 seed면 같은 데이터
+ *   - 시각 컬럼도 now() 대신 base-time 기준으로 생성하여 재개한 청크와 기존 청크가 같은 분포를 가진다
  */
 @Slf4j
 @Service
@@ -50,6 +75,9 @@ public class DataInitializer {
     private final AtomicReference<String> status = new AtomicReference<>("대기 중");
 
     private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final CategoryProductCountRepository categoryProductCountRepository;
+    private final CategoryTreeCache categoryTreeCache;
 
     @Value("${data.init.member-count:10000000}")
     private long memberCount;
@@ -63,12 +91,21 @@ public class DataInitializer {
     @Value("${data.init.order-item-per-order:3}")
     private int orderItemPerOrder;
 
-    @Value("${data.init.batch-size:5000}")
-    private int batchSize;
+    @Value("${data.init.chunk-size:100000}")
+    private int chunkSize;
 
     @Value("${data.init.thread-count:8}")
     private int threadCount;
 
+    @Value("${data.init.seed:20260401}")
+    private long seed;
+
+    @Value("${data.init.base-time:2026-04-01T00:00:00}")
+    private String baseTime;
+
+    @Value("${data.init.index-maintenance-work-mem:256MB}")
+    private String indexMaintenanceWorkMem;
+
     // 등급별 가중치 배열: BRONZE(60%) SILVER(25%) GOLD(12%) VIP(3%)
     private static final String[] GRADES = {
         "BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE","BRONZE",
@@ -101,33 +138,92 @@ public class DataInitializer {
         "세종", "강원", "충북", "충남", "전북", "전남", "경북", "경남", "제주"
     };
 
-    // insertCategories() 에서 채워지는 depth-3 카테고리 ID 목록 (Product FK용)
-    private long[] depth3CategoryIds;
-
-    // ─── SQL ────────────────────────────────────────────────────────────────
+    private static final List<String> LOAD_TABLES = List.of("member", "product", "orders", "order_item");
 
-    private static final String MEMBER_SQL =
-        "INSERT INTO member (id, email, name, grade, region, created_at, updated_at) VALUES (?,?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
+    private static final long ORDER_PERIOD_SECONDS = 2L * 365 * 24 * 60 * 60;
+    private static final int COPY_FLUSH_THRESHOLD = 64 * 1024;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private static final String PRODUCT_SQL =
-        "INSERT INTO product (id, name, price, stock, status, category_id, seller_id, last_fence_token, created_at, updated_at) VALUES (?,?,?,?,?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
+    // insertCategories() 에서 채워지는 depth-3 카테고리 경로 {depth1Id, depth2Id, depth3Id} (Product FK + 조상 컬럼용)
+    private long[][] depth3CategoryPaths;
 
-    private static final String ORDER_SQL =
-        "INSERT INTO orders (id, member_id, status, total_amount, ordered_at, created_at, updated_at) VALUES (?,?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
+    // ─── SQL ────────────────────────────────────────────────────────────────
 
-    private static final String ORDER_ITEM_SQL =
-        "INSERT INTO order_item (id, order_id, product_id, quantity, unit_price, created_at, updated_at) VALUES (?,?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
+    private static final String MEMBER_COPY_SQL =
+        "COPY member (id, email, name, grade, region, created_at, updated_at) FROM STDIN";
+
+    private static final String PRODUCT_COPY_SQL =
+        "COPY product (id, name, price, stock, status, category_id, category_depth1_id, category_depth2_id, seller_id, last_fence_token, created_at, updated_at) FROM STDIN";
+
+    private static final String ORDER_COPY_SQL =
+        "COPY orders (id, member_id, status, total_amount, ordered_at, created_at, updated_at) FROM STDIN";
+
+    private static final String ORDER_ITEM_COPY_SQL =
+        "COPY order_item (id, order_id, product_id, quantity, unit_price, created_at, updated_at) FROM STDIN";
+
+    private static final String CREATE_CHECKPOINT_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS data_init_checkpoint (
+            table_name   VARCHAR(50) NOT NULL,
+            chunk_index  BIGINT      NOT NULL,
+            seed         BIGINT      NOT NULL,
+            chunk_size   INT         NOT NULL,
+            row_count    INT         NOT NULL,
+            completed_at TIMESTAMP   NOT NULL,
+            PRIMARY KEY (table_name, chunk_index)
+        )
+        """;
+
+    private static final String CREATE_DEFERRED_DDL_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS data_init_deferred_ddl (
+            object_name VARCHAR(200) PRIMARY KEY,
+            table_name  VARCHAR(50)  NOT NULL,
+            kind        VARCHAR(20)  NOT NULL,
+            create_sql  TEXT         NOT NULL
+        )
+        """;
+
+    private static final String CHECKPOINT_SQL =
+        "INSERT INTO data_init_checkpoint (table_name, chunk_index, seed, chunk_size, row_count, completed_at) VALUES (?,?,?,?,?,?)";
+
+    // PK와 제약조건(UNIQUE 등)이 소유한 인덱스는 정합성에 필요하므로 유지하고, 조회용 보조 인덱스만 대상으로 한다
+    private static final String SECONDARY_INDEX_SQL = """
+        SELECT i.relname AS object_name, t.relname AS table_name, pg_get_indexdef(i.oid) AS create_sql
+        FROM pg_index x
+        JOIN pg_class i ON i.oid = x.indexrelid
+        JOIN pg_class t ON t.oid = x.indrelid
+        JOIN pg_namespace n ON n.oid = t.relnamespace
+        WHERE n.nspname = current_schema()
+          AND t.relname = ANY (?)
+          AND NOT x.indisprimary
+          AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)
+        """;
+
+    private static final String FOREIGN_KEY_SQL = """
+        SELECT c.conname AS object_name, t.relname AS table_name,
+               'ALTER TABLE ' || quote_ident(t.relname) || ' ADD CONSTRAINT ' || quote_ident(c.conname)
+                   || ' ' || pg_get_constraintdef(c.oid) AS create_sql
+        FROM pg_constraint c
+        JOIN pg_class t ON t.oid = c.conrelid
+        JOIN pg_namespace n ON n.oid = t.relnamespace
+        WHERE n.nspname = current_schema()
+          AND c.contype = 'f'
+          AND t.relname = ANY (?)
+        """;
 
     // ─── 진입점 ──────────────────────────────────────────────────────────────
 
-    /** Controller에서 비동기로 호출. running 플래그로 중복 실행 방지 */
-    public void initializeAsync() {
+    /**
+     * Controller에서 비동기로 호출. running 플래그로 중복 실행 방지
+     *
+     * @param reset true면 적재 테이블과 체크포인트를 비우고 처음부터 적재, false면 남은 청크부터 이어서 적재
+     */
+    public void initializeAsync(boolean reset) {
         if (!running.compareAndSet(false, true)) {
             throw new IllegalStateException("이미 적재가 진행 중입니다.");
         }
         CompletableFuture.runAsync(() -> {
             try {
-                initialize();
+                initialize(reset);
             } catch (Exception e) {
                 String errorMsg = "에러 발생: " + e.getMessage();
                 status.set(errorMsg);
@@ -138,20 +234,223 @@ public class DataInitializer {
         });
     }
 
-    private void initialize() {
+    private void initialize(boolean reset) {
         long totalStart = System.currentTimeMillis();
-        log.info("========== 더미 데이터 적재 시작 ==========");
+        log.info("========== 더미 데이터 적재 시작 (seed={}, reset={}) ==========", seed, reset);
+
+        createCheckpointTables();
+        if (reset) {
+            resetLoadedData();
+        }
+        verifyCheckpointCompatibility();
 
         insertCategories();
-        insertInParallel("member",     MEMBER_SQL,     memberCount,                    this::memberBatch);
-        insertInParallel("product",    PRODUCT_SQL,    productCount,                   this::productBatch);
-        insertInParallel("orders",     ORDER_SQL,      orderCount,                     this::orderBatch);
-        insertInParallel("order_item", ORDER_ITEM_SQL, orderCount * orderItemPerOrder, this::orderItemBatch);
+        categoryTreeCache.refreshAndBroadcast();
+
+        LocalDateTime base = LocalDateTime.parse(baseTime);
+        List<LoadTarget> targets = List.of(
+            new LoadTarget("member",     MEMBER_COPY_SQL,     memberCount,                     1, memberWriter(base)),
+            new LoadTarget("product",    PRODUCT_COPY_SQL,    productCount,                    2, productWriter(base)),
+            new LoadTarget("orders",     ORDER_COPY_SQL,      orderCount,                      3, orderWriter(base)),
+            new LoadTarget("order_item", ORDER_ITEM_COPY_SQL, orderCount * orderItemPerOrder,  4, orderItemWriter(base))
+        );
+
+        Map<String, Set<Long>> completedChunks = findCompletedChunks();
+        boolean hasPendingChunks = targets.stream()
+            .anyMatch(target -> completedChunks.getOrDefault(target.table(), Set.of()).size() < target.chunkCount(chunkSize));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            if (hasPendingChunks) {
+                deferSecondaryIndexes();
+                for (LoadTarget target : targets) {
+                    copyInParallel(target, completedChunks.getOrDefault(target.table(), Set.of()), executor);
+                }
+            } else {
+                log.info("모든 청크가 이미 적재되어 있습니다. 인덱스 복원 단계부터 진행합니다.");
+            }
+            restoreDeferredIndexes(executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        analyzeLoadedTables();
+        rebuildCategoryProductCounts();
 
         status.set("완료 (총 " + (System.currentTimeMillis() - totalStart) / 1000 + "초)");
         log.info("========== 더미 데이터 적재 완료: {} ==========", status.get());
     }
 
+    /** JDBC 직접 적재는 카운터를 갱신하지 않으므로 적재 직후 한 번에 재계산한다 */
+    private void rebuildCategoryProductCounts() {
+        status.set("[category_product_count] 재계산 중...");
+        long start = System.currentTimeMillis();
+        categoryProductCountRepository.rebuild(LocalDateTime.now());
+        log.info("[category_product_count] 재계산 완료 ({}ms)", System.currentTimeMillis() - start);
+    }
+
+    // ─── 체크포인트 ──────────────────────────────────────────────────────────
+
+    private void createCheckpointTables() {
+        jdbcTemplate.execute(CREATE_CHECKPOINT_TABLE_SQL);
+        jdbcTemplate.execute(CREATE_DEFERRED_DDL_TABLE_SQL);
+    }
+
+    /**
+     * 적재 테이블과 체크포인트를 비운다.
+     * 다른 테이블이 member/product/orders를 참조할 수 있으므로 CASCADE로 함께 비운다 (dev 전용).
+     * data_init_deferred_ddl은 유지하여 이전 실행에서 제거한 인덱스가 이번 실행 끝에 복원되도록 한다.
+     */
+    private void resetLoadedData() {
+        status.set("적재 데이터 초기화 중...");
+        jdbcTemplate.execute("TRUNCATE TABLE order_item, orders, product, member, category_product_count, data_init_checkpoint CASCADE");
+        log.info("적재 데이터와 체크포인트를 초기화했습니다.");
+    }
+
+    /**
+     * seed나 chunk-size가 바뀌면 청크 경계와 내용이 달라져 이어서 적재할 수 없다.
+     */
+    private void verifyCheckpointCompatibility() {
+        Long mismatched = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM data_init_checkpoint WHERE seed <> ? OR chunk_size <> ?",
+            Long.class, seed, chunkSize);
+        if (mismatched != null && mismatched > 0) {
+            throw new IllegalStateException(
+                "다른 seed/chunk-size로 적재된 체크포인트가 있습니다. reset=true로 처음부터 다시 적재하세요.");
+        }
+    }
+
+    private Map<String, Set<Long>> findCompletedChunks() {
+        Map<String, Set<Long>> completed = new HashMap<>();
+        jdbcTemplate.query("SELECT table_name, chunk_index FROM data_init_checkpoint", rs -> {
+            completed.computeIfAbsent(rs.getString("table_name"), key -> new HashSet<>())
+                .add(rs.getLong("chunk_index"));
+        });
+        completed.forEach((table, chunks) -> log.info("[{}] 완료된 청크 {}개는 건너뜁니다.", table, chunks.size()));
+        return completed;
+    }
+
+    // ─── 보조 인덱스 / FK 지연 생성 ──────────────────────────────────────────
+
+    /**
+     * 적재 대상 테이블의 보조 인덱스와 FK를 data_init_deferred_ddl에 기록한 뒤 제거한다.
+     * 정의를 먼저 커밋하므로 제거 직후 중단되어도 다음 실행에서 복원할 수 있다.
+     * 이미 기록이 있으면(이전 실행이 중단됨) 새로 수집하지 않고 남은 객체만 제거한다.
+     */
+    private void deferSecondaryIndexes() {
+        status.set("보조 인덱스/FK 제거 중...");
+        String[] tables = LOAD_TABLES.toArray(String[]::new);
+
+        List<DeferredDdl> foreignKeys = findDeferrable(FOREIGN_KEY_SQL, tables, "FOREIGN_KEY");
+        List<DeferredDdl> indexes = findDeferrable(SECONDARY_INDEX_SQL, tables, "INDEX");
+
+        List<DeferredDdl> targets = new ArrayList<>(foreignKeys);
+        targets.addAll(indexes);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO data_init_deferred_ddl (object_name, table_name, kind, create_sql) VALUES (?,?,?,?) ON CONFLICT (object_name) DO NOTHING",
+            targets.stream()
+                .map(ddl -> new Object[]{ddl.objectName(), ddl.tableName(), ddl.kind(), ddl.createSql()})
+                .toList());
+
+        // FK가 인덱스에 의존할 수 있으므로 FK부터 제거
+        for (DeferredDdl fk : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + fk.tableName() + " DROP CONSTRAINT IF EXISTS " + fk.objectName());
+        }
+        for (DeferredDdl index : indexes) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index.objectName());
+        }
+        log.info("보조 인덱스 {}개, FK {}개를 적재 후로 미뤘습니다.", indexes.size(), foreignKeys.size());
+    }
+
+    private List<DeferredDdl> findDeferrable(String sql, String[] tables, String kind) {
+        return jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                ps.setArray(1, connection.createArrayOf("text", tables));
+                return ps;
+            },
+            (rs, rowNum) -> new DeferredDdl(
+                rs.getString("object_name"),
+                rs.getString("table_name"),
+                kind,
+                rs.getString("create_sql")));
+    }
+
+    /**
+     * 기록된 인덱스를 병렬로 생성한 뒤 FK를 순차로 복원한다.
+     * 인덱스 생성(SHARE 락)은 같은 테이블에서도 동시에 가능하지만,
+     * FK 추가(SHARE ROW EXCLUSIVE 락)는 서로 충돌하므로 하나씩 수행한다.
+     * 이미 존재하는 객체는 건너뛰고, 생성이 끝난 행만 지우므로 중간에 실패해도 다시 호출하면 이어서 복원된다.
+     */
+    private void restoreDeferredIndexes(ExecutorService executor) {
+        List<DeferredDdl> deferred = jdbcTemplate.query(
+            "SELECT object_name, table_name, kind, create_sql FROM data_init_deferred_ddl ORDER BY table_name, object_name",
+            (rs, rowNum) -> new DeferredDdl(
+                rs.getString("object_name"),
+                rs.getString("table_name"),
+                rs.getString("kind"),
+                rs.getString("create_sql")));
+        if (deferred.isEmpty()) {
+            return;
+        }
+
+        status.set("보조 인덱스/FK 생성 중... (" + deferred.size() + "개)");
+        long start = System.currentTimeMillis();
+
+        List<CompletableFuture<Void>> futures = deferred.stream()
+            .filter(ddl -> "INDEX".equals(ddl.kind()))
+            .map(ddl -> CompletableFuture.runAsync(() -> createIndex(ddl), executor))
+            .toList();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        deferred.stream()
+            .filter(ddl -> "FOREIGN_KEY".equals(ddl.kind()))
+            .forEach(this::addForeignKey);
+
+        log.info("보조 인덱스/FK {}개 생성 완료 ({}초)", deferred.size(), (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private void createIndex(DeferredDdl ddl) {
+        Boolean exists = jdbcTemplate.queryForObject(
+            "SELECT to_regclass(?) IS NOT NULL", Boolean.class, ddl.objectName());
+        if (!Boolean.TRUE.equals(exists)) {
+            long start = System.currentTimeMillis();
+            // 세션 단위 설정이므로 같은 커넥션에서 생성 후 원복한다 (풀에 반환되는 커넥션에 남기지 않음)
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET maintenance_work_mem = '" + indexMaintenanceWorkMem + "'");
+                    try {
+                        statement.execute(ddl.createSql());
+                    } finally {
+                        statement.execute("RESET maintenance_work_mem");
+                    }
+                }
+                return null;
+            });
+            log.info("[{}] 인덱스 생성: {} ({}초)", ddl.tableName(), ddl.objectName(), (System.currentTimeMillis() - start) / 1000);
+        }
+        jdbcTemplate.update("DELETE FROM data_init_deferred_ddl WHERE object_name = ?", ddl.objectName());
+    }
+
+    private void addForeignKey(DeferredDdl ddl) {
+        Boolean exists = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, ddl.objectName());
+        if (!Boolean.TRUE.equals(exists)) {
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute(ddl.createSql());
+            log.info("[{}] FK 생성: {} ({}초)", ddl.tableName(), ddl.objectName(), (System.currentTimeMillis() - start) / 1000);
+        }
+        jdbcTemplate.update("DELETE FROM data_init_deferred_ddl WHERE object_name = ?", ddl.objectName());
+    }
+
+    /** 대량 적재 직후에는 통계가 비어 있어 플래너가 잘못된 계획을 고르므로 바로 갱신한다 */
+    private void analyzeLoadedTables() {
+        status.set("ANALYZE 중...");
+        for (String table : LOAD_TABLES) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
     // ─── Category (순차, 계층 구조) ──────────────────────────────────────────
 
     private void insertCategories() {
@@ -170,7 +469,7 @@ public class DataInitializer {
         String sql = "INSERT INTO category (id, name, parent_id, depth, created_at, updated_at) VALUES (?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
         LocalDateTime now = LocalDateTime.now();
         long id = 1;
-        List<Long> depth3Ids = new ArrayList<>();
+        List<long[]> depth3Paths = new ArrayList<>();  // {depth1Id, depth2Id, depth3Id}
 
         // depth 1
         long[] depth1Ids = new long[depth1Names.length];
@@ -188,142 +487,206 @@ public class DataInitializer {
                 for (int k = 1; k <= 3; k++) {
                     long depth3Id = id++;
                     jdbcTemplate.update(sql, depth3Id, depth2Names[i][j] + " > " + k + "단계", depth2Id, 3, now, now);
-                    depth3Ids.add(depth3Id);
+                    depth3Paths.add(new long[]{depth1Ids[i], depth2Id, depth3Id});
                 }
             }
         }
 
-        depth3CategoryIds = depth3Ids.stream().mapToLong(Long::longValue).toArray();
+        depth3CategoryPaths = depth3Paths.toArray(long[][]::new);
 
         log.info("[category] 완료: {}건 ({}ms)", id - 1, System.currentTimeMillis() - start);
     }
 
-    // ─── 공통 병렬 배치 적재 ─────────────────────────────────────────────────
+    // ─── 공통 병렬 COPY 적재 ─────────────────────────────────────────────────
 
+    /**
+     * 한 행을 COPY 텍스트 포맷(탭 구분)으로 기록한다. 줄바꿈은 호출자가 붙인다.
+     * 생성 값에는 탭/역슬래시/개행이 없으므로 이스케이프하지 않는다.
+     */
     @FunctionalInterface
-    interface BatchSupplier {
-        List<Object[]> generate(long startId, long endId);
+    interface RowWriter {
+        void write(StringBuilder out, long id, SplittableRandom rnd);
     }
 
-    private void insertInParallel(String table, String sql, long total, BatchSupplier supplier) {
+    private record LoadTarget(String table, String copySql, long total, long salt, RowWriter writer) {
+
+        long chunkCount(int chunkSize) {
+            return (total + chunkSize - 1) / chunkSize;
+        }
+    }
+
+    private record DeferredDdl(String objectName, String tableName, String kind, String createSql) {
+    }
+
+    private void copyInParallel(LoadTarget target, Set<Long> completedChunks, ExecutorService executor) {
+        String table = target.table();
+        long total = target.total();
+        long chunkCount = target.chunkCount(chunkSize);
+        long remainingChunks = chunkCount - completedChunks.size();
+        if (remainingChunks <= 0) {
+            log.info("[{}] 이미 적재 완료: {}건", table, String.format("%,d", total));
+            return;
+        }
+
         status.set("[" + table + "] 적재 중...");
-        log.info("[{}] 적재 시작: {}건", table, String.format("%,d", total));
+        log.info("[{}] 적재 시작: {}건 (남은 청크 {}/{})", table, String.format("%,d", total), remainingChunks, chunkCount);
         long start = System.currentTimeMillis();
 
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
         AtomicLong counter = new AtomicLong(0);
-        long logInterval = Math.max(total / 10, batchSize);
+        long logInterval = Math.max(remainingChunks / 10, 1);
         List<CompletableFuture<Void>> futures = new ArrayList<>();
 
-        for (long offset = 0; offset < total; offset += batchSize) {
-            long batchStart = offset + 1;
-            long batchEnd = Math.min(offset + batchSize, total);
-
+        for (long chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            if (completedChunks.contains(chunkIndex)) {
+                continue;
+            }
+            long index = chunkIndex;
             futures.add(CompletableFuture.runAsync(() -> {
-                List<Object[]> batch = supplier.generate(batchStart, batchEnd);
-                jdbcTemplate.batchUpdate(sql, batch);
+                copyChunk(target, index);
 
-                long prev = counter.get();
-                long done = counter.addAndGet(batch.size());
+                long done = counter.incrementAndGet();
                 // 10% 경계를 넘는 순간만 로깅
-                if (done / logInterval != prev / logInterval) {
-                    log.info("[{}] {}% ({}/{})",
-                        table,
-                        done * 100 / total,
-                        String.format("%,d", done),
-                        String.format("%,d", total));
+                if (done % logInterval == 0 || done == remainingChunks) {
+                    log.info("[{}] {}% (청크 {}/{})", table, done * 100 / remainingChunks, done, remainingChunks);
                 }
             }, executor));
         }
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        executor.shutdown();
 
         log.info("[{}] 완료: {}건 ({}초)", table,
             String.format("%,d", total),
             (System.currentTimeMillis() - start) / 1000);
     }
 
-    // ─── Batch 생성기 ────────────────────────────────────────────────────────
+    /**
+     * 청크 하나를 COPY로 스트리밍하고 체크포인트와 함께 커밋한다.
+     * 행은 버퍼가 COPY_FLUSH_THRESHOLD를 넘을 때마다 서버로 흘려보내므로 청크 크기와 무관하게 메모리 사용량이 일정하다.
+     */
+    private void copyChunk(LoadTarget target, long chunkIndex) {
+        long startId = chunkIndex * chunkSize + 1;
+        long endId = Math.min((chunkIndex + 1) * chunkSize, target.total());
+        SplittableRandom rnd = chunkRandom(target, chunkIndex);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(target.copySql());
+                try {
+                    StringBuilder buffer = new StringBuilder(COPY_FLUSH_THRESHOLD + 1024);
+                    for (long id = startId; id <= endId; id++) {
+                        target.writer().write(buffer, id, rnd);
+                        buffer.append('\n');
+                        if (buffer.length() >= COPY_FLUSH_THRESHOLD) {
+                            flush(copyIn, buffer);
+                        }
+                    }
+                    flush(copyIn, buffer);
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
 
-    private List<Object[]> memberBatch(long startId, long endId) {
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        LocalDateTime now = LocalDateTime.now();
-        List<Object[]> batch = new ArrayList<>((int) (endId - startId + 1));
-
-        for (long id = startId; id <= endId; id++) {
-            batch.add(new Object[]{
-                id,
-                "user" + id + "@example.com",
-                "회원" + id,
-                GRADES[rnd.nextInt(GRADES.length)],
-                REGIONS[rnd.nextInt(REGIONS.length)],
-                now, now
-            });
+                try (PreparedStatement ps = connection.prepareStatement(CHECKPOINT_SQL)) {
+                    ps.setString(1, target.table());
+                    ps.setLong(2, chunkIndex);
+                    ps.setLong(3, seed);
+                    ps.setInt(4, chunkSize);
+                    ps.setInt(5, (int) (endId - startId + 1));
+                    ps.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+                    ps.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(
+                "[" + target.table() + "] 청크 적재 실패. chunkIndex=" + chunkIndex + ", " + e.getMessage(), e);
         }
-        return batch;
     }
 
-    private List<Object[]> productBatch(long startId, long endId) {
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        LocalDateTime now = LocalDateTime.now();
-        List<Object[]> batch = new ArrayList<>((int) (endId - startId + 1));
-
-        for (long id = startId; id <= endId; id++) {
-            long price = (rnd.nextLong(1, 5001) * 100); // 100 ~ 500,000 (백원 단위)
-            batch.add(new Object[]{
-                id,
-                "상품_" + id,
-                price,
-                rnd.nextInt(0, 1001),
-                PRODUCT_STATUSES[rnd.nextInt(PRODUCT_STATUSES.length)],
-                depth3CategoryIds[rnd.nextInt(depth3CategoryIds.length)],
-                rnd.nextLong(1, memberCount + 1),
-                0L,  // last_fence_token 초기값
-                now, now
-            });
+    private void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
         }
-        return batch;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
     }
 
-    private List<Object[]> orderBatch(long startId, long endId) {
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        LocalDateTime now = LocalDateTime.now();
-        long minEpoch = now.minusYears(2).toEpochSecond(ZoneOffset.UTC);
-        long maxEpoch = now.toEpochSecond(ZoneOffset.UTC);
-        List<Object[]> batch = new ArrayList<>((int) (endId - startId + 1));
-
-        for (long id = startId; id <= endId; id++) {
-            LocalDateTime orderedAt = LocalDateTime.ofEpochSecond(
-                rnd.nextLong(minEpoch, maxEpoch), 0, ZoneOffset.UTC);
-            batch.add(new Object[]{
-                id,
-                rnd.nextLong(1, memberCount + 1),
-                ORDER_STATUSES[rnd.nextInt(ORDER_STATUSES.length)],
-                rnd.nextLong(1000, 2_000_001),
-                orderedAt,
-                orderedAt, orderedAt
-            });
-        }
-        return batch;
+    /**
+     * (seed, 테이블, 청크 번호)만으로 결정되는 난수 생성기.
+     * 청크를 어느 스레드가 몇 번째로 처리하든, 재개 시 다시 처리하든 같은 행이 만들어진다.
+     * 청크마다 전용 인스턴스를 쓰므로 스레드 간 공유 상태(CAS 경합)도 없다.
+     */
+    private SplittableRandom chunkRandom(LoadTarget target, long chunkIndex) {
+        return new SplittableRandom(seed
+            ^ (target.salt() * 0x9E3779B97F4A7C15L)
+            ^ (chunkIndex * 0xC2B2AE3D27D4EB4FL));
     }
 
-    private List<Object[]> orderItemBatch(long startId, long endId) {
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
-        LocalDateTime now = LocalDateTime.now();
-        List<Object[]> batch = new ArrayList<>((int) (endId - startId + 1));
-
-        for (long id = startId; id <= endId; id++) {
-            long unitPrice = rnd.nextLong(1, 5001) * 100;
-            batch.add(new Object[]{
-                id,
-                rnd.nextLong(1, orderCount + 1),
-                rnd.nextLong(1, productCount + 1),
-                rnd.nextInt(1, 6),
-                unitPrice,
-                now, now
-            });
-        }
-        return batch;
+    // ─── 행 생성기 ───────────────────────────────────────────────────────────
+
+    private RowWriter memberWriter(LocalDateTime base) {
+        String createdAt = TIMESTAMP_FORMAT.format(base);
+        return (out, id, rnd) -> out
+            .append(id).append('\t')
+            .append("user").append(id).append("@example.com").append('\t')
+            .append("회원").append(id).append('\t')
+            .append(GRADES[rnd.nextInt(GRADES.length)]).append('\t')
+            .append(REGIONS[rnd.nextInt(REGIONS.length)]).append('\t')
+            .append(createdAt).append('\t')
+            .append(createdAt);
+    }
+
+    private RowWriter productWriter(LocalDateTime base) {
+        String createdAt = TIMESTAMP_FORMAT.format(base);
+        return (out, id, rnd) -> {
+            long price = rnd.nextLong(1, 5001) * 100; // 100 ~ 500,000 (백원 단위)
+            long[] categoryPath = depth3CategoryPaths[rnd.nextInt(depth3CategoryPaths.length)];
+            out.append(id).append('\t')
+                .append("상품_").append(id).append('\t')
+                .append(price).append('\t')
+                .append(rnd.nextInt(0, 1001)).append('\t')
+                .append(PRODUCT_STATUSES[rnd.nextInt(PRODUCT_STATUSES.length)]).append('\t')
+                .append(categoryPath[2]).append('\t')
+                .append(categoryPath[0]).append('\t')
+                .append(categoryPath[1]).append('\t')
+                .append(rnd.nextLong(1, memberCount + 1)).append('\t')
+                .append(0L).append('\t')  // last_fence_token 초기값
+                .append(createdAt).append('\t')
+                .append(createdAt);
+        };
+    }
+
+    private RowWriter orderWriter(LocalDateTime base) {
+        long maxEpoch = base.toEpochSecond(ZoneOffset.UTC);
+        return (out, id, rnd) -> {
+            String orderedAt = TIMESTAMP_FORMAT.format(
+                LocalDateTime.ofEpochSecond(maxEpoch - rnd.nextLong(ORDER_PERIOD_SECONDS), 0, ZoneOffset.UTC));
+            out.append(id).append('\t')
+                .append(rnd.nextLong(1, memberCount + 1)).append('\t')
+                .append(ORDER_STATUSES[rnd.nextInt(ORDER_STATUSES.length)]).append('\t')
+                .append(rnd.nextLong(1000, 2_000_001)).append('\t')
+                .append(orderedAt).append('\t')
+                .append(orderedAt).append('\t')
+                .append(orderedAt);
+        };
+    }
+
+    private RowWriter orderItemWriter(LocalDateTime base) {
+        String createdAt = TIMESTAMP_FORMAT.format(base);
+        return (out, id, rnd) -> out
+            .append(id).append('\t')
+            .append(rnd.nextLong(1, orderCount + 1)).append('\t')
+            .append(rnd.nextLong(1, productCount + 1)).append('\t')
+            .append(rnd.nextInt(1, 6)).append('\t')
+            .append(rnd.nextLong(1, 5001) * 100).append('\t')
+            .append(createdAt).append('\t')
+            .append(createdAt);
     }
 }
@@ -0,0 +1,27 @@
+package com.booster.queryburst.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+/**
+ * 배치 리스너용 컨테이너 팩토리.
+ *
+ * 공통 kafkaListenerContainerFactory(레코드 단위)와 동일한 ConsumerFactory를 사용하되,
+ * poll 한 번에 받은 레코드 목록(List)을 리스너에 한 번에 전달한다.
+ * 한 poll의 최대 레코드 수는 spring.kafka.consumer.max-poll-records로 조정한다.
+ */
+@Configuration
+public class KafkaBatchConfig {
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+}
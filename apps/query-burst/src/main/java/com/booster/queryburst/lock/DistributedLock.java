@@ -1,11 +1,12 @@
 package com.booster.queryburst.lock;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * 분산 락 추상 인터페이스.
  *
- * 구현체는 Redis(Redisson) 기반으로 제공한다.
+ * 구현체는 Redis 기반으로 제공한다.
  * 락 획득 시 단조 증가하는 펜싱 토큰을 함께 반환하여,
  * 오래된 락 보유자(stale writer)의 쓰기를 DB 레벨에서 차단한다.
  */
@@ -14,12 +15,20 @@ public interface DistributedLock {
     /**
      * 락 획득을 시도하고 성공 시 펜싱 토큰을 반환한다.
      *
-     * @param key  락 키 (예: "product:42:stock")
-     * @param ttl  락 보유 최대 시간
+     * @param family 메트릭 태그로 쓰는 락 종류 (예: "product:*:stock"). ID를 포함하지 않는 고정 문자열
+     * @param key    락 키 (예: "product:42:stock")
+     * @param ttl    락 보유 최대 시간
      * @return 단조 증가 펜싱 토큰
      * @throws LockAcquisitionException 락 획득 실패 시
      */
-    FencingToken tryLock(String key, Duration ttl);
+    FencingToken tryLock(String family, String key, Duration ttl);
+
+    /**
+     * ID가 없는 고정 키(예: "outbox:relay:lock")용. 키 자체를 메트릭 family로 사용한다.
+     */
+    default FencingToken tryLock(String key, Duration ttl) {
+        return tryLock(key, key, ttl);
+    }
 
     /**
      * 락을 해제한다. 본인이 발급받은 토큰을 검증 후 해제한다.
@@ -28,4 +37,23 @@ public interface DistributedLock {
      * @param token tryLock에서 받은 펜싱 토큰
      */
     void unlock(String key, FencingToken token);
+
+    /**
+     * 여러 키의 락을 한 번에 획득하고 키별 펜싱 토큰을 발급한다.
+     *
+     * 전부 획득하거나 하나도 획득하지 않는다(all-or-nothing). 일부만 잡힌 시도는 반환 전에 되돌린다.
+     * 단건 {@link #tryLock}과 같은 키 공간을 쓰므로 두 경로로 잡은 같은 키는 서로 배제된다.
+     *
+     * @param family 메트릭 태그로 쓰는 락 종류 (예: "product:*:stock")
+     * @param keys   락 키 목록 (중복 없이 정렬된 순서 권장)
+     * @param ttl    락 보유 최대 시간
+     * @return 획득한 락 핸들
+     * @throws LockAcquisitionException 대기 시간 내에 모든 락을 획득하지 못한 경우
+     */
+    MultiLock tryLockAll(String family, List<String> keys, Duration ttl);
+
+    /**
+     * {@link #tryLockAll}로 획득한 락을 한 번에 해제한다. 본인이 보유한 키만 삭제된다.
+     */
+    void unlockAll(MultiLock lock);
 }
@@ -0,0 +1,46 @@
+package com.booster.queryburst.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 락 family별 메트릭 캐시.
+ *
+ * family는 호출자가 지정하는 고정 문자열(예: "product:*:stock")로, 태그 카디널리티를 제한한다.
+ * family당 Counter/Timer를 최초 1회만 등록하고 이후에는 캐시된 인스턴스를 재사용하여
+ * 락 획득마다 정규식 실행이나 태그 문자열 생성이 일어나지 않는다.
+ */
+@Component
+class LockMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> metersByFamily = new ConcurrentHashMap<>();
+
+    LockMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    Meters of(String family) {
+        Meters meters = metersByFamily.get(family);
+        return meters != null ? meters : metersByFamily.computeIfAbsent(family, this::register);
+    }
+
+    private Meters register(String family) {
+        return new Meters(
+                meterRegistry.counter("distributed_lock_acquired_total", "key", family),
+                meterRegistry.counter("distributed_lock_failed_total", "key", family),
+                meterRegistry.counter("distributed_lock_redis_error_total", "key", family),
+                Timer.builder("distributed_lock_acquire_seconds")
+                        .tag("key", family)
+                        .register(meterRegistry)
+        );
+    }
+
+    record Meters(Counter acquired, Counter failed, Counter redisError, Timer acquireTime) {
+    }
+}
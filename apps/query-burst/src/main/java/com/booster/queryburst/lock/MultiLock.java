@@ -0,0 +1,27 @@
+package com.booster.queryburst.lock;
+
+import java.util.List;
+
+/**
+ * 다중 키 분산 락 핸들.
+ *
+ * {@link DistributedLock#tryLockAll}로 한 번에 획득한 락 키와 키별 펜싱 토큰을 보관한다.
+ * 펜싱 토큰은 해제 시 본인이 잡은 락만 삭제하는 데에도 사용한다.
+ *
+ * @param keys   락 키 (획득 순서)
+ * @param tokens keys와 같은 순서의 펜싱 토큰
+ */
+public record MultiLock(List<String> keys, List<FencingToken> tokens) {
+
+    public MultiLock {
+        if (keys.size() != tokens.size()) {
+            throw new IllegalArgumentException("락 키와 펜싱 토큰 수가 일치하지 않습니다.");
+        }
+        keys = List.copyOf(keys);
+        tokens = List.copyOf(tokens);
+    }
+
+    public FencingToken tokenAt(int index) {
+        return tokens.get(index);
+    }
+}
@@ -1,35 +1,62 @@
 package com.booster.queryburst.lock;
 
-import io.micrometer.core.instrument.MeterRegistry;
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RAtomicLong;
-import org.redisson.api.RLock;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RKeys;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Redisson 기반 분산 락 구현체.
+ * Redis 기반 분산 락 구현체.
  *
  * <h2>펜싱 토큰 발급 전략</h2>
- * 락 키별로 별도의 RAtomicLong 카운터(FENCE:{key})를 관리한다.
- * 락 획득 성공 시 INCR하여 단조 증가 토큰을 발급한다.
+ * 락 키별로 별도의 카운터(FENCE:{key})를 관리한다.
+ * 락 획득 시 같은 Lua 스크립트 안에서 INCR하여 단조 증가 토큰을 발급한다.
  * 이 토큰은 Product.lastFenceToken과 비교되어 오래된 요청을 DB 레벨에서 거부한다.
  *
  * <h2>키 구조</h2>
  * <pre>
- * 락  키: LOCK:product:42:stock      → 락 보유 여부 (TTL = leaseTime)
- * 펜싱 키: FENCE:product:42:stock     → 단조 증가 카운터 (TTL = 30일, 재시작 후 리셋 허용)
+ * 락  키: LOCK:{product:42:stock}     → String, 값 = 펜싱 토큰 (TTL = leaseTime)
+ * 펜싱 키: FENCE:{product:42:stock}    → 단조 증가 카운터 (TTL = 30일, 재시작 후 리셋 허용)
  * </pre>
+ * 락 키 전체를 해시 태그로 감싸 락 키와 펜싱 키를 같은 슬롯에 둔다. 스크립트는 이 두 키만 다루므로
+ * Redis Cluster에서도 CROSSSLOT 없이 동작한다.
+ * 단건/다중 키 락 모두 같은 String 표현을 쓰므로 어느 경로로 잡든 서로 배제된다.
+ * Redisson RLock(Hash, storage-redis의 @DistributedLock AOP)도 "LOCK:" 접두사를 쓰지만
+ * 해시 태그가 없는 키이므로 같은 키를 두 자료구조로 다루는 일(WRONGTYPE)은 없다.
+ * 락 값이 펜싱 토큰이므로 해제 시 토큰이 일치하는 키만 삭제한다 (TTL 만료 후 다른 요청이 잡은 락은 유지).
+ *
+ * <h2>이전 키에서의 전환</h2>
+ * 이전 버전은 해시 태그 없는 키(FLOCK:product:42:stock 또는 RLock LOCK:product:42:stock, FENCE:product:42:stock)를 썼다.
+ * 신구 인스턴스가 서로 다른 키로 락을 잡으면 배제가 깨지므로 전환은 전체 인스턴스를 내리고 올리는 방식으로 한다.
+ * 기동 시 {@link #migrateLegacyFenceCounters}가 이전 펜싱 카운터를 새 키로 옮겨(큰 값 유지)
+ * DB의 lastFenceToken보다 작은 토큰이 발급되지 않게 한다.
  *
  * <h2>Redis 재시작 시 카운터 리셋 허용 여부</h2>
  * 카운터가 리셋(0)되면 이전에 DB에 저장된 lastFenceToken이 0보다 크므로
  * 리셋 직후 발급된 token=1이 거부될 수 있다.
  * → 운영에서는 Redis AOF/RDB 영속화를 활성화하거나, PostgreSQL 시퀀스를 사용해야 한다.
  * → 이 구현은 학습 목적으로 Redis 카운터를 사용한다.
+ *
+ * <h2>다중 키 락 (tryLockAll)</h2>
+ * 장바구니 주문처럼 여러 키가 필요한 경우, 키마다 SET NX + INCR + EXPIRE를 순차 호출하면
+ * 키 수 × 3회의 왕복이 발생한다. 키별 락 스크립트(미점유 확인 → FENCE INCR/PEXPIRE → SET PX)를
+ * 파이프라인 1회로 보내고, 하나라도 점유 중이면 이번에 잡은 키를 모두 해제한 뒤 재시도한다.
+ * 상품 키는 서로 다른 슬롯이므로 한 스크립트로 묶지 않는다. 부분 획득은 응답을 받은 직후 되돌리므로
+ * 락을 쥔 채 다른 락을 기다리는 일이 없어 교착이 생기지 않는다.
  */
 @Slf4j
 @Component
@@ -39,101 +66,284 @@ public class RedisDistributedLock implements DistributedLock {
     private static final String LOCK_PREFIX  = "LOCK:";
     private static final String FENCE_PREFIX = "FENCE:";
 
+    // 해시 태그가 없는 이전 펜싱 카운터 (FENCE:product:42:stock)
+    private static final String LEGACY_FENCE_PATTERN = FENCE_PREFIX + "[^{]*";
+
     // 펜싱 카운터 TTL: 30일 (락보다 훨씬 길게 유지)
     private static final Duration FENCE_TTL = Duration.ofDays(30);
 
     // 락 획득 대기 시간: 최대 2초 대기 후 실패 처리
     private static final long WAIT_TIME_SECONDS = 2L;
 
+    // 재시도 간격 (ms, 지터 포함)
+    private static final long RETRY_MIN_MILLIS = 10L;
+    private static final long RETRY_MAX_MILLIS = 50L;
+
+    /**
+     * KEYS[1]: 락 키, KEYS[2]: 펜싱 키 (같은 해시 태그)
+     * ARGV[1]: 락 TTL(ms), ARGV[2]: 펜싱 TTL(ms)
+     * 반환: 펜싱 토큰 (점유 중이면 0). 락 값은 발급한 토큰이다.
+     */
+    private static final String LOCK_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            local token = redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[2])
+            redis.call('SET', KEYS[1], token, 'PX', ARGV[1])
+            return token
+            """;
+
+    /**
+     * KEYS[1]: 락 키, ARGV[1]: 펜싱 토큰
+     * 반환: 삭제했으면 1
+     */
+    private static final String UNLOCK_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+
+    /**
+     * KEYS[1]: 새 펜싱 키, ARGV[1]: 이전 카운터 값, ARGV[2]: 펜싱 TTL(ms)
+     * 새 카운터가 이전 값보다 작을 때만 올린다 (여러 인스턴스가 동시에 옮겨도 결과가 같다).
+     */
+    private static final String RAISE_FENCE_SCRIPT = """
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if current < tonumber(ARGV[1]) then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            end
+            return 1
+            """;
+
     private final RedissonClient redissonClient;
-    private final MeterRegistry meterRegistry;
+    private final RedisScriptExecutor redisScriptExecutor;
+    private final LockMetrics lockMetrics;
+
+    /**
+     * 해시 태그가 없는 이전 펜싱 카운터를 새 키로 옮긴다 (SCAN, 전환 후에는 옮길 키가 없다).
+     * 여러 인스턴스가 동시에 실행해도 새 카운터는 이전 값 이상으로만 올라간다.
+     */
+    @PostConstruct
+    void migrateLegacyFenceCounters() {
+        RKeys keys = redissonClient.getKeys();
+        int migrated = 0;
+        for (String legacyKey : keys.getKeysByPattern(LEGACY_FENCE_PATTERN)) {
+            String value = redissonClient.<String>getBucket(legacyKey, StringCodec.INSTANCE).get();
+            if (value != null) {
+                String key = legacyKey.substring(FENCE_PREFIX.length());
+                redisScriptExecutor.execute(
+                        RAISE_FENCE_SCRIPT,
+                        RScript.Mode.READ_WRITE,
+                        RScript.ReturnType.LONG,
+                        List.of(fenceKey(key)),
+                        value,
+                        String.valueOf(FENCE_TTL.toMillis())
+                );
+            }
+            keys.delete(legacyKey);
+            migrated++;
+        }
+        if (migrated > 0) {
+            log.info("[DistributedLock] 이전 펜싱 카운터 전환 완료. count={}", migrated);
+        }
+    }
 
     /**
      * 락 획득 + 펜싱 토큰 발급.
      *
      * <pre>
-     * 1. RLock.tryLock() — waitTime 내에 락 획득 시도
-     * 2. 락 획득 성공 → FENCE:{key} INCR → 단조 증가 토큰 반환
-     * 3. 락 획득 실패 → LockAcquisitionException
+     * 1. Lua 1회: 락 키 미점유 확인 → FENCE INCR → 락 키에 토큰 SET PX
+     * 2. 점유 중 → 지터 대기 후 재시도 (최대 WAIT_TIME_SECONDS)
+     * 3. 대기 시간 초과 → LockAcquisitionException
      * </pre>
      */
     @Override
-    public FencingToken tryLock(String key, Duration ttl) {
-        String keyTag = toMetricTag(key);
-        RLock lock = redissonClient.getLock(LOCK_PREFIX + key);
+    public FencingToken tryLock(String family, String key, Duration ttl) {
+        FencingToken token = acquire(family, List.of(key), ttl).getFirst();
+        log.debug("[DistributedLock] 락 획득 성공. key={}, token={}", key, token.value());
+        return token;
+    }
 
-        try {
-            boolean acquired = lock.tryLock(WAIT_TIME_SECONDS, ttl.toSeconds(), TimeUnit.SECONDS);
+    /**
+     * 락 해제.
+     *
+     * 락 값이 본인의 펜싱 토큰과 같을 때만 삭제하여, TTL 만료 후 다른 요청이 잡은 락을 실수로 해제하지 않는다.
+     * 펜싱 카운터는 해제하지 않는다 (단조 증가 유지).
+     */
+    @Override
+    public void unlock(String key, FencingToken token) {
+        release(List.of(key), List.of(token));
+    }
 
-            if (!acquired) {
-                log.warn("[DistributedLock] 락 획득 실패. key={}", key);
-                meterRegistry.counter("distributed_lock_failed_total", "key", keyTag).increment();
-                throw new LockAcquisitionException(key);
-            }
+    /**
+     * 다중 키 락 획득 + 펜싱 토큰 일괄 발급.
+     *
+     * <pre>
+     * 1. 파이프라인 1회: 키별 Lua (미점유 확인 → FENCE INCR/PEXPIRE → SET PX)
+     * 2. 하나라도 점유 중 → 이번에 잡은 키 해제 → 지터 대기 후 재시도 (최대 WAIT_TIME_SECONDS)
+     * 3. 대기 시간 초과 → LockAcquisitionException
+     * </pre>
+     */
+    @Override
+    public MultiLock tryLockAll(String family, List<String> keys, Duration ttl) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("락 키가 비어 있습니다.");
+        }
+        List<FencingToken> tokens = acquire(family, keys, ttl);
+        log.debug("[DistributedLock] 다중 락 획득 성공. keys={}, tokens={}", keys, tokens);
+        return new MultiLock(keys, tokens);
+    }
 
-            long token = incrementFenceToken(key);
-            log.debug("[DistributedLock] 락 획득 성공. key={}, token={}", key, token);
-            meterRegistry.counter("distributed_lock_acquired_total", "key", keyTag).increment();
-            return new FencingToken(token);
+    /**
+     * 다중 키 락 해제. 토큰이 일치하는 키만 삭제하므로 TTL 만료 후 다른 요청이 잡은 락은 건드리지 않는다.
+     */
+    @Override
+    public void unlockAll(MultiLock lock) {
+        release(lock.keys(), lock.tokens());
+    }
+
+    private List<FencingToken> acquire(String family, List<String> keys, Duration ttl) {
+        LockMetrics.Meters meters = lockMetrics.of(family);
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(WAIT_TIME_SECONDS);
+        try {
+            while (true) {
+                List<Long> tokens = lockEach(keys, ttl);
+                if (tokens.stream().allMatch(token -> token > 0)) {
+                    meters.acquired().increment(keys.size());
+                    meters.acquireTime().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    return tokens.stream().map(FencingToken::new).toList();
+                }
+                rollback(keys, tokens);
 
+                if (System.nanoTime() >= deadline) {
+                    log.warn("[DistributedLock] 락 획득 실패. keys={}", keys);
+                    meters.failed().increment();
+                    throw new LockAcquisitionException(String.join(",", keys));
+                }
+                Thread.sleep(ThreadLocalRandom.current().nextLong(RETRY_MIN_MILLIS, RETRY_MAX_MILLIS + 1));
+            }
         } catch (LockAcquisitionException e) {
             throw e;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            meterRegistry.counter("distributed_lock_failed_total", "key", keyTag).increment();
-            throw new LockAcquisitionException(key);
+            meters.failed().increment();
+            throw new LockAcquisitionException(String.join(",", keys));
         } catch (Exception e) {
-            log.error("[DistributedLock] Redis 연결 장애. key={}", key, e);
-            meterRegistry.counter("distributed_lock_redis_error_total", "key", keyTag).increment();
-            throw new RedisUnavailableException(key, e);
+            log.error("[DistributedLock] Redis 연결 장애. keys={}", keys, e);
+            meters.redisError().increment();
+            throw new RedisUnavailableException(String.join(",", keys), e);
         }
     }
 
     /**
-     * 락 해제.
+     * 키별 락 스크립트를 실행한다. 단건은 EVALSHA 1회, 다중 키는 파이프라인 1회.
      *
-     * isHeldByCurrentThread() 체크로 타 스레드/프로세스의 락을 실수로 해제하는 것을 방지.
-     * 펜싱 카운터는 해제하지 않는다 (단조 증가 유지).
+     * @return 키 순서대로 발급된 펜싱 토큰 (점유 중이던 키는 0)
      */
-    @Override
-    public void unlock(String key, FencingToken token) {
+    private List<Long> lockEach(List<String> keys, Duration ttl) {
+        String lockTtl = String.valueOf(ttl.toMillis());
+        String fenceTtl = String.valueOf(FENCE_TTL.toMillis());
+        if (keys.size() == 1) {
+            String key = keys.getFirst();
+            Long token = redisScriptExecutor.execute(
+                    LOCK_SCRIPT,
+                    RScript.Mode.READ_WRITE,
+                    RScript.ReturnType.LONG,
+                    List.of(lockKey(key), fenceKey(key)),
+                    lockTtl,
+                    fenceTtl
+            );
+            return List.of(token);
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        List<RFuture<Long>> results = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            results.add(batch.getScript(StringCodec.INSTANCE).evalAsync(
+                    RScript.Mode.READ_WRITE,
+                    LOCK_SCRIPT,
+                    RScript.ReturnType.LONG,
+                    List.of(lockKey(key), fenceKey(key)),
+                    lockTtl,
+                    fenceTtl
+            ));
+        }
+        batch.execute();
+        return results.stream().map(result -> result.toCompletableFuture().join()).toList();
+    }
+
+    /**
+     * 일부 키만 잡힌 경우 이번 시도에서 잡은 키를 되돌린다.
+     */
+    private void rollback(List<String> keys, List<Long> tokens) {
+        List<String> acquiredKeys = new ArrayList<>();
+        List<FencingToken> acquiredTokens = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (tokens.get(i) > 0) {
+                acquiredKeys.add(keys.get(i));
+                acquiredTokens.add(new FencingToken(tokens.get(i)));
+            }
+        }
+        if (!acquiredKeys.isEmpty()) {
+            unlockEach(acquiredKeys, acquiredTokens);
+        }
+    }
+
+    private void release(List<String> keys, List<FencingToken> tokens) {
         try {
-            RLock lock = redissonClient.getLock(LOCK_PREFIX + key);
-            if (lock.isHeldByCurrentThread()) {
-                lock.unlock();
-                log.debug("[DistributedLock] 락 해제 완료. key={}, token={}", key, token.value());
+            long released = unlockEach(keys, tokens);
+            if (released < keys.size()) {
+                log.warn("[DistributedLock] 일부 락이 이미 만료됨 (TTL 만료 의심). keys={}, tokens={}, released={}",
+                        keys, tokens, released);
             } else {
-                log.warn("[DistributedLock] 현재 스레드가 보유한 락이 아님 (TTL 만료 의심). key={}, token={}",
-                        key, token.value());
+                log.debug("[DistributedLock] 락 해제 완료. keys={}, tokens={}", keys, tokens);
             }
         } catch (Exception e) {
             // Redis 장애 시 TTL로 자동 만료되므로 로그만 남기고 무시
-            log.warn("[DistributedLock] 락 해제 실패 (Redis 장애). key={}, token={}. TTL 만료 대기.",
-                    key, token.value());
+            log.warn("[DistributedLock] 락 해제 실패 (Redis 장애). keys={}. TTL 만료 대기.", keys);
         }
     }
 
     /**
-     * 메트릭 태그용 키 정규화.
-     * "product:42:stock" → "product:*:stock" (숫자 ID 제거로 카디널리티 방지)
-     */
-    private String toMetricTag(String key) {
-        return key.replaceAll(":\\d+", ":*");
-    }
-
-    /**
-     * FENCE:{key} 카운터를 1 증가시키고 새 값을 반환한다.
+     * 키별 해제 스크립트를 실행한다. 단건은 EVALSHA 1회, 다중 키는 파이프라인 1회.
      *
-     * 카운터가 존재하지 않으면 Redis가 0에서 시작하여 1을 반환한다.
-     * FENCE_TTL을 갱신하여 장기 미사용 키의 자동 만료를 보장한다.
+     * @return 삭제한 키 수
      */
-    private long incrementFenceToken(String key) {
-        RAtomicLong counter = redissonClient.getAtomicLong(FENCE_PREFIX + key);
-        long token = counter.incrementAndGet();
+    private long unlockEach(List<String> keys, List<FencingToken> tokens) {
+        if (keys.size() == 1) {
+            Long released = redisScriptExecutor.execute(
+                    UNLOCK_SCRIPT,
+                    RScript.Mode.READ_WRITE,
+                    RScript.ReturnType.LONG,
+                    List.of(lockKey(keys.getFirst())),
+                    String.valueOf(tokens.getFirst().value())
+            );
+            return released != null ? released : 0L;
+        }
 
-        // 카운터 TTL 갱신 (만료 방지)
-        counter.expire(FENCE_TTL);
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        List<RFuture<Long>> results = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            results.add(batch.getScript(StringCodec.INSTANCE).evalAsync(
+                    RScript.Mode.READ_WRITE,
+                    UNLOCK_SCRIPT,
+                    RScript.ReturnType.LONG,
+                    List.of(lockKey(keys.get(i))),
+                    String.valueOf(tokens.get(i).value())
+            ));
+        }
+        batch.execute();
+        return results.stream().mapToLong(result -> result.toCompletableFuture().join()).sum();
+    }
 
-        return token;
+    private static Object lockKey(String key) {
+        return LOCK_PREFIX + "{" + key + "}";
+    }
+
+    private static Object fenceKey(String key) {
+        return FENCE_PREFIX + "{" + key + "}";
     }
 }
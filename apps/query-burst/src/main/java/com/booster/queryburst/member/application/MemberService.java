@@ -1,6 +1,8 @@
 package com.booster.queryburst.member.application;
 
 import com.booster.queryburst.member.application.dto.MemberCreateCommand;
+import com.booster.queryburst.member.application.dto.MemberCursorPage;
+import com.booster.queryburst.member.application.dto.MemberSummary;
 import com.booster.queryburst.member.application.dto.MemberUpdateCommand;
 import com.booster.queryburst.member.domain.Member;
 import com.booster.queryburst.member.domain.MemberQueryRepository;
@@ -13,6 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -21,6 +25,7 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final MemberQueryRepository memberQueryRepository;
+    private final MemberSummaryCache memberSummaryCache;
 
     @Transactional(readOnly = true)
     public Page<Member> getMembers(Pageable pageable) {
@@ -32,9 +37,24 @@ public class MemberService {
         return memberRepository.findSliceBy(pageable);
     }
 
+    /**
+     * v3: PK 인덱스로 ID만 조회한 뒤 표시 정보는 MemberSummaryCache에서 일괄 조회한다.
+     *
+     * 삭제된 회원은 ID 조회에서 이미 제외된다. 페이지 경계(hasNext, nextCursor)는 ID 조회 결과(size + 1건)로 정하고,
+     * 표시 정보 조회는 경계에 관여하지 않는다. ID 조회와 표시 정보 조회 사이에 삭제된 회원만 members에서 빠진다.
+     */
     @Transactional(readOnly = true)
-    public List<Member> getMembersByCursor(Long cursorId, int size) {
-        return memberQueryRepository.findByCursor(cursorId, size);
+    public MemberCursorPage getMembersByCursor(Long cursorId, int size) {
+        List<Long> ids = memberQueryRepository.findIdsByCursor(cursorId, size);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        Map<Long, MemberSummary> summaries = memberSummaryCache.getAll(pageIds);
+        List<MemberSummary> members = pageIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new MemberCursorPage(members, hasNext, hasNext ? pageIds.getLast() : null);
     }
 
     public Long createMember(MemberCreateCommand command) {
@@ -47,11 +67,13 @@ public class MemberService {
 
     public void deleteMember(Long memberId) {
         memberRepository.deleteById(memberId);
+        memberSummaryCache.evictAfterCommit(memberId);
     }
 
     public void updateMember(Long memberId, MemberUpdateCommand command) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 회원입니다. id=" + memberId));
         member.update(command);
+        memberSummaryCache.evictAfterCommit(memberId);
     }
 }
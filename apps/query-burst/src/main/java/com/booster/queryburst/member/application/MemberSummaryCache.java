@@ -0,0 +1,212 @@
+package com.booster.queryburst.member.application;
+
+import com.booster.common.JsonUtils;
+import com.booster.queryburst.member.application.dto.MemberSummary;
+import com.booster.queryburst.member.domain.MemberQueryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원 요약 정보 read-through 캐시 (로컬 near-cache → Redis → DB).
+ *
+ * <h2>조회 흐름 (getAll)</h2>
+ * <pre>
+ * 1. 로컬 ConcurrentHashMap 조회 (TTL 내 항목만)
+ * 2. 로컬 미스 → MGET MEMBER:SUMMARY:{id} ... 1회
+ * 3. Redis 미스 → member PK IN 쿼리 1회 → Redis SET NX(파이프라인 1회) → 적재에 성공한 항목만 로컬에 적재
+ * </pre>
+ * 페이지 크기와 무관하게 단계별 왕복 1회이며, 자주 노출되는 회원은 대부분 1단계에서 끝난다.
+ *
+ * <h2>무효화</h2>
+ * 회원 수정/삭제 트랜잭션 커밋 후 Redis 키를 tombstone으로 덮어쓰고(tombstone-ttl) MEMBER:SUMMARY:INVALIDATE 토픽으로
+ * 회원 ID를 발행한다. 모든 인스턴스가 구독 중이므로 각자의 로컬 항목을 제거한다.
+ * 구독 메시지가 유실되어도 로컬 항목은 local-ttl 이후 만료되므로 오래된 값의 노출 시간은 local-ttl로 제한된다.
+ *
+ * DB 적재는 SET NX로만 쓴다. 무효화 전에 시작된 DB 조회가 무효화 이후에 적재를 시도하면 tombstone이 남아 있어 실패하고,
+ * 그 값은 로컬에도 올리지 않는다. tombstone이 있는 동안 조회는 DB로 내려간다.
+ *
+ * Redis 장애 시에는 로컬 → DB로 바로 내려가 조회 자체는 실패하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberSummaryCache {
+
+    private static final String KEY_PREFIX = "MEMBER:SUMMARY:";
+    private static final String INVALIDATION_TOPIC = "MEMBER:SUMMARY:INVALIDATE";
+    private static final Duration REDIS_TTL = Duration.ofMinutes(30);
+    private static final String TOMBSTONE = "-";
+
+    private final RedissonClient redissonClient;
+    private final MemberQueryRepository memberQueryRepository;
+
+    private final Map<Long, LocalEntry> localCache = new ConcurrentHashMap<>();
+
+    @Value("${member.summary-cache.local-ttl:30s}")
+    private Duration localTtl;
+
+    @Value("${member.summary-cache.local-max-size:100000}")
+    private int localMaxSize;
+
+    @Value("${member.summary-cache.tombstone-ttl:10s}")
+    private Duration tombstoneTtl;
+
+    @PostConstruct
+    void subscribeInvalidation() {
+        topic().addListener(String.class, (channel, memberId) -> localCache.remove(Long.valueOf(memberId)));
+    }
+
+    /**
+     * @return 존재하는 회원만 담은 Map (삭제된 회원은 포함되지 않음)
+     */
+    public Map<Long, MemberSummary> getAll(Collection<Long> memberIds) {
+        Map<Long, MemberSummary> result = new HashMap<>(memberIds.size() * 2);
+        List<Long> localMisses = new ArrayList<>();
+
+        long now = System.nanoTime();
+        for (Long memberId : memberIds) {
+            LocalEntry entry = localCache.get(memberId);
+            if (entry != null && entry.expiresAtNanos() - now > 0) {
+                result.put(memberId, entry.summary());
+            } else {
+                localMisses.add(memberId);
+            }
+        }
+        if (localMisses.isEmpty()) {
+            return result;
+        }
+
+        List<Long> redisMisses = loadFromRedis(localMisses, result);
+        if (!redisMisses.isEmpty()) {
+            loadFromDatabase(redisMisses, result);
+        }
+        return result;
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 무효화한다. 트랜잭션 밖이면 즉시 무효화한다.
+     * 커밋 전에 무효화하면 다른 요청이 커밋 전 값을 다시 적재할 수 있으므로 커밋 이후로 미룬다.
+     */
+    public void evictAfterCommit(Long memberId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(memberId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(memberId);
+            }
+        });
+    }
+
+    private void evict(Long memberId) {
+        localCache.remove(memberId);
+        try {
+            redissonClient.getBucket(key(memberId), StringCodec.INSTANCE).set(TOMBSTONE, tombstoneTtl);
+            topic().publish(String.valueOf(memberId));
+        } catch (Exception e) {
+            log.warn("[MemberSummaryCache] 무효화 실패. 로컬/Redis TTL 만료 후 반영됩니다. memberId={}", memberId, e);
+        }
+    }
+
+    private List<Long> loadFromRedis(List<Long> memberIds, Map<Long, MemberSummary> result) {
+        Map<String, String> cached;
+        try {
+            cached = redissonClient.getBuckets(StringCodec.INSTANCE)
+                    .get(memberIds.stream().map(this::key).toArray(String[]::new));
+        } catch (Exception e) {
+            log.warn("[MemberSummaryCache] Redis 조회 실패. DB로 조회합니다. size={}", memberIds.size(), e);
+            return memberIds;
+        }
+
+        List<Long> misses = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            String json = cached.get(key(memberId));
+            if (json == null || TOMBSTONE.equals(json)) {
+                misses.add(memberId);
+                continue;
+            }
+            MemberSummary summary = JsonUtils.MAPPER.readValue(json, MemberSummary.class);
+            result.put(memberId, summary);
+            putLocal(summary);
+        }
+        return misses;
+    }
+
+    private void loadFromDatabase(List<Long> memberIds, Map<Long, MemberSummary> result) {
+        List<MemberSummary> summaries = memberQueryRepository.findSummariesByIds(memberIds);
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        RBatch batch = redissonClient.createBatch();
+        Map<MemberSummary, RFuture<Boolean>> stored = new HashMap<>(summaries.size() * 2);
+        for (MemberSummary summary : summaries) {
+            result.put(summary.id(), summary);
+            stored.put(summary, batch.<String>getBucket(key(summary.id()), StringCodec.INSTANCE)
+                    .setIfAbsentAsync(JsonUtils.MAPPER.writeValueAsString(summary), REDIS_TTL));
+        }
+        try {
+            batch.execute();
+        } catch (Exception e) {
+            // Redis 장애: 무효화도 전달되지 않으므로 로컬 TTL 안에서만 사용한다
+            log.warn("[MemberSummaryCache] Redis 적재 실패. size={}", summaries.size(), e);
+            summaries.forEach(this::putLocal);
+            return;
+        }
+        // 적재 실패 = tombstone(조회 중 무효화) 또는 다른 요청이 먼저 적재. 어느 쪽이든 이 값을 로컬에 남기지 않는다
+        stored.forEach((summary, future) -> {
+            if (Boolean.TRUE.equals(future.toCompletableFuture().join())) {
+                putLocal(summary);
+            }
+        });
+    }
+
+    private void putLocal(MemberSummary summary) {
+        if (localCache.size() >= localMaxSize) {
+            evictExpiredLocalEntries();
+        }
+        localCache.put(summary.id(), new LocalEntry(summary, System.nanoTime() + localTtl.toNanos()));
+    }
+
+    /**
+     * 만료 항목을 정리하고, 그래도 상한을 넘으면 전체를 비운다 (다음 조회는 Redis에서 다시 채워진다).
+     */
+    private void evictExpiredLocalEntries() {
+        long now = System.nanoTime();
+        localCache.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+        if (localCache.size() >= localMaxSize) {
+            localCache.clear();
+        }
+    }
+
+    private RTopic topic() {
+        return redissonClient.getTopic(INVALIDATION_TOPIC, StringCodec.INSTANCE);
+    }
+
+    private String key(Long memberId) {
+        return KEY_PREFIX + memberId;
+    }
+
+    private record LocalEntry(MemberSummary summary, long expiresAtNanos) {
+    }
+}
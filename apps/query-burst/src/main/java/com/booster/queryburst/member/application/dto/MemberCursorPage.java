@@ -0,0 +1,14 @@
+package com.booster.queryburst.member.application.dto;
+
+import java.util.List;
+
+/**
+ * 회원 커서 페이지. hasNext와 nextCursor는 ID 조회 결과로 정하므로,
+ * 조회 사이에 삭제된 회원이 members에서 빠져도 다음 페이지 위치는 달라지지 않는다.
+ */
+public record MemberCursorPage(
+        List<MemberSummary> members,
+        boolean hasNext,
+        Long nextCursor
+) {
+}
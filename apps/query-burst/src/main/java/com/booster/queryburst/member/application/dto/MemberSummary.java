@@ -0,0 +1,15 @@
+package com.booster.queryburst.member.application.dto;
+
+import com.booster.queryburst.member.domain.MemberGrade;
+
+/**
+ * 목록 화면용 회원 표시 정보. MemberSummaryCache에 캐싱된다.
+ */
+public record MemberSummary(
+        Long id,
+        String email,
+        String name,
+        MemberGrade grade,
+        String region
+) {
+}
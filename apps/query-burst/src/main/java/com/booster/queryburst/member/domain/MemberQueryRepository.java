@@ -1,10 +1,13 @@
 package com.booster.queryburst.member.domain;
 
+import com.booster.queryburst.member.application.dto.MemberSummary;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,9 +16,9 @@ public class MemberQueryRepository {
 
     private final JPAQueryFactory queryFactory;
 
-    // OFFSET 없는 커서 기반 조회 (v3)
+    // OFFSET 없는 커서 기반 회원 ID 조회 (v3) — PK 인덱스만 사용, 표시 정보는 MemberSummaryCache에서 일괄 조회
     // cursorId가 null이면 첫 페이지, 아니면 해당 id 이전 데이터 조회
-    public List<Member> findByCursor(Long cursorId, int size) {
+    public List<Long> findIdsByCursor(Long cursorId, int size) {
         QMember member = QMember.member;
 
         BooleanBuilder condition = new BooleanBuilder();
@@ -24,11 +27,31 @@ public class MemberQueryRepository {
         }
 
         return queryFactory
-                .selectFrom(member)
+                .select(member.id)
+                .from(member)
                 .where(condition)
                 .orderBy(member.id.desc())
                 .limit(size + 1L) // hasNext 판단을 위해 1개 더 조회
                 .fetch();
     }
 
+    // 목록 화면의 회원 표시 정보 일괄 조회 (IN 쿼리 1회, PK 인덱스) — MemberSummaryCache 미스 시에만 호출
+    public List<MemberSummary> findSummariesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        QMember member = QMember.member;
+
+        return queryFactory
+                .select(Projections.constructor(MemberSummary.class,
+                        member.id,
+                        member.email,
+                        member.name,
+                        member.grade,
+                        member.region
+                ))
+                .from(member)
+                .where(member.id.in(ids))
+                .fetch();
+    }
 }
@@ -3,6 +3,11 @@ package com.booster.queryburst.member.domain;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
@@ -11,4 +16,8 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     // COUNT 쿼리 없이 OFFSET 기반 조회 (v2)
     Slice<Member> findSliceBy(Pageable pageable);
 
+    // 존재하는 회원 ID만 조회 (배치 주문 검증용, PK 인덱스만 사용)
+    @Query("SELECT m.id FROM Member m WHERE m.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -2,6 +2,7 @@ package com.booster.queryburst.member.web;
 
 import com.booster.queryburst.member.application.MemberService;
 import com.booster.queryburst.member.application.dto.MemberCreateCommand;
+import com.booster.queryburst.member.application.dto.MemberCursorPage;
 import com.booster.queryburst.member.application.dto.MemberUpdateCommand;
 import com.booster.queryburst.member.web.dto.request.MemberCreateRequest;
 import com.booster.queryburst.member.web.dto.request.MemberUpdateRequest;
@@ -51,16 +52,12 @@ public class MemberController {
             @RequestParam(required = false) Long cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
-        List<MemberSummaryResponse> fetched = memberService.getMembersByCursor(cursor, size)
-                .stream()
+        MemberCursorPage page = memberService.getMembersByCursor(cursor, size);
+        List<MemberSummaryResponse> content = page.members().stream()
                 .map(MemberSummaryResponse::from)
                 .toList();
 
-        boolean hasNext = fetched.size() > size;
-        List<MemberSummaryResponse> content = hasNext ? fetched.subList(0, size) : fetched;
-        Long nextCursor = hasNext ? content.getLast().id() : null;
-
-        return ResponseEntity.ok(CursorPageResponse.of(content, hasNext, nextCursor));
+        return ResponseEntity.ok(CursorPageResponse.of(content, page.hasNext(), page.nextCursor()));
     }
 
     @PostMapping
@@ -1,5 +1,6 @@
 package com.booster.queryburst.member.web.dto.response;
 
+import com.booster.queryburst.member.application.dto.MemberSummary;
 import com.booster.queryburst.member.domain.Member;
 import com.booster.queryburst.member.domain.MemberGrade;
 
@@ -19,4 +20,14 @@ public record MemberSummaryResponse(
                 member.getRegion()
         );
     }
-}
\ No newline at end of file
+
+    public static MemberSummaryResponse from(MemberSummary summary) {
+        return new MemberSummaryResponse(
+                summary.id(),
+                summary.email(),
+                summary.name(),
+                summary.grade(),
+                summary.region()
+        );
+    }
+}
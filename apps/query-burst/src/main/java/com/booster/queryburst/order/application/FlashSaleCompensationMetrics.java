@@ -0,0 +1,73 @@
+package com.booster.queryburst.order.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 재고 보상 메트릭. 기동 시 1회 등록하고 {@link FlashSaleStockCompensator}가 재사용한다.
+ *
+ * <ul>
+ *   <li>flash_sale_compensation_recorded_total − flash_sale_compensation_applied_total: 전체 인스턴스 기준 반영 대기 건수</li>
+ *   <li>flash_sale_compensation_backlog: 수집 시점에 Redis에 남아 있는 전체 반영 대기 건수
+ *       (대상 집합의 상품별 HLEN 합계, 파이프라인 1회). 모든 인스턴스가 같은 값을 보고하므로 sum이 아닌 max로 집계한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+class FlashSaleCompensationMetrics {
+
+    private final Counter recorded;
+    private final Counter applied;
+    private final RedissonClient redissonClient;
+
+    FlashSaleCompensationMetrics(MeterRegistry meterRegistry, RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+        this.recorded = meterRegistry.counter("flash_sale_compensation_recorded_total");
+        this.applied = meterRegistry.counter("flash_sale_compensation_applied_total");
+        Gauge.builder("flash_sale_compensation_backlog", this, FlashSaleCompensationMetrics::backlog)
+                .register(meterRegistry);
+    }
+
+    void recorded(long count) {
+        recorded.increment(count);
+    }
+
+    void applied(long count) {
+        applied.increment(count);
+    }
+
+    /**
+     * Redis 장애 시 NaN을 반환해 수집을 건너뛴다.
+     */
+    private double backlog() {
+        try {
+            Set<String> productIds = redissonClient.<String>getSet(FlashSaleKeys.COMPENSATION_PRODUCTS, StringCodec.INSTANCE)
+                    .readAll();
+            if (productIds.isEmpty()) {
+                return 0;
+            }
+            RBatch batch = redissonClient.createBatch();
+            List<RFuture<Integer>> sizes = new ArrayList<>(productIds.size());
+            for (String productId : productIds) {
+                sizes.add(batch.getMap(FlashSaleKeys.pendingCompensation(Long.valueOf(productId)), StringCodec.INSTANCE)
+                        .sizeAsync());
+            }
+            batch.execute();
+            return sizes.stream().mapToLong(size -> size.toCompletableFuture().join()).sum();
+        } catch (Exception e) {
+            log.warn("[FlashSale] 재고 보상 대기 건수 조회 실패. reason={}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.booster.queryburst.order.application;
+
+/**
+ * 플래시 세일 Redis 키.
+ *
+ * 상품별 키는 모두 {productId} 해시 태그를 공유하여 Redis Cluster에서도 같은 슬롯에 배치된다.
+ * 하나의 Lua 스크립트에서 재고/판매 정보/대기열 키를 함께 접근하려면 이 조건이 필요하다.
+ *
+ * 예외로 재고 샤드 1번 이후는 {productId:shard} 해시 태그를 써서 일부러 다른 슬롯(노드)에 흩어 둔다.
+ * 샤드 0은 기존 stock/info 키 그대로다.
+ */
+final class FlashSaleKeys {
+
+    /** 대기열을 사용하는 세일의 상품 ID 집합. 입장 스케줄러가 순회한다. */
+    static final String WAITING_ROOM_PRODUCTS = "FLASH:WAITING-ROOM:products";
+
+    /** 반영 대기 중인 재고 보상이 있는 상품 ID 집합. 보상 스케줄러가 순회한다. */
+    static final String COMPENSATION_PRODUCTS = "FLASH:COMPENSATION:products";
+
+    private FlashSaleKeys() {
+    }
+
+    /** 잔여 재고 (String) */
+    static String stock(Long productId) {
+        return "FLASH:{%d}:stock".formatted(productId);
+    }
+
+    /** Hash(price, status, startAt, endAt, admitRate, stockShards) */
+    static String info(Long productId) {
+        return "FLASH:{%d}:info".formatted(productId);
+    }
+
+    /** 대기열. Sorted Set(member=memberId, score=도착 순번) */
+    static String queue(Long productId) {
+        return "FLASH:{%d}:queue".formatted(productId);
+    }
+
+    /** 대기열 도착 순번 카운터 (String) */
+    static String queueSequence(Long productId) {
+        return "FLASH:{%d}:queue-seq".formatted(productId);
+    }
+
+    /** 입장 허용 회원. Sorted Set(member=memberId, score=입장 만료 epoch millis) */
+    static String admitted(Long productId) {
+        return "FLASH:{%d}:admitted".formatted(productId);
+    }
+
+    /** 마지막 입장 처리 시각 (String, epoch millis). 인스턴스 수와 무관하게 입장 속도를 고정하는 기준 */
+    static String admitClock(Long productId) {
+        return "FLASH:{%d}:admit-clock".formatted(productId);
+    }
+
+    /** 재고 샤드 (String). 샤드 0은 {@link #stock} */
+    static String stockShard(Long productId, int shard) {
+        return shard == 0 ? stock(productId) : "FLASH:{%d:%d}:stock".formatted(productId, shard);
+    }
+
+    /** 재고 샤드와 같은 슬롯에 복제한 판매 정보. Hash(price, status, startAt, endAt, stockShards). 샤드 0은 {@link #info} */
+    static String infoShard(Long productId, int shard) {
+        return shard == 0 ? info(productId) : "FLASH:{%d:%d}:info".formatted(productId, shard);
+    }
+
+    /** 반영 대기 중인 재고 보상. Hash(field=orderId, value=quantity) */
+    static String pendingCompensation(Long productId) {
+        return "FLASH:{%d}:compensation:pending".formatted(productId);
+    }
+
+    /** 재고에 반영된 보상 주문 ID (Set). 같은 주문의 보상이 두 번 반영되지 않도록 하는 기준 */
+    static String appliedCompensation(Long productId) {
+        return "FLASH:{%d}:compensation:applied".formatted(productId);
+    }
+}
@@ -1,6 +1,8 @@
 package com.booster.queryburst.order.application;
 
 import com.booster.common.SnowflakeGenerator;
+import com.booster.queryburst.order.application.dto.FlashSaleBatchResult;
+import com.booster.queryburst.order.application.dto.FlashSaleOrderCommand;
 import com.booster.queryburst.order.application.dto.OrderItemCommand;
 import com.booster.queryburst.order.application.dto.OrderResult;
 import com.booster.queryburst.order.event.FlashSaleOrderPayload;
@@ -10,61 +12,144 @@ import com.booster.storage.kafka.core.KafkaTopic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RScript;
+import org.redisson.api.RSet;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * 플래시 세일 주문 접수 서비스.
+ *
+ * <h2>Redis 전용 Hot Path</h2>
+ * 세일 시작 전 {@link #warmUp}으로 상품 가격/상태/판매 기간과 초기 재고를 Redis에 적재한다.
+ * 이후 {@link #requestOrder}는 DB를 조회하지 않고 Lua 스크립트 1회 호출로
+ * 판매 조건 검증 + 재고 선점 + 가격 조회를 원자적으로 처리한다.
+ *
+ * <h2>키 구조</h2>
+ * <pre>
+ * FLASH:{productId}:stock    → 잔여 재고 (String)
+ * FLASH:{productId}:info     → Hash(price, status, startAt, endAt, admitRate)  — epoch millis, 0이면 제한 없음
+ * FLASH:{productId}:admitted → 대기열 입장 허용 회원 (admitRate > 0인 세일만)
+ * </pre>
+ * 중괄호는 Redis Cluster 해시 태그로, 키가 같은 슬롯에 배치되어 하나의 Lua 스크립트에서 함께 접근할 수 있다 ({@link FlashSaleKeys}).
+ *
+ * <h2>대기열 모드 (선택)</h2>
+ * warm-up 시 admitPerSecond를 지정하면 {@link FlashSaleWaitingRoom}을 거쳐 입장 허용된 회원만 재고 선점 스크립트를 통과한다.
+ * 세일 오픈 순간의 요청이 대기열 등록(가벼운 ZADD)으로 흡수되고, 재고 선점 경로에는 입장 속도만큼만 요청이 도달한다.
+ *
+ * <h2>품절 단락</h2>
+ * 재고가 0이 되면 {@link FlashSaleSoldOutRegistry}가 모든 인스턴스에 품절을 알리고,
+ * 이후 요청은 네트워크 호출 없이 즉시 거부된다. 재고 보상/warm-up/해제 시 플래그가 해제된다.
+ *
+ * <h2>재고 샤딩 (선택)</h2>
+ * warm-up 시 stockShards를 지정하면 재고를 N개 키로 나눠 Redis Cluster의 여러 노드에 분산한다 ({@link FlashSaleShardedStock}).
+ * 한 키/한 노드의 처리량이 세일 전체의 상한이 되는 것을 피하기 위한 것으로, 대기열 모드와는 함께 쓸 수 없다.
+ *
+ * <h2>재고 보상</h2>
+ * 주문 생성에 실패한 주문의 재고는 {@link FlashSaleStockCompensator}가 기록 후 상품별로 합산해 일괄 반영한다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FlashSaleService {
 
-    private static final String STOCK_KEY_PREFIX = "FLASH:";
     private static final Duration STOCK_TTL = Duration.ofHours(24);
+
+    private static final long RESULT_NOT_ARMED = -2L;
+    private static final long RESULT_NOT_ON_SALE = -3L;
+    private static final long RESULT_OUT_OF_WINDOW = -4L;
+    private static final long RESULT_NOT_ADMITTED = -5L;
+
+    /**
+     * KEYS[3..6]은 이전 세일의 대기열 상태(대기열, 순번, 입장 허용, 입장 시각),
+     * KEYS[7]은 반영 대기 중인 재고 보상으로, warm-up 시 초기화한다. 재고를 DB 기준으로 다시 적재하므로 대기 보상은 버린다.
+     */
+    private static final String WARM_UP_SCRIPT = """
+            local stockKey = KEYS[1]
+            local infoKey = KEYS[2]
+            local ttlMillis = tonumber(ARGV[6])
+            redis.call('SET', stockKey, ARGV[1], 'PX', ttlMillis)
+            redis.call('DEL', infoKey, KEYS[3], KEYS[4], KEYS[5], KEYS[6], KEYS[7])
+            redis.call('HSET', infoKey, 'price', ARGV[2], 'status', ARGV[3], 'startAt', ARGV[4], 'endAt', ARGV[5], 'admitRate', ARGV[7], 'stockShards', ARGV[8])
+            redis.call('PEXPIRE', infoKey, ttlMillis)
+            return 1
+            """;
+
+    /**
+     * 대기열 모드(admitRate > 0)면 입장 허용이 만료되지 않은 회원만 통과시키고, 선점에 성공하면 입장 허용을 소진한다.
+     * 재고 부족/성공 응답의 세 번째 값은 샤드 수로, 샤딩된 세일이면 이 키는 샤드 0이다.
+     */
     private static final String RESERVE_STOCK_SCRIPT = """
-            local key = KEYS[1]
-            local initialStock = tonumber(ARGV[1])
-            local quantity = tonumber(ARGV[2])
-            local ttlMillis = tonumber(ARGV[3])
-            local current = redis.call('GET', key)
+            local stockKey = KEYS[1]
+            local infoKey = KEYS[2]
+            local admittedKey = KEYS[3]
+            local quantity = tonumber(ARGV[1])
+            local info = redis.call('HMGET', infoKey, 'price', 'status', 'startAt', 'endAt', 'admitRate', 'stockShards')
+            if not info[1] then
+                return {-2, 0}
+            end
+            if info[2] ~= 'ACTIVE' then
+                return {-3, 0}
+            end
+            local timeResult = redis.call('TIME')
+            local now = tonumber(timeResult[1]) * 1000 + math.floor(tonumber(timeResult[2]) / 1000)
+            local startAt = tonumber(info[3])
+            local endAt = tonumber(info[4])
+            if (startAt > 0 and now < startAt) or (endAt > 0 and now >= endAt) then
+                return {-4, 0}
+            end
+            local gated = tonumber(info[5] or '0') > 0
+            if gated then
+                local expiresAt = tonumber(redis.call('ZSCORE', admittedKey, ARGV[2]))
+                if not expiresAt or expiresAt <= now then
+                    return {-5, 0}
+                end
+            end
+            local current = tonumber(redis.call('GET', stockKey))
             if not current then
-                current = initialStock
-                redis.call('SET', key, current, 'PX', ttlMillis)
-            else
-                current = tonumber(current)
+                return {-2, 0}
             end
+            local shards = tonumber(info[6] or '1')
             if current < quantity then
-                return -1
+                return {-1, current, shards}
             end
-            local remaining = redis.call('DECRBY', key, quantity)
-            redis.call('PEXPIRE', key, ttlMillis)
-            return remaining
+            local remaining = redis.call('DECRBY', stockKey, quantity)
+            if gated then
+                redis.call('ZREM', admittedKey, ARGV[2])
+            end
+            return {remaining, tonumber(info[1]), shards}
             """;
 
     private final RedissonClient redissonClient;
     private final ProductRepository productRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final OrderService orderService;
+    private final FlashSaleSoldOutRegistry soldOutRegistry;
+    private final FlashSaleShardedStock shardedStock;
 
     public OrderResult requestOrder(Long memberId, Long productId, int quantity) {
         validateRequest(memberId, quantity);
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + productId));
-
-        boolean reserved = reserveStock(productId, product.getStock(), quantity);
-        if (!reserved) {
+        if (soldOutRegistry.isSoldOut(productId)) {
             throw new IllegalStateException("플래시 세일 재고가 부족합니다.");
         }
 
+        long price = reserveStock(productId, memberId, quantity);
+
         Long orderId = SnowflakeGenerator.nextId();
         FlashSaleOrderPayload payload = FlashSaleOrderPayload.of(orderId, memberId, productId, quantity);
         kafkaTemplate.send(KafkaTopic.FLASH_SALE_ORDERS.getTopic(), String.valueOf(orderId), payload);
         log.info("[FlashSale] 주문 접수 완료. orderId={}, productId={}, quantity={}", orderId, productId, quantity);
-        return new OrderResult(orderId, product.getPrice() * quantity);
+        return new OrderResult(orderId, price * quantity);
     }
 
     public OrderResult processOrder(FlashSaleOrderPayload payload) {
@@ -75,25 +160,210 @@ public class FlashSaleService {
         );
     }
 
-    public void compensateStock(Long productId, int quantity) {
-        String key = buildStockKey(productId);
-        redissonClient.getAtomicLong(key).addAndGet(quantity);
-        redissonClient.getBucket(key).expire(STOCK_TTL);
-        log.warn("[FlashSale] 재고 보상 처리. productId={}, quantity={}", productId, quantity);
+    /**
+     * 배치 주문 처리. poll 단위 레코드를 상품별로 묶어 상품당 트랜잭션 1회로 처리한다.
+     *
+     * 한 상품 그룹의 트랜잭션이 실패해도 다른 상품 그룹에는 영향이 없다.
+     * 실패 그룹의 주문은 모두 failedOrderIds로 반환되어 호출자가 재고 보상을 기록한다.
+     */
+    public FlashSaleBatchResult processOrders(List<FlashSaleOrderPayload> payloads) {
+        Map<Long, List<FlashSaleOrderCommand>> commandsByProduct = payloads.stream()
+                .map(payload -> new FlashSaleOrderCommand(
+                        payload.orderId(), payload.memberId(), payload.productId(), payload.quantity()))
+                .collect(Collectors.groupingBy(FlashSaleOrderCommand::productId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Long> succeeded = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+
+        commandsByProduct.forEach((productId, commands) -> {
+            FlashSaleBatchResult result;
+            try {
+                result = orderService.createFlashSaleOrders(productId, commands);
+            } catch (Exception e) {
+                log.error("[FlashSale] 상품 그룹 배치 주문 실패. productId={}, size={}", productId, commands.size(), e);
+                result = FlashSaleBatchResult.allFailed(
+                        commands.stream().map(FlashSaleOrderCommand::orderId).toList());
+            }
+            succeeded.addAll(result.succeededOrderIds());
+            failed.addAll(result.failedOrderIds());
+        });
+
+        return new FlashSaleBatchResult(succeeded, failed);
     }
 
-    private boolean reserveStock(Long productId, int initialStock, int quantity) {
-        String key = buildStockKey(productId);
-        Long result = redissonClient.getScript().eval(
+    /**
+     * 세일 준비(arm). DB에서 상품을 한 번 읽어 재고와 판매 조건을 Redis에 적재한다.
+     *
+     * 이미 적재된 세일을 다시 warm-up하면 재고가 DB 기준으로 덮어써지므로 세일 시작 전에만 호출해야 한다.
+     * 키 TTL은 판매 종료 시각 + 24시간(보상 처리 여유)이며, 종료 시각이 없으면 24시간이다.
+     * 이전 세일의 대기열 상태와 남는 재고 샤드도 함께 초기화된다.
+     *
+     * @param startAt        판매 시작 시각 (null이면 즉시)
+     * @param endAt          판매 종료 시각 (null이면 제한 없음)
+     * @param admitPerSecond 대기열 초당 입장 인원 (null이면 대기열 없이 바로 주문)
+     * @param stockShards    재고 샤드 수 (null이면 1, 샤딩 없음)
+     */
+    public void warmUp(Long productId, LocalDateTime startAt, LocalDateTime endAt, Integer admitPerSecond, Integer stockShards) {
+        if (startAt != null && endAt != null && !startAt.isBefore(endAt)) {
+            throw new IllegalArgumentException("판매 시작 시각은 종료 시각보다 이전이어야 합니다.");
+        }
+        if (endAt != null && endAt.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("이미 종료된 판매 기간입니다. endAt=" + endAt);
+        }
+        if (admitPerSecond != null && admitPerSecond <= 0) {
+            throw new IllegalArgumentException("초당 입장 인원은 1 이상이어야 합니다.");
+        }
+        int shardCount = stockShards == null ? 1 : stockShards;
+        if (shardCount < 1 || shardCount > FlashSaleShardedStock.MAX_SHARDS) {
+            throw new IllegalArgumentException("재고 샤드 수는 1 이상 " + FlashSaleShardedStock.MAX_SHARDS + " 이하여야 합니다.");
+        }
+        if (shardCount > 1 && admitPerSecond != null) {
+            throw new IllegalArgumentException("대기열 모드에서는 재고 샤딩을 사용할 수 없습니다.");
+        }
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + productId));
+
+        Duration ttl = endAt == null
+                ? STOCK_TTL
+                : Duration.between(LocalDateTime.now(), endAt).plus(STOCK_TTL);
+        int previousShardCount = shardedStock.readShardCount(productId);
+
+        // 샤드 0의 stockShards가 보이기 전에 나머지 샤드가 준비되어 있어야 한다
+        shardedStock.armShards(productId, product.getStock(), product.getPrice(), product.getStatus().name(),
+                toEpochMillis(startAt), toEpochMillis(endAt), ttl, shardCount);
+        redissonClient.getScript(StringCodec.INSTANCE).eval(
                 RScript.Mode.READ_WRITE,
-                RESERVE_STOCK_SCRIPT,
+                WARM_UP_SCRIPT,
                 RScript.ReturnType.LONG,
-                List.of(key),
-                initialStock,
-                quantity,
-                STOCK_TTL.toMillis()
+                List.of(
+                        FlashSaleKeys.stock(productId),
+                        FlashSaleKeys.info(productId),
+                        FlashSaleKeys.queue(productId),
+                        FlashSaleKeys.queueSequence(productId),
+                        FlashSaleKeys.admitted(productId),
+                        FlashSaleKeys.admitClock(productId),
+                        FlashSaleKeys.pendingCompensation(productId)
+                ),
+                String.valueOf(FlashSaleShardedStock.shardStock(product.getStock(), shardCount, 0)),
+                String.valueOf(product.getPrice()),
+                product.getStatus().name(),
+                String.valueOf(toEpochMillis(startAt)),
+                String.valueOf(toEpochMillis(endAt)),
+                String.valueOf(ttl.toMillis()),
+                String.valueOf(admitPerSecond == null ? 0 : admitPerSecond),
+                String.valueOf(shardCount)
+        );
+        shardedStock.deleteShards(productId, shardCount, previousShardCount);
+        shardedStock.remember(productId, shardCount);
+
+        RSet<String> waitingRoomProducts = redissonClient.getSet(FlashSaleKeys.WAITING_ROOM_PRODUCTS, StringCodec.INSTANCE);
+        if (admitPerSecond != null) {
+            waitingRoomProducts.add(String.valueOf(productId));
+        } else {
+            waitingRoomProducts.remove(String.valueOf(productId));
+        }
+        soldOutRegistry.markAvailable(productId);
+        log.info("[FlashSale] warm-up 완료. productId={}, stock={}, price={}, startAt={}, endAt={}, admitPerSecond={}, stockShards={}",
+                productId, product.getStock(), product.getPrice(), startAt, endAt, admitPerSecond, shardCount);
+    }
+
+    /**
+     * 세일 해제. 적재된 판매 조건, 재고, 대기열, 재고 보상 키를 삭제하여 이후 요청을 즉시 거부한다.
+     */
+    public void invalidate(Long productId) {
+        shardedStock.deleteShards(productId, 1, shardedStock.readShardCount(productId));
+        redissonClient.getKeys().delete(
+                FlashSaleKeys.stock(productId),
+                FlashSaleKeys.info(productId),
+                FlashSaleKeys.queue(productId),
+                FlashSaleKeys.queueSequence(productId),
+                FlashSaleKeys.admitted(productId),
+                FlashSaleKeys.admitClock(productId),
+                FlashSaleKeys.pendingCompensation(productId),
+                FlashSaleKeys.appliedCompensation(productId)
         );
-        return result != null && result >= 0;
+        redissonClient.getSet(FlashSaleKeys.WAITING_ROOM_PRODUCTS, StringCodec.INSTANCE).remove(String.valueOf(productId));
+        shardedStock.forget(productId);
+        soldOutRegistry.markAvailable(productId);
+        log.info("[FlashSale] 세일 정보 삭제. productId={}", productId);
+    }
+
+    /**
+     * 재고를 선점하고 Redis에 적재된 상품 단가를 반환한다.
+     * 이 요청으로 잔여 재고가 0이 되면 품절을 전파하고, 잔여 0 상태에서 거부되면 로컬에만 품절을 기록한다.
+     * 샤딩된 세일로 알려진 상품은 샤드 경로로 보내고, 샤드 0 경로에서 샤딩된 세일임을 알게 되면 샤드 수를 기억한다.
+     */
+    private long reserveStock(Long productId, Long memberId, int quantity) {
+        int knownShardCount = shardedStock.knownShardCount(productId);
+        if (knownShardCount > 1) {
+            return reserveFromShards(productId, memberId, quantity, knownShardCount, true);
+        }
+
+        List<Object> result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE,
+                RESERVE_STOCK_SCRIPT,
+                RScript.ReturnType.MULTI,
+                List.of(FlashSaleKeys.stock(productId), FlashSaleKeys.info(productId), FlashSaleKeys.admitted(productId)),
+                String.valueOf(quantity),
+                String.valueOf(memberId)
+        );
+
+        long code = ((Number) result.get(0)).longValue();
+        rejectIfUnavailable(productId, code);
+
+        int shardCount = result.size() > 2 ? ((Number) result.get(2)).intValue() : 1;
+        shardedStock.remember(productId, shardCount);
+        if (shardCount > 1) {
+            // 샤드 0의 잔량만으로는 품절 여부를 알 수 없다
+            return code < 0
+                    ? reserveFromShards(productId, memberId, quantity, shardCount, false)
+                    : ((Number) result.get(1)).longValue();
+        }
+
+        if (code < 0) {
+            if (((Number) result.get(1)).longValue() <= 0) {
+                soldOutRegistry.markSoldOut(productId, false);
+            }
+            throw new IllegalStateException("플래시 세일 재고가 부족합니다.");
+        }
+        if (code == 0) {
+            soldOutRegistry.markSoldOut(productId, true);
+        }
+        return ((Number) result.get(1)).longValue();
+    }
+
+    /**
+     * 샤딩된 재고에서 선점한다. 품절 판정과 전파는 {@link FlashSaleShardedStock}이 모든 샤드를 다시 확인한 뒤 수행한다.
+     * 캐시된 샤드 수가 낡아(재 warm-up으로 샤드 감소) 캐시가 지워졌으면 retryOnStale일 때 샤드 0 경로로 한 번 다시 시도한다.
+     */
+    private long reserveFromShards(Long productId, Long memberId, int quantity, int shardCount, boolean retryOnStale) {
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(productId, quantity, shardCount);
+        if (retryOnStale
+                && reservation.code() == FlashSaleShardedStock.RESULT_NOT_ARMED
+                && shardedStock.knownShardCount(productId) == 0) {
+            return reserveStock(productId, memberId, quantity);
+        }
+        rejectIfUnavailable(productId, reservation.code());
+        if (reservation.code() == FlashSaleShardedStock.RESULT_OUT_OF_STOCK) {
+            throw new IllegalStateException("플래시 세일 재고가 부족합니다.");
+        }
+        return reservation.value();
+    }
+
+    private void rejectIfUnavailable(Long productId, long code) {
+        if (code == RESULT_NOT_ARMED) {
+            throw new IllegalStateException("플래시 세일이 준비되지 않은 상품입니다. id=" + productId);
+        }
+        if (code == RESULT_NOT_ON_SALE) {
+            throw new IllegalStateException("판매 중인 상품이 아닙니다. id=" + productId);
+        }
+        if (code == RESULT_OUT_OF_WINDOW) {
+            throw new IllegalStateException("플래시 세일 판매 기간이 아닙니다. id=" + productId);
+        }
+        if (code == RESULT_NOT_ADMITTED) {
+            throw new IllegalStateException("대기열 입장 순서가 아니거나 입장 시간이 만료되었습니다. id=" + productId);
+        }
     }
 
     private void validateRequest(Long memberId, int quantity) {
@@ -105,7 +375,7 @@ public class FlashSaleService {
         }
     }
 
-    private String buildStockKey(Long productId) {
-        return STOCK_KEY_PREFIX + productId + ":stock";
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
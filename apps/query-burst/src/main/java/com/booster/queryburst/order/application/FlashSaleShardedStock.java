@@ -0,0 +1,335 @@
+package com.booster.queryburst.order.application;
+
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 플래시 세일 재고 샤딩 (선택).
+ *
+ * <h2>구조</h2>
+ * <pre>
+ * 샤드 0       FLASH:{productId}:stock   / FLASH:{productId}:info      (기존 키)
+ * 샤드 1..N-1  FLASH:{productId:k}:stock / FLASH:{productId:k}:info    (판매 정보는 warm-up 시 복제)
+ * </pre>
+ * 샤드마다 해시 태그가 달라 Redis Cluster에서 서로 다른 슬롯(노드)에 배치되고,
+ * 샤드 재고와 판매 정보는 같은 슬롯에 있어 샤드당 Lua 1회로 판매 조건 검증 + 선점을 처리한다.
+ *
+ * <h2>선점</h2>
+ * {@link StockShardSelector}가 고른 샤드에서 필요한 수량을 가져오고, 모자라면 다음 샤드부터 순서대로 나머지를 가져온다.
+ * 끝까지 모자라거나 도중에 예외가 나면 가져온 수량을 모두 돌려준다. 각 샤드의 차감은 해당 샤드 잔량 이하로만 일어나므로
+ * 샤드 합계(= 전체 재고)를 넘어 판매되는 일은 없다. 돌려주기 전까지 잠시 다른 요청이 재고 부족으로 거부될 수는 있다.
+ *
+ * <h2>샤드 수 캐시</h2>
+ * 샤드 수는 모든 샤드의 판매 정보(stockShards)에 있고 인스턴스 로컬에 캐시한다. 모르는 상품은 샤드 0 경로(기존 스크립트)로
+ * 처리하면서 샤드 수를 알아 온다. 샤드 스크립트도 매번 샤드 수를 돌려주므로 재 warm-up으로 샤드 수가 바뀌면 다음 호출에서 갱신되고,
+ * 재고 부족으로 끝나면 샤드 0의 판매 정보를 다시 읽어 캐시가 낡았는지 확인한 뒤 늘어난 샤드까지 다시 시도한다.
+ *
+ * <h2>품절 판정</h2>
+ * 샤드는 서로 다른 슬롯에 있어 한 스크립트로 함께 읽을 수 없다. 모든 샤드가 비어 있던 요청은
+ * 전체 샤드 잔량을 파이프라인 1회로 다시 확인한 뒤 품절을 전파하고, 전파 후 한 번 더 확인해 그 사이 재고가 돌아왔으면 해제한다.
+ * 빈 샤드에 재고를 돌려준 요청도 품절 해제를 전파하므로, 확인과 돌려주기가 어떤 순서로 겹쳐도 품절 플래그가 남지 않는다
+ * (돌려주기가 두 번째 확인보다 늦으면 그 해제 메시지가 품절 메시지보다 나중에 발행된다).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class FlashSaleShardedStock {
+
+    static final int MAX_SHARDS = 64;
+
+    static final long RESULT_RESERVED = 0L;
+    static final long RESULT_OUT_OF_STOCK = -1L;
+    static final long RESULT_NOT_ARMED = -2L;
+
+    private static final String ARM_SHARD_SCRIPT = """
+            local stockKey = KEYS[1]
+            local infoKey = KEYS[2]
+            local ttlMillis = tonumber(ARGV[6])
+            redis.call('SET', stockKey, ARGV[1], 'PX', ttlMillis)
+            redis.call('DEL', infoKey)
+            redis.call('HSET', infoKey, 'price', ARGV[2], 'status', ARGV[3], 'startAt', ARGV[4], 'endAt', ARGV[5], 'stockShards', ARGV[7])
+            redis.call('PEXPIRE', infoKey, ttlMillis)
+            return 1
+            """;
+
+    /**
+     * 샤드 잔량 안에서 최대 ARGV[1]개를 가져온다.
+     * 반환: {가져온 수량, 샤드 잔여 재고, 단가, 샤드 수} / 샤드가 비었으면 {-1, 0, 0, 샤드 수} / 오류 코드 {-2|-3|-4, 0, 0, 0}
+     */
+    private static final String TAKE_SCRIPT = """
+            local stockKey = KEYS[1]
+            local infoKey = KEYS[2]
+            local info = redis.call('HMGET', infoKey, 'price', 'status', 'startAt', 'endAt', 'stockShards')
+            if not info[1] then
+                return {-2, 0, 0, 0}
+            end
+            if info[2] ~= 'ACTIVE' then
+                return {-3, 0, 0, 0}
+            end
+            local timeResult = redis.call('TIME')
+            local now = tonumber(timeResult[1]) * 1000 + math.floor(tonumber(timeResult[2]) / 1000)
+            local startAt = tonumber(info[3])
+            local endAt = tonumber(info[4])
+            if (startAt > 0 and now < startAt) or (endAt > 0 and now >= endAt) then
+                return {-4, 0, 0, 0}
+            end
+            local shards = tonumber(info[5] or '1')
+            local current = tonumber(redis.call('GET', stockKey))
+            if not current then
+                return {-2, 0, 0, 0}
+            end
+            if current <= 0 then
+                return {-1, 0, 0, shards}
+            end
+            local taken = math.min(current, tonumber(ARGV[1]))
+            local remaining = redis.call('DECRBY', stockKey, taken)
+            return {taken, remaining, tonumber(info[1]), shards}
+            """;
+
+    /**
+     * 세일이 해제되어 키가 없으면 되살리지 않는다 (INCRBY는 TTL 없는 키를 새로 만든다).
+     */
+    private static final String GIVE_BACK_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return redis.call('INCRBY', KEYS[1], ARGV[1])
+            end
+            return -1
+            """;
+
+    private final RedissonClient redissonClient;
+    private final RedisScriptExecutor redisScriptExecutor;
+    private final StockShardSelector shardSelector;
+    private final FlashSaleSoldOutRegistry soldOutRegistry;
+
+    // productId → 샤드 수 (1이면 샤딩하지 않는 세일)
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    /**
+     * 선점 결과. code가 RESERVED면 value는 단가,
+     * OUT_OF_STOCK이면 value는 품절을 확인해 전파했는지(1/0), 그 외 오류 코드면 0이다.
+     */
+    record Reservation(long code, long value) {
+    }
+
+    /** 캐시된 샤드 수. 모르면 0 */
+    int knownShardCount(Long productId) {
+        return shardCounts.getOrDefault(productId, 0);
+    }
+
+    void remember(Long productId, int shardCount) {
+        shardCounts.put(productId, Math.max(shardCount, 1));
+    }
+
+    void forget(Long productId) {
+        shardCounts.remove(productId);
+    }
+
+    /** Redis에 적재된 샤드 수. 세일 정보가 없으면 1 */
+    int readShardCount(Long productId) {
+        String value = redissonClient.<String, String>getMap(FlashSaleKeys.info(productId), StringCodec.INSTANCE)
+                .get("stockShards");
+        return value == null ? 1 : Integer.parseInt(value);
+    }
+
+    /** 전체 재고를 샤드에 나눈 몫. 나머지는 앞 샤드부터 1개씩 더 배정한다. */
+    static long shardStock(long totalStock, int shardCount, int shard) {
+        return totalStock / shardCount + (shard < totalStock % shardCount ? 1 : 0);
+    }
+
+    /**
+     * 샤드 1..N-1의 재고와 판매 정보 복제본을 적재한다 (파이프라인 1회). 샤드 0은 FlashSaleService warm-up이 적재한다.
+     */
+    void armShards(Long productId, long totalStock, long price, String status,
+                   long startAtMillis, long endAtMillis, Duration ttl, int shardCount) {
+        if (shardCount <= 1) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        for (int shard = 1; shard < shardCount; shard++) {
+            batch.getScript(StringCodec.INSTANCE).evalAsync(
+                    RScript.Mode.READ_WRITE,
+                    ARM_SHARD_SCRIPT,
+                    RScript.ReturnType.LONG,
+                    List.of(FlashSaleKeys.stockShard(productId, shard), FlashSaleKeys.infoShard(productId, shard)),
+                    String.valueOf(shardStock(totalStock, shardCount, shard)),
+                    String.valueOf(price),
+                    status,
+                    String.valueOf(startAtMillis),
+                    String.valueOf(endAtMillis),
+                    String.valueOf(ttl.toMillis()),
+                    String.valueOf(shardCount)
+            );
+        }
+        batch.execute();
+    }
+
+    /**
+     * 샤드 fromShard..toShard-1의 키를 삭제한다. 샤드 0은 FlashSaleService가 관리하므로 건너뛴다.
+     */
+    void deleteShards(Long productId, int fromShard, int toShard) {
+        List<String> keys = new ArrayList<>();
+        for (int shard = Math.max(fromShard, 1); shard < toShard; shard++) {
+            keys.add(FlashSaleKeys.stockShard(productId, shard));
+            keys.add(FlashSaleKeys.infoShard(productId, shard));
+        }
+        if (!keys.isEmpty()) {
+            // 샤드마다 슬롯이 달라 다중 키 DEL 대신 키별로 삭제한다
+            RBatch batch = redissonClient.createBatch();
+            keys.forEach(key -> batch.getBucket(key, StringCodec.INSTANCE).deleteAsync());
+            batch.execute();
+        }
+    }
+
+    /**
+     * 시작 샤드부터 순서대로 quantity개를 모은다. 모으지 못하면 가져온 수량을 돌려준다.
+     * 재고 부족이면 샤드 수가 늘었는지 확인해 다시 시도하고, 모든 샤드가 비었으면 품절을 판정한다.
+     */
+    Reservation reserve(Long productId, int quantity, int shardCount) {
+        Reservation reservation = collect(productId, quantity, shardCount);
+        if (reservation.code() != RESULT_OUT_OF_STOCK) {
+            return reservation;
+        }
+
+        int currentShardCount = readShardCount(productId);
+        if (currentShardCount != shardCount) {
+            if (currentShardCount <= 1) {
+                // 샤딩 없이 다시 warm-up되었거나 해제됨 → 호출자가 샤드 0 경로로 처리한다
+                forget(productId);
+                return new Reservation(RESULT_NOT_ARMED, 0);
+            }
+            log.info("[FlashSale] 재고 샤드 수 변경 감지. productId={}, cached={}, current={}", productId, shardCount, currentShardCount);
+            remember(productId, currentShardCount);
+            shardCount = currentShardCount;
+            reservation = collect(productId, quantity, shardCount);
+            if (reservation.code() != RESULT_OUT_OF_STOCK) {
+                return reservation;
+            }
+        }
+
+        boolean soldOut = reservation.value() == 1 && markSoldOutIfEmpty(productId, shardCount);
+        return new Reservation(RESULT_OUT_OF_STOCK, soldOut ? 1 : 0);
+    }
+
+    /**
+     * 반환한 OUT_OF_STOCK의 value는 방문한 모든 샤드가 비어 있었는지(1/0)다.
+     */
+    private Reservation collect(Long productId, int quantity, int shardCount) {
+        int start = shardSelector.select(productId, shardCount);
+        Map<Integer, Long> taken = new LinkedHashMap<>();
+        long need = quantity;
+        long price = 0;
+        int reportedShardCount = shardCount;
+
+        try {
+            for (int i = 0; i < shardCount && need > 0; i++) {
+                int shard = (start + i) % shardCount;
+                List<Object> result = redisScriptExecutor.execute(
+                        TAKE_SCRIPT,
+                        RScript.Mode.READ_WRITE,
+                        RScript.ReturnType.MULTI,
+                        List.of(FlashSaleKeys.stockShard(productId, shard), FlashSaleKeys.infoShard(productId, shard)),
+                        String.valueOf(need)
+                );
+
+                long code = ((Number) result.get(0)).longValue();
+                if (code == RESULT_OUT_OF_STOCK) {
+                    reportedShardCount = ((Number) result.get(3)).intValue();
+                    continue;
+                }
+                if (code < 0) {
+                    giveBack(productId, taken);
+                    if (code == RESULT_NOT_ARMED && shard > 0) {
+                        // 재 warm-up으로 샤드 수가 줄었거나 세일이 해제됨 → 다음 요청이 샤드 수를 다시 알아 온다
+                        forget(productId);
+                    }
+                    return new Reservation(code, 0);
+                }
+                taken.merge(shard, code, Long::sum);
+                need -= code;
+                price = ((Number) result.get(2)).longValue();
+                reportedShardCount = ((Number) result.get(3)).intValue();
+            }
+        } catch (RuntimeException e) {
+            giveBack(productId, taken);
+            throw e;
+        }
+
+        if (reportedShardCount > 1 && reportedShardCount != shardCount) {
+            remember(productId, reportedShardCount);
+        }
+        if (need > 0) {
+            giveBack(productId, taken);
+            return new Reservation(RESULT_OUT_OF_STOCK, taken.isEmpty() ? 1 : 0);
+        }
+        if (taken.size() > 1 || !taken.containsKey(start)) {
+            log.debug("[FlashSale] 다른 샤드에서 재고 선점. productId={}, start={}, taken={}", productId, start, taken);
+        }
+        return new Reservation(RESULT_RESERVED, price);
+    }
+
+    /**
+     * 모든 샤드가 비어 있음을 확인하고 품절을 전파한다. 전파 후 다시 확인해 재고가 돌아왔으면 해제한다.
+     *
+     * @return 품절로 판정했으면 true
+     */
+    private boolean markSoldOutIfEmpty(Long productId, int shardCount) {
+        if (hasStock(productId, shardCount)) {
+            return false;
+        }
+        soldOutRegistry.markSoldOut(productId, true);
+        if (hasStock(productId, shardCount)) {
+            soldOutRegistry.markAvailable(productId);
+            return false;
+        }
+        return true;
+    }
+
+    /** 모든 샤드의 잔량을 파이프라인 1회로 읽는다. */
+    private boolean hasStock(Long productId, int shardCount) {
+        RBatch batch = redissonClient.createBatch();
+        for (int shard = 0; shard < shardCount; shard++) {
+            batch.<String>getBucket(FlashSaleKeys.stockShard(productId, shard), StringCodec.INSTANCE).getAsync();
+        }
+        return batch.execute().getResponses().stream()
+                .anyMatch(value -> value != null && Long.parseLong(value.toString()) > 0);
+    }
+
+    /**
+     * 가져온 수량을 돌려준다. 비어 있던 샤드가 다시 채워졌으면 품절 해제를 전파한다.
+     * 돌려주기에 실패한 수량은 보상 없이 남으므로 오류 로그로 남긴다.
+     */
+    private void giveBack(Long productId, Map<Integer, Long> taken) {
+        boolean refilled = false;
+        for (Map.Entry<Integer, Long> entry : taken.entrySet()) {
+            try {
+                Long restored = redisScriptExecutor.execute(
+                        GIVE_BACK_SCRIPT,
+                        RScript.Mode.READ_WRITE,
+                        RScript.ReturnType.LONG,
+                        List.of(FlashSaleKeys.stockShard(productId, entry.getKey())),
+                        String.valueOf(entry.getValue())
+                );
+                refilled |= restored != null && restored.equals(entry.getValue());
+            } catch (RuntimeException e) {
+                log.error("[FlashSale] 샤드 재고 반환 실패. productId={}, shard={}, quantity={}",
+                        productId, entry.getKey(), entry.getValue(), e);
+            }
+        }
+        if (refilled) {
+            soldOutRegistry.markAvailable(productId);
+        }
+    }
+}
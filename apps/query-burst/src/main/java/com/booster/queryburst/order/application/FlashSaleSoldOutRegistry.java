@@ -0,0 +1,113 @@
+package com.booster.queryburst.order.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 플래시 세일 품절 플래그 (인스턴스 로컬).
+ *
+ * <h2>흐름</h2>
+ * <pre>
+ * 재고 선점으로 잔여 재고가 0이 됨 (마지막 1개를 가져간 요청, 정확히 1회)
+ *   → 로컬 플래그 + PUBLISH FLASH:SOLD-OUT "SOLD_OUT:{productId}"
+ *   → 모든 인스턴스: 로컬 플래그 설정 → 이후 요청은 Redis 호출 없이 즉시 거부
+ * 재고 보상 반영 / warm-up / 해제
+ *   → 로컬 플래그 해제 + PUBLISH "AVAILABLE:{productId}"
+ * </pre>
+ *
+ * 메시지 유실에 대비해 재고 부족 응답(잔여 0)을 받은 인스턴스는 자체적으로도 플래그를 설정하고,
+ * 로컬 플래그는 local-ttl 후 만료되어 다음 요청 1건이 Redis로 다시 확인한다.
+ * 따라서 해제 메시지가 유실돼도 판매 재개가 local-ttl 이상 막히지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlashSaleSoldOutRegistry {
+
+    private static final String TOPIC = "FLASH:SOLD-OUT";
+    private static final String SOLD_OUT_PREFIX = "SOLD_OUT:";
+    private static final String AVAILABLE_PREFIX = "AVAILABLE:";
+
+    private final RedissonClient redissonClient;
+
+    // productId → 플래그 만료 시각 (System.nanoTime 기준)
+    private final Map<Long, Long> soldOut = new ConcurrentHashMap<>();
+
+    @Value("${flash-sale.sold-out.local-ttl:10s}")
+    private Duration localTtl;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        topic().addListener(String.class, (channel, message) -> onMessage(message));
+    }
+
+    public boolean isSoldOut(Long productId) {
+        Long expiresAt = soldOut.get(productId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() <= 0) {
+            soldOut.remove(productId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 로컬 플래그를 설정한다. broadcast면 다른 인스턴스에도 알린다.
+     */
+    public void markSoldOut(Long productId, boolean broadcast) {
+        markLocally(productId);
+        if (broadcast) {
+            publish(SOLD_OUT_PREFIX + productId);
+            log.info("[FlashSale] 품절 전파. productId={}", productId);
+        }
+    }
+
+    /**
+     * 로컬 플래그를 해제하고 다른 인스턴스에도 알린다.
+     */
+    public void markAvailable(Long productId) {
+        soldOut.remove(productId);
+        publish(AVAILABLE_PREFIX + productId);
+    }
+
+    private void markLocally(Long productId) {
+        soldOut.put(productId, System.nanoTime() + localTtl.toNanos());
+    }
+
+    private void onMessage(String message) {
+        try {
+            if (message.startsWith(SOLD_OUT_PREFIX)) {
+                markLocally(Long.valueOf(message.substring(SOLD_OUT_PREFIX.length())));
+            } else if (message.startsWith(AVAILABLE_PREFIX)) {
+                soldOut.remove(Long.valueOf(message.substring(AVAILABLE_PREFIX.length())));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("[FlashSale] 알 수 없는 품절 메시지. message={}", message);
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            topic().publish(message);
+        } catch (Exception e) {
+            log.warn("[FlashSale] 품절 메시지 발행 실패. 다른 인스턴스는 local-ttl 이후 반영됩니다. message={}", message, e);
+        }
+    }
+
+    private RTopic topic() {
+        return redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,236 @@
+package com.booster.queryburst.order.application;
+
+import com.booster.queryburst.order.event.FlashSaleOrderPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 플래시 세일 재고 보상 (기록 → 일괄 반영).
+ *
+ * <h2>흐름</h2>
+ * <pre>
+ * 1. record        — Consumer가 주문 생성 실패분을 상품별로 묶어 FLASH:{id}:compensation:pending에 기록
+ *                    (상품당 Lua 1회를 파이프라인으로 전송한 뒤 대상 집합에 SADD 1회)
+ * 2. applyPending  — 스케줄러가 주기적으로 호출. 상품별 대기 보상을 합산해 INCRBY 1회로 재고에 반영
+ *                    (상품당 Lua 1회를 파이프라인 1회로 전송)
+ * </pre>
+ * DB 장애로 배치 전체가 실패해도 재고 키에는 주기당 상품별 INCRBY 1회만 도달하여 실시간 선점과 경합하지 않는다.
+ *
+ * <h2>정확히 1회 반영</h2>
+ * 반영된 주문 ID는 FLASH:{id}:compensation:applied에 남는다. 기록 시 이미 반영된 주문은 무시하고(HSETNX + SISMEMBER),
+ * 반영 시에도 SADD 결과로 한 번 더 걸러내므로 Kafka 재전달이나 여러 인스턴스의 동시 반영에도 재고가 두 번 늘지 않는다.
+ * 기록은 Redis에만 하고, 기록에 실패하면 예외를 던져 Consumer가 레코드를 재처리하게 한다.
+ *
+ * <h2>Redis Cluster</h2>
+ * 상품별 스크립트는 FLASH:{id} 슬롯의 키만 다루고, 전역 대상 집합(FLASH:COMPENSATION:products)은 별도 명령으로 추가한다.
+ * 두 쓰기는 원자적이지 않지만 모두 멱등이다. 일부 상품만 기록되거나 SADD 전에 실패하면 예외로 레코드가 재처리되고,
+ * 이미 기록된 주문은 HSETNX로 걸러지므로 다시 기록해도 결과가 같다.
+ *
+ * <h2>메트릭</h2>
+ * {@link FlashSaleCompensationMetrics} 참고.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlashSaleStockCompensator {
+
+    /** 재고 키 TTL을 읽을 수 없을 때(세일 해제/만료) 보상 키에 쓰는 TTL */
+    private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    /**
+     * 반환: 새로 기록한 주문 수. 이미 기록됐거나 반영된 주문은 세지 않는다.
+     * ARGV[2..]는 (orderId, quantity) 쌍이다.
+     */
+    private static final String RECORD_SCRIPT = """
+            local pendingKey = KEYS[1]
+            local appliedKey = KEYS[2]
+            local recorded = 0
+            for i = 2, #ARGV, 2 do
+                if redis.call('SISMEMBER', appliedKey, ARGV[i]) == 0
+                        and redis.call('HSETNX', pendingKey, ARGV[i], ARGV[i + 1]) == 1 then
+                    recorded = recorded + 1
+                end
+            end
+            local ttl = redis.call('PTTL', KEYS[3])
+            if ttl <= 0 then
+                ttl = tonumber(ARGV[1])
+            end
+            redis.call('PEXPIRE', pendingKey, ttl)
+            return recorded
+            """;
+
+    /**
+     * 반환: {재고에 더한 수량, 반영한 주문 수, 이미 반영돼 버린 주문 수}
+     * 재고 키가 없으면(세일 해제/만료) 더할 대상이 없으므로 반영 처리만 하고 수량은 0을 반환한다.
+     */
+    private static final String APPLY_SCRIPT = """
+            local pendingKey = KEYS[1]
+            local appliedKey = KEYS[2]
+            local stockKey = KEYS[3]
+            local pending = redis.call('HGETALL', pendingKey)
+            if #pending == 0 then
+                return {0, 0, 0}
+            end
+            local total = 0
+            local applied = 0
+            local duplicated = 0
+            for i = 1, #pending, 2 do
+                if redis.call('SADD', appliedKey, pending[i]) == 1 then
+                    total = total + tonumber(pending[i + 1])
+                    applied = applied + 1
+                else
+                    duplicated = duplicated + 1
+                end
+            end
+            redis.call('DEL', pendingKey)
+            local ttl = redis.call('PTTL', stockKey)
+            if ttl == -2 then
+                total = 0
+            elseif total > 0 then
+                redis.call('INCRBY', stockKey, total)
+            end
+            if ttl <= 0 then
+                ttl = tonumber(ARGV[1])
+            end
+            redis.call('PEXPIRE', appliedKey, ttl)
+            return {total, applied, duplicated}
+            """;
+
+    private final RedissonClient redissonClient;
+    private final FlashSaleSoldOutRegistry soldOutRegistry;
+    private final FlashSaleCompensationMetrics metrics;
+
+    /**
+     * 주문 생성에 실패한 주문의 재고 보상을 기록한다. 재고에는 {@link #applyPending}에서 반영된다.
+     *
+     * @throws RuntimeException Redis 기록 실패. 호출자는 레코드가 재처리되도록 예외를 전파해야 한다.
+     */
+    public void record(List<FlashSaleOrderPayload> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<FlashSaleOrderPayload>> payloadsByProduct = payloads.stream()
+                .collect(Collectors.groupingBy(FlashSaleOrderPayload::productId, LinkedHashMap::new, Collectors.toList()));
+
+        // 상품별 기록은 각자 한 슬롯(FLASH:{id})이므로 파이프라인으로 보낸다
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<Object>> recordResults = new ArrayList<>(payloadsByProduct.size());
+        payloadsByProduct.forEach((productId, items) -> {
+            Object[] args = new Object[1 + items.size() * 2];
+            args[0] = String.valueOf(DEFAULT_TTL.toMillis());
+            for (int i = 0; i < items.size(); i++) {
+                args[1 + i * 2] = String.valueOf(items.get(i).orderId());
+                args[2 + i * 2] = String.valueOf(items.get(i).quantity());
+            }
+            recordResults.add(batch.getScript(StringCodec.INSTANCE).evalAsync(
+                    RScript.Mode.READ_WRITE,
+                    RECORD_SCRIPT,
+                    RScript.ReturnType.LONG,
+                    keys(productId),
+                    args
+            ));
+        });
+        batch.execute();
+
+        // pending 기록 이후에 대상 집합에 추가해야 applyPending의 집합 정리와 경합해도 대상에서 빠지지 않는다
+        compensationProducts().addAll(payloadsByProduct.keySet().stream().map(String::valueOf).toList());
+
+        long recorded = recordResults.stream()
+                .mapToLong(result -> ((Number) result.toCompletableFuture().join()).longValue())
+                .sum();
+        metrics.recorded(recorded);
+        log.warn("[FlashSale] 재고 보상 기록. products={}, orders={}, recorded={}",
+                payloadsByProduct.keySet(), payloads.size(), recorded);
+    }
+
+    /**
+     * 대기 중인 재고 보상을 상품별로 합산해 반영한다.
+     * 대기 보상이 없는 상품은 대상 집합에서 제거한다.
+     *
+     * @return 이번 호출에서 재고에 더한 총 수량
+     */
+    public long applyPending() {
+        RSet<String> products = compensationProducts();
+        List<Long> productIds = products.readAll().stream().map(Long::valueOf).toList();
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<List<Object>>> applyResults = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            applyResults.add(batch.getScript(StringCodec.INSTANCE).evalAsync(
+                    RScript.Mode.READ_WRITE,
+                    APPLY_SCRIPT,
+                    RScript.ReturnType.MULTI,
+                    keys(productId),
+                    String.valueOf(DEFAULT_TTL.toMillis())
+            ));
+        }
+        batch.execute();
+
+        long restoredTotal = 0;
+        List<Long> drained = new ArrayList<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            Long productId = productIds.get(i);
+            List<Object> result = applyResults.get(i).toCompletableFuture().join();
+            long restored = ((Number) result.get(0)).longValue();
+            long applied = ((Number) result.get(1)).longValue();
+            long duplicated = ((Number) result.get(2)).longValue();
+
+            if (applied + duplicated == 0) {
+                drained.add(productId);
+                continue;
+            }
+            metrics.applied(applied);
+            if (restored > 0) {
+                restoredTotal += restored;
+                soldOutRegistry.markAvailable(productId);
+            }
+            log.warn("[FlashSale] 재고 보상 반영. productId={}, quantity={}, orders={}, duplicated={}",
+                    productId, restored, applied, duplicated);
+        }
+
+        drained.forEach(this::removeIfDrained);
+        return restoredTotal;
+    }
+
+    /**
+     * 대상 집합에서 제거한 뒤 그 사이 기록된 보상이 있으면 다시 추가한다.
+     * record는 pending 기록 후 집합에 추가하므로, 어느 순서로 겹쳐도 대기 보상이 있는 상품이 집합에서 빠지지 않는다.
+     */
+    private void removeIfDrained(Long productId) {
+        RSet<String> products = compensationProducts();
+        products.remove(String.valueOf(productId));
+        if (redissonClient.getMap(FlashSaleKeys.pendingCompensation(productId), StringCodec.INSTANCE).isExists()) {
+            products.add(String.valueOf(productId));
+        }
+    }
+
+    private List<Object> keys(Long productId) {
+        return List.of(
+                FlashSaleKeys.pendingCompensation(productId),
+                FlashSaleKeys.appliedCompensation(productId),
+                FlashSaleKeys.stock(productId)
+        );
+    }
+
+    private RSet<String> compensationProducts() {
+        return redissonClient.getSet(FlashSaleKeys.COMPENSATION_PRODUCTS, StringCodec.INSTANCE);
+    }
+}
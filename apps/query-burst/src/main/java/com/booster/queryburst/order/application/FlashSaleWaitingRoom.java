@@ -0,0 +1,266 @@
+package com.booster.queryburst.order.application;
+
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import com.booster.queryburst.order.application.dto.WaitingRoomTicket;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 플래시 세일 대기열 (waiting room).
+ *
+ * <h2>흐름</h2>
+ * <pre>
+ * 1. enter     — 도착 순번을 발급해 FLASH:{id}:queue에 등록 (이미 있으면 기존 순번 유지)
+ * 2. admit     — 스케줄러가 주기적으로 호출. 앞에서부터 (경과 시간 × admitRate)명을 FLASH:{id}:admitted로 이동
+ * 3. getTicket — 클라이언트 폴링. ZRANK / ZSCORE O(log N) 조회 1회
+ * 4. 주문      — 재고 선점 스크립트가 admitted 여부를 확인하고, 성공 시 입장 허용을 소진
+ * </pre>
+ *
+ * <h2>입장 속도</h2>
+ * 마지막 입장 시각(FLASH:{id}:admit-clock)을 Redis에 두고 Redis TIME 기준 경과 시간만큼만 입장시킨다.
+ * 모든 인스턴스의 스케줄러가 동시에 호출해도 합산 입장 인원은 admitRate를 넘지 않으므로 분산 락이 필요 없다.
+ * 대기열이 비어 있던 동안의 여유분은 누적하지 않고, 한 번에 입장하는 인원도 burst 구간만큼으로 제한한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlashSaleWaitingRoom {
+
+    private static final long RESULT_NOT_ARMED = -2L;
+    private static final long RESULT_NO_WAITING_ROOM = -6L;
+    private static final long RESULT_ALREADY_ADMITTED = -7L;
+
+    private static final long STATE_ADMITTED = 1L;
+    private static final long STATE_WAITING = 0L;
+
+    /**
+     * 반환: {순번, 0-based 대기 순위, admitRate} / 이미 입장 허용이면 {-7, 0, 0} / 오류 코드 {-2|-6, 0, 0}
+     * 입장 허용이 만료된 회원은 대기열 맨 뒤에 다시 등록된다. 대기열 키 TTL은 판매 정보 키와 같게 맞춘다.
+     */
+    private static final String ENTER_SCRIPT = """
+            local infoKey = KEYS[1]
+            local queueKey = KEYS[2]
+            local sequenceKey = KEYS[3]
+            local admittedKey = KEYS[4]
+            local member = ARGV[1]
+            local rate = redis.call('HGET', infoKey, 'admitRate')
+            if not rate then
+                return {-2, 0, 0}
+            end
+            if tonumber(rate) <= 0 then
+                return {-6, 0, 0}
+            end
+            local admittedUntil = tonumber(redis.call('ZSCORE', admittedKey, member))
+            if admittedUntil then
+                local timeResult = redis.call('TIME')
+                local now = tonumber(timeResult[1]) * 1000 + math.floor(tonumber(timeResult[2]) / 1000)
+                if admittedUntil > now then
+                    return {-7, 0, 0}
+                end
+                redis.call('ZREM', admittedKey, member)
+            end
+            local sequence = redis.call('ZSCORE', queueKey, member)
+            if not sequence then
+                sequence = redis.call('INCR', sequenceKey)
+                redis.call('ZADD', queueKey, sequence, member)
+                local ttl = redis.call('PTTL', infoKey)
+                if ttl > 0 then
+                    redis.call('PEXPIRE', queueKey, ttl)
+                    redis.call('PEXPIRE', sequenceKey, ttl)
+                end
+            end
+            return {tonumber(sequence), redis.call('ZRANK', queueKey, member), tonumber(rate)}
+            """;
+
+    /**
+     * 반환: {상태(1 입장 허용, 0 대기, -1 미등록), 값(입장 만료 epoch millis 또는 0-based 대기 순위), admitRate}
+     */
+    private static final String TICKET_SCRIPT = """
+            local rate = tonumber(redis.call('HGET', KEYS[1], 'admitRate') or '0')
+            local expiresAt = tonumber(redis.call('ZSCORE', KEYS[3], ARGV[1]))
+            if expiresAt then
+                local timeResult = redis.call('TIME')
+                local now = tonumber(timeResult[1]) * 1000 + math.floor(tonumber(timeResult[2]) / 1000)
+                if expiresAt > now then
+                    return {1, expiresAt, rate}
+                end
+            end
+            local rank = redis.call('ZRANK', KEYS[2], ARGV[1])
+            if rank then
+                return {0, rank, rate}
+            end
+            return {-1, 0, rate}
+            """;
+
+    /**
+     * 반환: 이번 호출에서 입장시킨 인원 / 세일 미준비면 -2
+     */
+    private static final String ADMIT_SCRIPT = """
+            local infoKey = KEYS[1]
+            local queueKey = KEYS[2]
+            local admittedKey = KEYS[3]
+            local clockKey = KEYS[4]
+            local rate = tonumber(redis.call('HGET', infoKey, 'admitRate'))
+            if not rate then
+                return -2
+            end
+            if rate <= 0 then
+                return 0
+            end
+            local timeResult = redis.call('TIME')
+            local now = tonumber(timeResult[1]) * 1000 + math.floor(tonumber(timeResult[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', admittedKey, '-inf', now)
+            local ttl = redis.call('PTTL', infoKey)
+            if ttl <= 0 then
+                ttl = tonumber(ARGV[3])
+            end
+            local last = tonumber(redis.call('GET', clockKey))
+            if not last then
+                redis.call('SET', clockKey, now, 'PX', ttl)
+                return 0
+            end
+            local due = math.floor((now - last) * rate / 1000)
+            if due < 1 then
+                return 0
+            end
+            local burst = math.max(1, math.ceil(rate * tonumber(ARGV[2]) / 1000))
+            local popped = redis.call('ZPOPMIN', queueKey, math.min(due, burst))
+            local admitted = #popped / 2
+            local expiresAt = now + tonumber(ARGV[1])
+            for i = 1, #popped, 2 do
+                redis.call('ZADD', admittedKey, expiresAt, popped[i])
+            end
+            if admitted > 0 then
+                redis.call('PEXPIRE', admittedKey, ttl)
+            end
+            if admitted < due then
+                redis.call('SET', clockKey, now, 'PX', ttl)
+            else
+                redis.call('SET', clockKey, last + math.floor(admitted * 1000 / rate), 'PX', ttl)
+            end
+            return admitted
+            """;
+
+    private final RedissonClient redissonClient;
+    private final RedisScriptExecutor redisScriptExecutor;
+
+    /** 입장 허용 후 주문할 수 있는 시간. 지나면 입장 허용이 사라지고 다시 대기열에 등록해야 한다. */
+    @Value("${flash-sale.waiting-room.admission-ttl:2m}")
+    private Duration admissionTtl;
+
+    /** 한 번의 입장 처리에서 허용하는 최대 구간. admitRate × burst 인원까지 한꺼번에 입장할 수 있다. */
+    @Value("${flash-sale.waiting-room.burst:1s}")
+    private Duration burst;
+
+    public WaitingRoomTicket enter(Long productId, Long memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("memberId는 필수입니다.");
+        }
+
+        List<Object> result = redisScriptExecutor.execute(
+                ENTER_SCRIPT,
+                RScript.Mode.READ_WRITE,
+                RScript.ReturnType.MULTI,
+                List.of(
+                        FlashSaleKeys.info(productId),
+                        FlashSaleKeys.queue(productId),
+                        FlashSaleKeys.queueSequence(productId),
+                        FlashSaleKeys.admitted(productId)
+                ),
+                String.valueOf(memberId)
+        );
+
+        long code = ((Number) result.get(0)).longValue();
+        if (code == RESULT_NOT_ARMED) {
+            throw new IllegalStateException("플래시 세일이 준비되지 않은 상품입니다. id=" + productId);
+        }
+        if (code == RESULT_NO_WAITING_ROOM) {
+            throw new IllegalStateException("대기열을 사용하지 않는 세일입니다. 바로 주문하세요. id=" + productId);
+        }
+        if (code == RESULT_ALREADY_ADMITTED) {
+            return getTicket(productId, memberId);
+        }
+
+        long position = ((Number) result.get(1)).longValue() + 1;
+        long admitRate = ((Number) result.get(2)).longValue();
+        log.debug("[WaitingRoom] 대기열 등록. productId={}, memberId={}, sequence={}, position={}", productId, memberId, code, position);
+        return WaitingRoomTicket.waiting(productId, memberId, position, estimateWaitSeconds(position, admitRate));
+    }
+
+    public WaitingRoomTicket getTicket(Long productId, Long memberId) {
+        List<Object> result = redisScriptExecutor.execute(
+                TICKET_SCRIPT,
+                RScript.Mode.READ_ONLY,
+                RScript.ReturnType.MULTI,
+                List.of(FlashSaleKeys.info(productId), FlashSaleKeys.queue(productId), FlashSaleKeys.admitted(productId)),
+                String.valueOf(memberId)
+        );
+
+        long state = ((Number) result.get(0)).longValue();
+        long value = ((Number) result.get(1)).longValue();
+        long admitRate = ((Number) result.get(2)).longValue();
+
+        if (state == STATE_ADMITTED) {
+            return WaitingRoomTicket.admitted(productId, memberId, value);
+        }
+        if (state == STATE_WAITING) {
+            long position = value + 1;
+            return WaitingRoomTicket.waiting(productId, memberId, position, estimateWaitSeconds(position, admitRate));
+        }
+        return WaitingRoomTicket.notInQueue(productId, memberId);
+    }
+
+    /**
+     * 대기열을 사용하는 모든 세일에 대해 입장 처리를 1회 수행한다.
+     * 판매 정보가 사라진(해제/만료된) 세일은 대상 집합에서 제거한다.
+     *
+     * @return 이번 호출에서 입장시킨 총 인원
+     */
+    public long admitAll() {
+        long total = 0;
+        for (String member : redissonClient.<String>getSet(FlashSaleKeys.WAITING_ROOM_PRODUCTS, StringCodec.INSTANCE).readAll()) {
+            Long productId = Long.valueOf(member);
+            long admitted = admit(productId);
+            if (admitted == RESULT_NOT_ARMED) {
+                redissonClient.getSet(FlashSaleKeys.WAITING_ROOM_PRODUCTS, StringCodec.INSTANCE).remove(member);
+                log.info("[WaitingRoom] 판매 정보가 없어 대기열 대상에서 제외. productId={}", productId);
+                continue;
+            }
+            if (admitted > 0) {
+                log.debug("[WaitingRoom] 입장 처리. productId={}, admitted={}", productId, admitted);
+                total += admitted;
+            }
+        }
+        return total;
+    }
+
+    private long admit(Long productId) {
+        Long admitted = redisScriptExecutor.execute(
+                ADMIT_SCRIPT,
+                RScript.Mode.READ_WRITE,
+                RScript.ReturnType.LONG,
+                List.of(
+                        FlashSaleKeys.info(productId),
+                        FlashSaleKeys.queue(productId),
+                        FlashSaleKeys.admitted(productId),
+                        FlashSaleKeys.admitClock(productId)
+                ),
+                String.valueOf(admissionTtl.toMillis()),
+                String.valueOf(burst.toMillis()),
+                String.valueOf(Duration.ofHours(24).toMillis())
+        );
+        return admitted == null ? 0 : admitted;
+    }
+
+    private long estimateWaitSeconds(long position, long admitRate) {
+        return admitRate <= 0 ? 0 : (position + admitRate - 1) / admitRate;
+    }
+}
@@ -1,34 +1,45 @@
 package com.booster.queryburst.order.application;
 
 import com.booster.common.JsonUtils;
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
 import com.booster.queryburst.order.application.dto.OrderResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * 멱등성 키 관리 서비스.
  *
  * <h2>Redis 키 구조</h2>
  * <pre>
- * IDEMPOTENCY:{key}
- *   → {"status":"PROCESSING"}                                  (처리 중, TTL=5분)
- *   → {"status":"COMPLETED","orderId":1,"totalAmount":50000}   (완료, TTL=24시간)
+ * IDEMPOTENCY:v2:{key}   (StringCodec)
+ *   → P                       (처리 중, TTL=5분)
+ *   → C:{orderId}:{totalAmount} (완료, TTL=24시간)  예: C:1893:50000
  * </pre>
+ * JSON 대신 구분자 기반 문자열로 저장하여 직렬화 비용과 저장 크기를 줄인다.
+ *
+ * <h2>이전 형식 호환</h2>
+ * 이전 버전은 IDEMPOTENCY:{key}에 기본 코덱으로 JSON({"status":...})을 저장했다.
+ * 형식이 달라 같은 키를 StringCodec으로 읽을 수 없으므로 새 접두사를 쓰고,
+ * 새 키를 선점한 경우에만 이전 키를 한 번 더 확인한다. 이전 키는 최대 24시간 뒤 만료되므로
+ * 배포 후 24시간이 지나면 {@link #checkLegacy} 경로는 제거해도 된다.
  *
  * <h2>흐름</h2>
  * <pre>
- * 1. checkAndMarkProcessing(key)
- *    - 키 없음          → PROCESSING 마킹 후 Proceed 반환
- *    - PROCESSING 존재  → AlreadyProcessing 반환 (클라이언트 409)
- *    - COMPLETED 존재   → AlreadyCompleted(캐시 결과) 반환
+ * 1. checkAndMarkProcessing(key) — Lua 1회 (reserve-or-return)
+ *    - 키 없음          → P로 선점 후 Proceed 반환
+ *    - P 존재           → AlreadyProcessing 반환 (클라이언트 409)
+ *    - C:... 존재       → AlreadyCompleted(저장된 결과) 반환
  *
- * 2. markCompleted(key, result)
- *    - 주문 완료 후 호출. COMPLETED 상태로 덮어쓰고 TTL 연장.
+ * 2. markCompleted(key, result) — SET PX 1회
+ *    - 주문 완료 후 호출. 완료 값으로 덮어쓰고 TTL 연장.
  * </pre>
  */
 @Slf4j
@@ -36,41 +47,47 @@ import java.time.Duration;
 @RequiredArgsConstructor
 public class IdempotencyService {
 
-    private static final String KEY_PREFIX = "IDEMPOTENCY:";
+    private static final String KEY_PREFIX = "IDEMPOTENCY:v2:";
+    private static final String LEGACY_KEY_PREFIX = "IDEMPOTENCY:";
     private static final Duration PROCESSING_TTL = Duration.ofMinutes(5);
     private static final Duration COMPLETED_TTL = Duration.ofHours(24);
 
-    private static final String STATUS_PROCESSING = "PROCESSING";
-    private static final String STATUS_COMPLETED  = "COMPLETED";
+    private static final String STATUS_PROCESSING = "P";
+    private static final String COMPLETED_PREFIX = "C:";
+    private static final String LEGACY_STATUS_COMPLETED = "COMPLETED";
+
+    /**
+     * 키가 없으면 PROCESSING으로 선점하고 nil, 있으면 저장된 값을 반환한다.
+     * 스크립트 실행 중에는 키가 만료되지 않으므로 SET NX 실패 후 GET 사이의 레이스가 없다.
+     */
+    private static final String RESERVE_OR_GET_SCRIPT = """
+            if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return false
+            end
+            return redis.call('GET', KEYS[1])
+            """;
 
     private final RedissonClient redissonClient;
+    private final RedisScriptExecutor redisScriptExecutor;
 
     public IdempotencyCheck checkAndMarkProcessing(String idempotencyKey) {
-        RBucket<String> bucket = redissonClient.getBucket(KEY_PREFIX + idempotencyKey);
-
-        // SET NX: 키가 없을 때만 PROCESSING으로 세팅
-        IdempotencyRecord processing = new IdempotencyRecord(STATUS_PROCESSING, null, null);
-        boolean isNew = bucket.setIfAbsent(JsonUtils.toJson(processing), PROCESSING_TTL);
+        String existing = redisScriptExecutor.execute(
+                RESERVE_OR_GET_SCRIPT,
+                RScript.Mode.READ_WRITE,
+                RScript.ReturnType.VALUE,
+                List.of(KEY_PREFIX + idempotencyKey),
+                STATUS_PROCESSING,
+                String.valueOf(PROCESSING_TTL.toMillis())
+        );
 
-        if (isNew) {
-            log.debug("[Idempotency] 새 요청 등록. key={}", idempotencyKey);
-            return new IdempotencyCheck.Proceed();
-        }
-
-        // 이미 키가 존재 → PROCESSING or COMPLETED 판별
-        String existing = bucket.get();
         if (existing == null) {
-            // TTL 만료 후 극히 드문 레이스 케이스: 다시 PROCESSING으로 시도
-            return checkAndMarkProcessing(idempotencyKey);
+            return checkLegacy(idempotencyKey);
         }
 
-        IdempotencyRecord record = JsonUtils.fromJson(existing, IdempotencyRecord.class);
-
-        if (STATUS_COMPLETED.equals(record.status())) {
-            log.debug("[Idempotency] 이미 완료된 요청. key={}, orderId={}", idempotencyKey, record.orderId());
-            return new IdempotencyCheck.AlreadyCompleted(
-                    new OrderResult(record.orderId(), record.totalAmount())
-            );
+        if (existing.startsWith(COMPLETED_PREFIX)) {
+            OrderResult result = decodeCompleted(existing);
+            log.debug("[Idempotency] 이미 완료된 요청. key={}, orderId={}", idempotencyKey, result.orderId());
+            return new IdempotencyCheck.AlreadyCompleted(result);
         }
 
         log.warn("[Idempotency] 중복 요청 감지 (처리 중). key={}", idempotencyKey);
@@ -78,12 +95,48 @@ public class IdempotencyService {
     }
 
     public void markCompleted(String idempotencyKey, OrderResult result) {
-        RBucket<String> bucket = redissonClient.getBucket(KEY_PREFIX + idempotencyKey);
-        IdempotencyRecord completed = new IdempotencyRecord(STATUS_COMPLETED, result.orderId(), result.totalAmount());
-        bucket.set(JsonUtils.toJson(completed), COMPLETED_TTL);
+        redissonClient.getBucket(KEY_PREFIX + idempotencyKey, StringCodec.INSTANCE)
+                .set(encodeCompleted(result), COMPLETED_TTL);
         log.debug("[Idempotency] 완료 마킹. key={}, orderId={}", idempotencyKey, result.orderId());
     }
 
-    // Redis 저장용 내부 레코드 (JsonUtils.MAPPER로 직렬화)
-    public record IdempotencyRecord(String status, Long orderId, Long totalAmount) {}
+    /**
+     * 새 키를 선점한 뒤 이전 형식 키를 확인한다.
+     * 이전 키가 완료 상태면 결과를 새 형식으로 옮기고, 처리 중이면 선점을 되돌려 이전 보유자의 완료를 기다린다.
+     */
+    private IdempotencyCheck checkLegacy(String idempotencyKey) {
+        RBucket<String> legacyBucket = redissonClient.getBucket(LEGACY_KEY_PREFIX + idempotencyKey);
+        String legacy = legacyBucket.get();
+        if (legacy == null) {
+            log.debug("[Idempotency] 새 요청 등록. key={}", idempotencyKey);
+            return new IdempotencyCheck.Proceed();
+        }
+
+        LegacyRecord record = JsonUtils.fromJson(legacy, LegacyRecord.class);
+        if (LEGACY_STATUS_COMPLETED.equals(record.status())) {
+            OrderResult result = new OrderResult(record.orderId(), record.totalAmount());
+            markCompleted(idempotencyKey, result);
+            log.debug("[Idempotency] 이미 완료된 요청 (이전 형식). key={}, orderId={}", idempotencyKey, result.orderId());
+            return new IdempotencyCheck.AlreadyCompleted(result);
+        }
+
+        redissonClient.getBucket(KEY_PREFIX + idempotencyKey, StringCodec.INSTANCE).delete();
+        log.warn("[Idempotency] 중복 요청 감지 (이전 형식, 처리 중). key={}", idempotencyKey);
+        return new IdempotencyCheck.AlreadyProcessing();
+    }
+
+    private String encodeCompleted(OrderResult result) {
+        return COMPLETED_PREFIX + result.orderId() + ":" + result.totalAmount();
+    }
+
+    private OrderResult decodeCompleted(String value) {
+        int separator = value.indexOf(':', COMPLETED_PREFIX.length());
+        return new OrderResult(
+                Long.parseLong(value, COMPLETED_PREFIX.length(), separator, 10),
+                Long.parseLong(value, separator + 1, value.length(), 10)
+        );
+    }
+
+    // 이전 버전이 기본 코덱으로 저장한 JSON 레코드 (읽기 전용)
+    record LegacyRecord(String status, Long orderId, Long totalAmount) {}
 }
@@ -2,7 +2,7 @@ package com.booster.queryburst.order.application;
 
 import com.booster.queryburst.common.ratelimit.DistributedRateLimit;
 import com.booster.queryburst.lock.DistributedLock;
-import com.booster.queryburst.lock.FencingToken;
+import com.booster.queryburst.lock.MultiLock;
 import com.booster.queryburst.lock.RedisUnavailableException;
 import com.booster.queryburst.order.application.dto.OrderCreateCommand;
 import com.booster.queryburst.order.application.dto.OrderItemCommand;
@@ -16,7 +16,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,7 +37,7 @@ import java.util.Map;
  *   │    ├─ AlreadyCompleted  → 캐시 결과 즉시 반환
  *   │    └─ AlreadyProcessing → DuplicateRequestException
  *   │
- *   ├─ Redis 분산 락 획득 시도
+ *   ├─ Redis 다중 키 분산 락 획득 시도 (Lua 1회로 전체 락 + 펜싱 토큰)
  *   │    └─ RedisUnavailableException → DB 비관적 락 Fallback
  *   │
  *   └─ 완료 후 idempotencyKey 있으면 markCompleted
@@ -50,7 +49,9 @@ import java.util.Map;
 public class OrderFacade {
 
     private static final Duration LOCK_TTL = Duration.ofSeconds(5);
+    // 해시 태그는 RedisDistributedLock이 키 전체에 붙인다 (LOCK:{product:42:stock}, FENCE:{product:42:stock})
     private static final String LOCK_KEY_PREFIX = "product:%d:stock";
+    private static final String LOCK_FAMILY = "product:*:stock";
 
     private final DistributedLock distributedLock;
     private final OrderService orderService;
@@ -112,14 +113,13 @@ public class OrderFacade {
                 .map(id -> LOCK_KEY_PREFIX.formatted(id))
                 .toList();
 
-        Map<Long, Long> fencingTokens = new HashMap<>();
-        List<FencingToken> acquiredTokens = new ArrayList<>();
+        // 전체 락 + 펜싱 토큰을 한 번에 획득 (all-or-nothing)
+        MultiLock lock = distributedLock.tryLockAll(LOCK_FAMILY, lockKeys, LOCK_TTL);
 
         try {
+            Map<Long, Long> fencingTokens = new HashMap<>();
             for (int i = 0; i < productIds.size(); i++) {
-                FencingToken token = distributedLock.tryLock(lockKeys.get(i), LOCK_TTL);
-                acquiredTokens.add(token);
-                fencingTokens.put(productIds.get(i), token.value());
+                fencingTokens.put(productIds.get(i), lock.tokenAt(i).value());
             }
 
             List<OrderItemCommand> itemCommands = toItemCommands(request);
@@ -127,10 +127,8 @@ public class OrderFacade {
                     request.memberId(), itemCommands, fencingTokens));
 
         } finally {
-            // 역순 해제 (Redis 장애 시 unlock 내부에서 swallow)
-            for (int i = acquiredTokens.size() - 1; i >= 0; i--) {
-                distributedLock.unlock(lockKeys.get(i), acquiredTokens.get(i));
-            }
+            // 일괄 해제 (Redis 장애 시 unlockAll 내부에서 swallow)
+            distributedLock.unlockAll(lock);
         }
     }
 
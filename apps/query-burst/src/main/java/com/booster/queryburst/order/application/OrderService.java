@@ -3,22 +3,34 @@ package com.booster.queryburst.order.application;
 import com.booster.common.JsonUtils;
 import com.booster.common.SnowflakeGenerator;
 import com.booster.queryburst.member.domain.Member;
+import com.booster.queryburst.member.application.MemberSummaryCache;
+import com.booster.queryburst.member.application.dto.MemberSummary;
 import com.booster.queryburst.member.domain.MemberRepository;
 import com.booster.queryburst.order.application.dto.*;
 import com.booster.queryburst.order.domain.*;
 import com.booster.queryburst.order.domain.outbox.OutboxEvent;
 import com.booster.queryburst.order.domain.outbox.OutboxEventRepository;
 import com.booster.queryburst.order.event.OrderEventPayload;
+import com.booster.queryburst.product.domain.CategoryProductCountDelta;
+import com.booster.queryburst.product.domain.CategoryProductCountRepository;
 import com.booster.queryburst.product.domain.Product;
 import com.booster.queryburst.product.domain.ProductRepository;
+import com.booster.queryburst.product.domain.ProductStatus;
+import com.booster.queryburst.statistics.domain.MonthlySalesSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -31,12 +43,56 @@ public class OrderService {
     private final OrderItemRepository orderItemRepository;
     private final OrderItemQueryRepository orderItemQueryRepository;
     private final MemberRepository memberRepository;
+    private final MemberSummaryCache memberSummaryCache;
     private final ProductRepository productRepository;
     private final OutboxEventRepository outboxEventRepository;
+    private final OrderBulkRepository orderBulkRepository;
+    private final MonthlySalesSummaryRepository monthlySalesSummaryRepository;
+    private final CategoryProductCountRepository categoryProductCountRepository;
 
+    /**
+     * 주문 목록 (member 조인 없음) + 페이지 단위 회원 표시 정보 일괄 조회 (MemberSummaryCache).
+     */
     @Transactional(readOnly = true)
     public List<OrderSummaryResult> getOrders(Long cursorId, Long memberId, OrderStatus status, int size) {
-        return orderQueryRepository.findByCursor(cursorId, memberId, status, size);
+        return withMemberNames(orderQueryRepository.findByCursor(cursorId, memberId, status, size));
+    }
+
+    /**
+     * 커버링 인덱스 keyset 목록 + 페이지 단위 회원 표시 정보 일괄 조회 (커서 깊이와 무관).
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummaryResult> getOrdersByKeyset(
+            LocalDateTime cursorOrderedAt,
+            Long cursorId,
+            Long memberId,
+            OrderStatus status,
+            int size
+    ) {
+        return withMemberNames(
+                orderQueryRepository.findByKeyset(cursorOrderedAt, cursorId, memberId, status, size));
+    }
+
+    /**
+     * 회원 이름은 MemberSummaryCache에서 일괄 조회한다. 로컬/Redis에 있으면 member 테이블을 읽지 않는다.
+     */
+    private List<OrderSummaryResult> withMemberNames(List<OrderListRow> rows) {
+        Map<Long, MemberSummary> members = memberSummaryCache.getAll(
+                rows.stream().map(OrderListRow::memberId).collect(Collectors.toSet()));
+
+        return rows.stream()
+                .map(row -> {
+                    MemberSummary member = members.get(row.memberId());
+                    return new OrderSummaryResult(
+                            row.orderId(),
+                            row.memberId(),
+                            member != null ? member.name() : null,
+                            row.status(),
+                            row.totalAmount(),
+                            row.orderedAt()
+                    );
+                })
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -57,9 +113,25 @@ public class OrderService {
         );
     }
 
+    /**
+     * 월별 매출 롤업(monthly_sales_summary)에서 조회한다. 월 단위 집계이므로 from/to가 속한 달 전체가 포함된다.
+     */
     @Transactional(readOnly = true)
     public List<MonthlySalesResult> getMonthlySales(LocalDateTime from, LocalDateTime to) {
-        return orderQueryRepository.findMonthlySales(from, to);
+        return monthlySalesSummaryRepository.findByYearMonthBetween(toYearMonthKey(from), toYearMonthKey(to))
+                .stream()
+                .map(summary -> new MonthlySalesResult(
+                        summary.getSalesYear(),
+                        summary.getSalesMonth(),
+                        summary.getOrderCount(),
+                        summary.getTotalRevenue()
+                ))
+                .toList();
+    }
+
+    private int toYearMonthKey(LocalDateTime dateTime) {
+        YearMonth month = YearMonth.from(dateTime);
+        return month.getYear() * 100 + month.getMonthValue();
     }
 
     @Transactional(readOnly = true)
@@ -72,8 +144,6 @@ public class OrderService {
                 SnowflakeGenerator.nextId(),
                 command.memberId(),
                 command.items(),
-                item -> productRepository.findByIdWithLock(item.productId())
-                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + item.productId())),
                 (product, item) -> {
                     long fenceToken = command.fencingTokens().getOrDefault(item.productId(), 0L);
                     product.decreaseStock(item.quantity(), fenceToken);
@@ -86,8 +156,6 @@ public class OrderService {
                 SnowflakeGenerator.nextId(),
                 memberId,
                 items,
-                item -> productRepository.findByIdWithLock(item.productId())
-                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + item.productId())),
                 (product, item) -> product.decreaseStockFallback(item.quantity())
         );
     }
@@ -97,12 +165,95 @@ public class OrderService {
                 orderId,
                 memberId,
                 items,
-                item -> productRepository.findByIdWithLock(item.productId())
-                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + item.productId())),
                 (product, item) -> product.decreaseStockFallback(item.quantity())
         );
     }
 
+    /**
+     * 동일 상품 플래시 세일 주문 배치 생성.
+     *
+     * <pre>
+     * 1. 상품 행 비관적 락 1회 (주문 건수와 무관)
+     * 2. 이미 생성된 주문(재전송) / 존재하지 않는 회원을 IN 쿼리로 일괄 판별
+     * 3. 잔여 재고 범위 내에서 요청 순서대로 배정 → 재고 차감은 합산 수량으로 1회
+     * 4. orders / order_item / outbox_event를 JDBC batch로 일괄 INSERT
+     * </pre>
+     *
+     * 레코드 단위 실패(회원 없음, 재고 부족)는 예외 없이 failedOrderIds로 반환하고 나머지는 커밋한다.
+     * 예외가 발생하면 트랜잭션 전체가 롤백되므로 호출자는 배치 전체를 실패로 처리해야 한다.
+     */
+    public FlashSaleBatchResult createFlashSaleOrders(Long productId, List<FlashSaleOrderCommand> commands) {
+        Product product = productRepository.findByIdWithLock(productId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + productId));
+
+        Set<Long> existingOrderIds = new HashSet<>(orderRepository.findExistingIds(
+                commands.stream().map(FlashSaleOrderCommand::orderId).toList()));
+        Set<Long> existingMemberIds = new HashSet<>(memberRepository.findExistingIds(
+                commands.stream().map(FlashSaleOrderCommand::memberId).distinct().toList()));
+
+        List<Long> succeeded = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        List<FlashSaleOrderCommand> accepted = new ArrayList<>();
+        int remainingStock = product.getStock();
+
+        for (FlashSaleOrderCommand command : commands) {
+            if (existingOrderIds.contains(command.orderId())) {
+                succeeded.add(command.orderId());
+                continue;
+            }
+            if (!existingMemberIds.contains(command.memberId()) || remainingStock < command.quantity()) {
+                log.warn("[FlashSale] 주문 생성 불가. orderId={}, memberId={}, quantity={}, remainingStock={}",
+                        command.orderId(), command.memberId(), command.quantity(), remainingStock);
+                failed.add(command.orderId());
+                continue;
+            }
+            remainingStock -= command.quantity();
+            accepted.add(command);
+            succeeded.add(command.orderId());
+        }
+
+        if (accepted.isEmpty()) {
+            return new FlashSaleBatchResult(succeeded, failed);
+        }
+
+        ProductStatus statusBefore = product.getStatus();
+        product.decreaseStockFallback(accepted.stream().mapToInt(FlashSaleOrderCommand::quantity).sum());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CategoryProductCountDelta> statusChanges = new ArrayList<>(2);
+        collectStatusChange(product, statusBefore, statusChanges);
+        if (!statusChanges.isEmpty()) {
+            categoryProductCountRepository.applyDeltas(statusChanges, now);
+        }
+        List<Orders> orders = new ArrayList<>(accepted.size());
+        List<OrderItem> orderItems = new ArrayList<>(accepted.size());
+        List<OutboxEvent> outboxEvents = new ArrayList<>(accepted.size());
+
+        for (FlashSaleOrderCommand command : accepted) {
+            long totalAmount = product.getPrice() * command.quantity();
+            Orders order = Orders.createWithId(
+                    command.orderId(), memberRepository.getReferenceById(command.memberId()), totalAmount, now);
+            OrderItem orderItem = OrderItem.create(order, product, command.quantity(), product.getPrice());
+
+            orders.add(order);
+            orderItems.add(orderItem);
+            outboxEvents.add(OutboxEvent.create(
+                    "ORDER",
+                    order.getId(),
+                    "ORDER_CREATED",
+                    toJson(buildFlashSaleCreatedPayload(order, orderItem, now))
+            ));
+        }
+
+        orderBulkRepository.insertOrders(orders, now);
+        orderBulkRepository.insertOrderItems(orderItems, now);
+        orderBulkRepository.insertOutboxEvents(outboxEvents, now);
+
+        log.info("[FlashSale] 배치 주문 생성 완료. productId={}, created={}, failed={}",
+                productId, accepted.size(), failed.size());
+        return new FlashSaleBatchResult(succeeded, failed);
+    }
+
     public void pay(Long orderId) {
         Orders order = getOrderOrThrow(orderId);
         order.pay();
@@ -134,25 +285,35 @@ public class OrderService {
         ));
     }
 
+    /**
+     * 주문 생성 공통 로직.
+     *
+     * 주문 상품은 {@link #loadProductsForUpdate}로 쿼리 1회에 잠그고 카테고리까지 로딩한다.
+     * 상품 수만큼 락 조회/지연 로딩이 반복되지 않아 행 락 보유 시간이 장바구니 크기에 비례해 늘지 않는다.
+     */
     private OrderResult createOrderInternal(
             Long orderId,
             Long memberId,
             List<OrderItemCommand> items,
-            ProductLoader productLoader,
             StockDecrement stockDecrement
     ) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 회원입니다. id=" + memberId));
 
+        Map<Long, Product> products = loadProductsForUpdate(items);
+
         List<OrderItem> orderItems = new ArrayList<>();
+        List<CategoryProductCountDelta> statusChanges = new ArrayList<>();
         long totalAmount = 0L;
 
         Orders order = Orders.createWithId(orderId, member, 0L, LocalDateTime.now());
         orderRepository.save(order);
 
         for (OrderItemCommand item : items) {
-            Product product = productLoader.load(item);
+            Product product = products.get(item.productId());
+            ProductStatus statusBefore = product.getStatus();
             stockDecrement.decrease(product, item);
+            collectStatusChange(product, statusBefore, statusChanges);
 
             OrderItem orderItem = OrderItem.create(order, product, item.quantity(), product.getPrice());
             orderItems.add(orderItem);
@@ -161,6 +322,9 @@ public class OrderService {
 
         orderItemRepository.saveAll(orderItems);
         order.updateTotalAmount(totalAmount);
+        if (!statusChanges.isEmpty()) {
+            categoryProductCountRepository.applyDeltas(statusChanges, LocalDateTime.now());
+        }
 
         outboxEventRepository.save(OutboxEvent.create(
                 "ORDER",
@@ -172,6 +336,36 @@ public class OrderService {
         return new OrderResult(order.getId(), totalAmount);
     }
 
+    private Map<Long, Product> loadProductsForUpdate(List<OrderItemCommand> items) {
+        List<Long> productIds = items.stream()
+                .map(OrderItemCommand::productId)
+                .distinct()
+                .sorted()
+                .toList();
+
+        Map<Long, Product> products = productRepository.findAllByIdWithCategoryForUpdate(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다. id=" + productId);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * 재고 소진으로 상품 상태가 SOLD_OUT으로 바뀌면 카테고리별 상품 수 카운터도 상태를 옮긴다.
+     */
+    private void collectStatusChange(Product product, ProductStatus before, List<CategoryProductCountDelta> changes) {
+        if (product.getStatus() == before) {
+            return;
+        }
+        Long categoryId = product.getCategory().getId();
+        changes.add(CategoryProductCountDelta.removed(categoryId, before));
+        changes.add(CategoryProductCountDelta.added(categoryId, product.getStatus()));
+    }
+
     private Orders getOrderOrThrow(Long orderId) {
         return orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다. id=" + orderId));
@@ -207,10 +401,29 @@ public class OrderService {
                 order.getTotalAmount(),
                 order.getStatus().name(),
                 LocalDateTime.now(),
+                order.getOrderedAt(),
                 itemPayloads
         );
     }
 
+    private OrderEventPayload buildFlashSaleCreatedPayload(Orders order, OrderItem item, LocalDateTime occurredAt) {
+        return new OrderEventPayload(
+                "ORDER_CREATED",
+                order.getId(),
+                order.getMember().getId(),
+                order.getTotalAmount(),
+                order.getStatus().name(),
+                occurredAt,
+                order.getOrderedAt(),
+                List.of(new OrderEventPayload.OrderItemPayload(
+                        item.getProduct().getId(),
+                        item.getProduct().getCategory().getId(),
+                        item.getQuantity(),
+                        item.getUnitPrice()
+                ))
+        );
+    }
+
     private String toJson(OrderEventPayload payload) {
         try {
             return JsonUtils.MAPPER.writeValueAsString(payload);
@@ -219,10 +432,6 @@ public class OrderService {
         }
     }
 
-    private interface ProductLoader {
-        Product load(OrderItemCommand item);
-    }
-
     private interface StockDecrement {
         void decrease(Product product, OrderItemCommand item);
     }
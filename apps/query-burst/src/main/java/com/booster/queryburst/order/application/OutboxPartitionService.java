@@ -0,0 +1,152 @@
+package com.booster.queryburst.order.application;
+
+import com.booster.queryburst.order.domain.outbox.OutboxPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * outbox_event 일 단위 파티션 운영 서비스.
+ *
+ * <h2>흐름</h2>
+ * <pre>
+ * 기동 시 (모든 싱글톤 생성 후, 스케줄러 시작 전)
+ *   → 일반 테이블이고 convert-on-startup=true면 파티션 테이블로 전환 (발행 대기 + 보관 기간 내 행만 이관)
+ *   → 파티션 테이블이면 오늘 ~ aheadDays일 뒤 파티션 생성
+ * 매일 (OutboxCleanupScheduler)
+ *   → 앞으로 쓸 파티션 생성
+ *   → 보관 기간이 지난 파티션을 DETACH CONCURRENTLY + DROP (중단된 분리는 FINALIZE 후 DROP)
+ * </pre>
+ * 행 단위 DELETE 대신 파티션을 통째로 버리므로 WAL 폭증, 테이블 bloat, autovacuum 부담이 없다.
+ *
+ * PostgreSQL이 아니거나(local H2) outbox.partition.enabled=false면 파티션을 쓰지 않고,
+ * 정리 스케줄러는 기존 벌크 DELETE로 동작한다.
+ *
+ * <h2>전환</h2>
+ * 전환은 ACCESS EXCLUSIVE 락을 잡은 채 INSERT ... SELECT와 DROP을 수행하므로 그동안 주문 INSERT와 릴레이 폴링이 멈춘다.
+ * 운영 중인 테이블이 기동만으로 잠기지 않도록 outbox.partition.convert-on-startup=true일 때만 전환하며,
+ * 점검 시간에 한 인스턴스만 이 설정으로 기동해 전환한 뒤 설정을 되돌린다.
+ * 전환 전에는 파티션 테이블이 아니므로 벌크 DELETE 정리로 동작한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxPartitionService implements SmartInitializingSingleton {
+
+    /** PUBLISHED 이벤트 보관 기간. 파티션 모드에서는 생성일 기준, 벌크 DELETE 모드에서는 발행일 기준이다. */
+    public static final Duration RETENTION = Duration.ofDays(7);
+
+    private final OutboxPartitionRepository outboxPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.partition.convert-on-startup:false}")
+    private boolean convertOnStartup;
+
+    @Value("${outbox.partition.ahead-days:7}")
+    private int aheadDays;
+
+    private volatile boolean partitioned;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || !outboxPartitionRepository.isPostgreSql()) {
+            log.info("[OutboxPartition] 파티션 미사용. PUBLISHED 정리는 벌크 DELETE로 수행합니다.");
+            return;
+        }
+
+        try {
+            if (!outboxPartitionRepository.isPartitioned()) {
+                if (!convertOnStartup) {
+                    log.info("[OutboxPartition] outbox_event가 파티션 테이블이 아닙니다. "
+                            + "점검 시간에 outbox.partition.convert-on-startup=true로 기동해 전환하세요. 그 전까지 벌크 DELETE로 정리합니다.");
+                    return;
+                }
+                convertToPartitioned();
+            }
+            partitioned = true;
+            createUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("[OutboxPartition] 파티션 준비 실패. 벌크 DELETE 정리로 동작합니다.", e);
+        }
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * 오늘부터 aheadDays일 뒤까지 파티션을 만든다. 이미 있으면 건너뛴다.
+     * 파티션이 없는 날짜의 INSERT는 실패하므로 정리 주기(1일)보다 충분히 앞서 만들어 둔다.
+     *
+     * @return 확인한 파티션 수
+     */
+    public int createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day <= aheadDays; day++) {
+            outboxPartitionRepository.createDailyPartition(today.plusDays(day));
+        }
+        return aheadDays + 1;
+    }
+
+    /**
+     * 보관 기간이 지난 파티션을 삭제한다.
+     * 발행이 끝나지 않은 행(PENDING/SENDING/FAILED)이 남은 파티션은 유실을 막기 위해 남겨 두고 경고만 남긴다.
+     * FAILED 이벤트를 재처리하거나 정리하면 다음 실행에서 삭제된다.
+     * 이전 실행이 분리 후 DROP 전에 중단되어 남은 테이블도 함께 삭제한다.
+     *
+     * @return 삭제한 파티션 날짜 목록
+     */
+    public List<LocalDate> retireExpiredPartitions() {
+        LocalDate cutoff = LocalDate.now().minusDays(RETENTION.toDays());
+        List<LocalDate> dropped = new ArrayList<>();
+
+        for (LocalDate date : outboxPartitionRepository.findOrphanedPartitions()) {
+            if (date.isBefore(cutoff)) {
+                outboxPartitionRepository.dropDailyPartition(date);
+                dropped.add(date);
+            }
+        }
+        for (LocalDate date : outboxPartitionRepository.findDailyPartitions()) {
+            if (!date.isBefore(cutoff)) {
+                break;
+            }
+            if (outboxPartitionRepository.hasUnpublished(date)) {
+                log.warn("[OutboxPartition] 미발행 이벤트가 남아 파티션을 유지합니다. date={}", date);
+                continue;
+            }
+            outboxPartitionRepository.dropDailyPartition(date);
+            dropped.add(date);
+        }
+        return dropped;
+    }
+
+    private void convertToPartitioned() {
+        LocalDateTime keepPublishedAfter = LocalDateTime.now().minus(RETENTION);
+        LocalDate lastPartitionDate = LocalDate.now().plusDays(aheadDays);
+
+        Integer moved = transactionTemplate.execute(status -> {
+            outboxPartitionRepository.lockTable();
+            // 락 대기 중 다른 인스턴스가 먼저 전환했을 수 있다
+            if (outboxPartitionRepository.isPartitioned()) {
+                return null;
+            }
+            return outboxPartitionRepository.convertToPartitioned(keepPublishedAfter, lastPartitionDate);
+        });
+
+        if (moved != null) {
+            log.info("[OutboxPartition] outbox_event를 일 단위 파티션 테이블로 전환했습니다. 이관={}건", moved);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.booster.queryburst.order.application;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 시작 샤드를 균등 무작위로 고른다. 요청이 샤드(노드)마다 고르게 퍼진다.
+ */
+@Component
+public class RandomStockShardSelector implements StockShardSelector {
+
+    @Override
+    public int select(Long productId, int shardCount) {
+        return ThreadLocalRandom.current().nextInt(shardCount);
+    }
+}
@@ -0,0 +1,15 @@
+package com.booster.queryburst.order.application;
+
+/**
+ * 샤딩된 플래시 세일 재고에서 재고 선점을 시작할 샤드를 고른다.
+ *
+ * 시작 샤드가 비어 있으면 {@link FlashSaleShardedStock}이 다음 샤드부터 순서대로 가져온다.
+ * 기본 구현은 {@link RandomStockShardSelector}이며, 고정 순서가 필요한 검증 환경에서는 @Primary 빈으로 교체한다.
+ */
+public interface StockShardSelector {
+
+    /**
+     * @return 0 이상 shardCount 미만의 시작 샤드 번호
+     */
+    int select(Long productId, int shardCount);
+}
@@ -0,0 +1,18 @@
+package com.booster.queryburst.order.application.dto;
+
+import java.util.List;
+
+/**
+ * 플래시 세일 배치 주문 처리 결과.
+ *
+ * succeededOrderIds: 주문 생성 완료 (이미 생성된 주문의 재전송 포함)
+ * failedOrderIds   : 회원 없음/재고 부족/DB 오류로 생성 실패 → Redis 재고 보상 대상
+ */
+public record FlashSaleBatchResult(
+        List<Long> succeededOrderIds,
+        List<Long> failedOrderIds
+) {
+    public static FlashSaleBatchResult allFailed(List<Long> orderIds) {
+        return new FlashSaleBatchResult(List.of(), orderIds);
+    }
+}
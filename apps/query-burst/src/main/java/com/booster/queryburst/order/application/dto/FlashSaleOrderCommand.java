@@ -0,0 +1,8 @@
+package com.booster.queryburst.order.application.dto;
+
+public record FlashSaleOrderCommand(
+        Long orderId,
+        Long memberId,
+        Long productId,
+        int quantity
+) {}
@@ -3,8 +3,7 @@ package com.booster.queryburst.order.application.dto;
 /**
  * 월별 매출 집계 결과.
  *
- * 쿼리 실습: DATE_TRUNC('month', ordered_at) + GROUP BY
- * 인덱스: idx_orders_status_ordered_at (status, ordered_at) — 배송완료 상태 필터 + 기간 조회
+ * 배송 완료(DELIVERED) 주문 기준. monthly_sales_summary 롤업 테이블에서 월당 1행을 읽는다.
  */
 public record MonthlySalesResult(
         int year,
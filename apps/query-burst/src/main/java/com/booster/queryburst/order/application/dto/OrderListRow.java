@@ -0,0 +1,17 @@
+package com.booster.queryburst.order.application.dto;
+
+import com.booster.queryburst.order.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 커버링 인덱스만으로 조회하는 주문 목록 행 (회원 표시 정보 제외).
+ */
+public record OrderListRow(
+        Long orderId,
+        Long memberId,
+        OrderStatus status,
+        Long totalAmount,
+        LocalDateTime orderedAt
+) {
+}
@@ -0,0 +1,35 @@
+package com.booster.queryburst.order.application.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 플래시 세일 대기열 상태.
+ *
+ * status              : WAITING(대기 중) / ADMITTED(주문 가능) / NOT_IN_QUEUE(미등록 또는 입장 시간 만료)
+ * position            : 1부터 시작하는 대기 순위 (WAITING일 때만 의미 있음)
+ * estimatedWaitSeconds: position / 초당 입장 인원 (올림)
+ * admissionExpiresAt  : 입장 허용 만료 시각 (ADMITTED일 때만)
+ */
+public record WaitingRoomTicket(
+        Long productId,
+        Long memberId,
+        String status,
+        long position,
+        long estimatedWaitSeconds,
+        LocalDateTime admissionExpiresAt
+) {
+    public static WaitingRoomTicket waiting(Long productId, Long memberId, long position, long estimatedWaitSeconds) {
+        return new WaitingRoomTicket(productId, memberId, "WAITING", position, estimatedWaitSeconds, null);
+    }
+
+    public static WaitingRoomTicket admitted(Long productId, Long memberId, long expiresAtEpochMillis) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtEpochMillis), ZoneId.systemDefault());
+        return new WaitingRoomTicket(productId, memberId, "ADMITTED", 0, 0, expiresAt);
+    }
+
+    public static WaitingRoomTicket notInQueue(Long productId, Long memberId) {
+        return new WaitingRoomTicket(productId, memberId, "NOT_IN_QUEUE", 0, 0, null);
+    }
+}
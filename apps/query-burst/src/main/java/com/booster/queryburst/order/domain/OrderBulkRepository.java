@@ -0,0 +1,78 @@
+package com.booster.queryburst.order.domain;
+
+import com.booster.queryburst.order.domain.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 대량 INSERT 전용 리포지토리 (JDBC batch).
+ *
+ * Snowflake ID를 직접 할당하는 엔티티는 JpaRepository.saveAll() 시 merge 경로를 타서
+ * 건마다 SELECT가 선행된다. 배치 주문 경로에서는 JdbcTemplate.batchUpdate로 직접 INSERT하여
+ * reWriteBatchedInserts=true 환경에서 multi-row INSERT 한 번으로 처리한다.
+ *
+ * ON CONFLICT (id) DO NOTHING: 동일 주문 재전송 시에도 중복 행이 생기지 않는다.
+ * outbox_event는 파티션 테이블로 전환되면 PK가 (id, created_at)이라 (id) 충돌 대상이 없으므로 절을 두지 않는다.
+ * 이벤트 ID는 매번 새로 발급하는 Snowflake ID라 충돌하지 않고, 주문 중복은 호출자가 미리 걸러낸다.
+ * 호출하는 트랜잭션에 참여하며, 엔티티의 auditing 필드 대신 전달받은 now를 기록한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBulkRepository {
+
+    private static final String ORDER_SQL =
+            "INSERT INTO orders (id, member_id, status, total_amount, ordered_at, created_at, updated_at) VALUES (?,?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
+
+    private static final String ORDER_ITEM_SQL =
+            "INSERT INTO order_item (id, order_id, product_id, quantity, unit_price, created_at, updated_at) VALUES (?,?,?,?,?,?,?) ON CONFLICT (id) DO NOTHING";
+
+    private static final String OUTBOX_SQL =
+            "INSERT INTO outbox_event (id, aggregate_type, aggregate_id, event_type, payload, status, retry_count, created_at, updated_at) VALUES (?,?,?,?,?,?,?,?,?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertOrders(List<Orders> orders, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(ORDER_SQL, orders.stream()
+                .map(order -> new Object[]{
+                        order.getId(),
+                        order.getMember().getId(),
+                        order.getStatus().name(),
+                        order.getTotalAmount(),
+                        order.getOrderedAt(),
+                        now, now
+                })
+                .toList());
+    }
+
+    public void insertOrderItems(List<OrderItem> items, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(ORDER_ITEM_SQL, items.stream()
+                .map(item -> new Object[]{
+                        item.getId(),
+                        item.getOrder().getId(),
+                        item.getProduct().getId(),
+                        item.getQuantity(),
+                        item.getUnitPrice(),
+                        now, now
+                })
+                .toList());
+    }
+
+    public void insertOutboxEvents(List<OutboxEvent> events, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(OUTBOX_SQL, events.stream()
+                .map(event -> new Object[]{
+                        event.getId(),
+                        event.getAggregateType(),
+                        event.getAggregateId(),
+                        event.getEventType(),
+                        event.getPayload(),
+                        event.getStatus().name(),
+                        event.getRetryCount(),
+                        now, now
+                })
+                .toList());
+    }
+}
@@ -1,9 +1,9 @@
 package com.booster.queryburst.order.domain;
 
-import com.booster.queryburst.order.application.dto.MonthlySalesResult;
-import com.booster.queryburst.order.application.dto.OrderSummaryResult;
+import com.booster.queryburst.order.application.dto.OrderListRow;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -25,10 +25,12 @@ public class OrderQueryRepository {
      * 커서 기반 주문 목록 조회 (OFFSET 없음).
      *
      * 복합 인덱스 활용:
-     * - memberId 있으면: idx_orders_member_ordered_at (member_id, ordered_at)
-     * - status만 있으면: idx_orders_status_ordered_at (status, ordered_at)
+     * - memberId 있으면: idx_orders_member_keyset (member_id 접두사)
+     * - status만 있으면: idx_orders_status_keyset (status 접두사)
+     *
+     * member 조인 없음. 회원 표시 정보는 호출자가 MemberSummaryCache로 일괄 조회한다.
      */
-    public List<OrderSummaryResult> findByCursor(Long cursorId, Long memberId, OrderStatus status, int size) {
+    public List<OrderListRow> findByCursor(Long cursorId, Long memberId, OrderStatus status, int size) {
         BooleanBuilder condition = new BooleanBuilder();
 
         if (cursorId != null) {
@@ -42,22 +44,67 @@ public class OrderQueryRepository {
         }
 
         return queryFactory
-                .select(Projections.constructor(OrderSummaryResult.class,
+                .select(Projections.constructor(OrderListRow.class,
                         orders.id,
-                        member.id,
-                        member.name,
+                        orders.member.id,
                         orders.status,
                         orders.totalAmount,
                         orders.orderedAt
                 ))
                 .from(orders)
-                .join(orders.member, member)
                 .where(condition)
                 .orderBy(orders.id.desc())
                 .limit(size + 1L)
                 .fetch();
     }
 
+    /**
+     * 복합 커서(ordered_at, id) keyset 주문 목록 조회 — member 조인 없음.
+     *
+     * 조회 컬럼이 모두 인덱스에 포함되어 Index Only Scan으로 처리된다.
+     * - memberId 있으면: idx_orders_member_keyset (member_id, ordered_at DESC, id DESC, status, total_amount)
+     * - status만 있으면: idx_orders_status_keyset (status, ordered_at DESC, id DESC, member_id, total_amount)
+     * - 필터 없으면:     idx_orders_keyset (ordered_at DESC, id DESC, member_id, status, total_amount)
+     *
+     * 커서 조건은 행 값 비교 (ordered_at, id) < (?, ?)로 작성하여 인덱스 범위 탐색 한 번으로 시작 위치를 찾는다.
+     * 회원 표시 정보는 호출자가 페이지 단위로 일괄 조회한다.
+     */
+    public List<OrderListRow> findByKeyset(
+            LocalDateTime cursorOrderedAt,
+            Long cursorId,
+            Long memberId,
+            OrderStatus status,
+            int size
+    ) {
+        BooleanBuilder condition = new BooleanBuilder();
+
+        if (cursorOrderedAt != null && cursorId != null) {
+            condition.and(Expressions.booleanTemplate(
+                    "({0}, {1}) < ({2}, {3})",
+                    orders.orderedAt, orders.id, cursorOrderedAt, cursorId));
+        }
+        if (memberId != null) {
+            condition.and(orders.member.id.eq(memberId));
+        }
+        if (status != null) {
+            condition.and(orders.status.eq(status));
+        }
+
+        return queryFactory
+                .select(Projections.constructor(OrderListRow.class,
+                        orders.id,
+                        orders.member.id,
+                        orders.status,
+                        orders.totalAmount,
+                        orders.orderedAt
+                ))
+                .from(orders)
+                .where(condition)
+                .orderBy(orders.orderedAt.desc(), orders.id.desc())
+                .limit(size + 1L)
+                .fetch();
+    }
+
     /**
      * 주문 단건 조회 (Member 페치 조인 — N+1 방지).
      */
@@ -69,31 +116,4 @@ public class OrderQueryRepository {
                 .fetchOne();
         return Optional.ofNullable(result);
     }
-
-    /**
-     * 월별 매출 집계.
-     *
-     * 쿼리 실습: DATE_TRUNC('month', ordered_at) + GROUP BY
-     * 인덱스: idx_orders_status_ordered_at — DELIVERED 필터 + 기간 조건
-     *
-     * 참고: JPA로 DATE_TRUNC 표현이 어려우므로 실제 집계 쿼리는
-     *       네이티브 SQL로 구현하는 것을 권장. 여기서는 QueryDSL로 근사 구현.
-     */
-    public List<MonthlySalesResult> findMonthlySales(LocalDateTime from, LocalDateTime to) {
-        return queryFactory
-                .select(Projections.constructor(MonthlySalesResult.class,
-                        orders.orderedAt.year(),
-                        orders.orderedAt.month(),
-                        orders.count(),
-                        orders.totalAmount.sum()
-                ))
-                .from(orders)
-                .where(
-                        orders.status.eq(OrderStatus.DELIVERED),
-                        orders.orderedAt.between(from, to)
-                )
-                .groupBy(orders.orderedAt.year(), orders.orderedAt.month())
-                .orderBy(orders.orderedAt.year().asc(), orders.orderedAt.month().asc())
-                .fetch();
-    }
 }
@@ -3,9 +3,20 @@ package com.booster.queryburst.order.domain;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Orders, Long> {
 
     // OFFSET 기반 회원별 주문 목록 (v1 — COUNT 포함)
     Slice<Orders> findSliceByMemberId(Long memberId, Pageable pageable);
+
+    /**
+     * 이미 생성된 주문 ID 조회 (배치 주문 재전송 판별용, PK 인덱스만 사용).
+     */
+    @Query("SELECT o.id FROM Orders o WHERE o.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
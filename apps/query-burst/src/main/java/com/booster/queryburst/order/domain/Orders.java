@@ -17,11 +17,13 @@ import java.util.List;
  * 목표 데이터 수: 3,000만 건
  *
  * 인덱스 설계 포인트:
- * - member_id: 회원별 주문 조회 (FK, 필수)
- * - ordered_at: 기간별 주문 조회
- * - status: 상태 필터 (카디널리티 낮음 → 단독보다 복합 인덱스 권장)
- * - (member_id, ordered_at): 회원별 최근 주문 조회 → 핵심 복합 인덱스
- * - (status, ordered_at): 상태별 기간 조회 → 관리자 대시보드용
+ * - *_keyset: 목록 keyset 페이징용 커버링 인덱스 (ordered_at DESC, id DESC + 목록 컬럼)
+ *   → 테이블 접근 없이 Index Only Scan으로 페이지 조회, 커서 깊이와 무관하게 일정한 지연
+ * - 선두 컬럼이 같은 단독/복합 인덱스는 두지 않는다. keyset 인덱스의 접두사로 같은 조회를 처리한다.
+ *   - member_id (FK), (member_id, ordered_at) → idx_orders_member_keyset
+ *   - status, (status, ordered_at)           → idx_orders_status_keyset
+ *   - ordered_at (기간 조회)                  → idx_orders_keyset
+ *   → 인덱스 수를 줄여 INSERT/UPDATE마다 갱신하는 인덱스를 줄인다 (쓰기 증폭 감소)
  *
  * 쿼리 실습 포인트:
  * - Member JOIN으로 회원 정보 포함 주문 목록
@@ -33,11 +35,9 @@ import java.util.List;
 @Table(
         name = "orders",
         indexes = {
-                @Index(name = "idx_orders_member_id", columnList = "member_id"),
-                @Index(name = "idx_orders_status", columnList = "status"),
-                @Index(name = "idx_orders_ordered_at", columnList = "ordered_at"),
-                @Index(name = "idx_orders_member_ordered_at", columnList = "member_id, ordered_at"),
-                @Index(name = "idx_orders_status_ordered_at", columnList = "status, ordered_at")
+                @Index(name = "idx_orders_keyset", columnList = "ordered_at DESC, id DESC, member_id, status, total_amount"),
+                @Index(name = "idx_orders_member_keyset", columnList = "member_id, ordered_at DESC, id DESC, status, total_amount"),
+                @Index(name = "idx_orders_status_keyset", columnList = "status, ordered_at DESC, id DESC, member_id, total_amount")
         }
 )
 @Getter
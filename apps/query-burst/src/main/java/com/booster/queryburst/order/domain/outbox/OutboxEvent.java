@@ -9,17 +9,21 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Outbox 이벤트.
+ *
+ * PostgreSQL에서는 created_at 기준 일 단위 파티션 테이블로 운영한다 ({@link OutboxPartitionRepository}).
+ * 폴링용 인덱스는 발행 대기 행만 담는 부분 인덱스라 @Index로 선언할 수 없어 파티션 전환 시 함께 만든다.
+ */
 @Entity
-@Table(
-        name = "outbox_event",
-        indexes = {
-                @Index(name = "idx_outbox_status_created", columnList = "status, created_at")
-        }
-)
+@Table(name = "outbox_event")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OutboxEvent extends BaseEntity {
 
+    /** 발행 실패 누적 횟수가 이 값에 도달하면 FAILED로 전환된다. */
+    public static final int MAX_RETRY_COUNT = 3;
+
     @Id
     private Long id;
 
@@ -68,7 +72,7 @@ public class OutboxEvent extends BaseEntity {
 
     public void markPublishFailed() {
         this.retryCount++;
-        if (this.retryCount >= 3) {
+        if (this.retryCount >= MAX_RETRY_COUNT) {
             this.status = OutboxStatus.FAILED;
             return;
         }
@@ -2,26 +2,72 @@ package com.booster.queryburst.order.domain.outbox;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
 
+    /**
+     * 발행 대상(PENDING 또는 오래된 SENDING)을 생성 순으로 조회한다.
+     *
+     * 상태 조건을 바인딩 파라미터가 아닌 리터럴로 두어야 플래너가 부분 인덱스
+     * idx_outbox_unpublished_created의 조건을 증명할 수 있다 (generic plan에서도 인덱스 사용).
+     * 첫 조건은 {@link OutboxPartitionRepository#UNPUBLISHED_STATUS_PREDICATE}와 글자 그대로 같아야 한다.
+     * 파티션마다 작은 부분 인덱스를 created_at 순으로 병합하므로 PUBLISHED 행 수와 무관하게 일정한 비용이 든다.
+     */
+    @Query(value = """
+            SELECT *
+              FROM outbox_event
+             WHERE status IN ('PENDING', 'SENDING')
+               AND (status = 'PENDING' OR updated_at < :staleThreshold)
+             ORDER BY created_at
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<OutboxEvent> findPublishCandidates(
+            @Param("staleThreshold") LocalDateTime staleThreshold,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 발행 성공 일괄 마킹. 벌크 UPDATE는 auditing을 거치지 않으므로 updatedAt을 직접 갱신한다.
+     */
+    @Modifying(clearAutomatically = true)
     @Query("""
-            select e
-            from OutboxEvent e
-            where e.status = :pendingStatus
-               or (e.status = :sendingStatus and e.updatedAt < :staleThreshold)
-            order by e.createdAt asc
+            update OutboxEvent e
+               set e.status = :publishedStatus,
+                   e.publishedAt = :now,
+                   e.updatedAt = :now
+             where e.id in :ids
             """)
-    List<OutboxEvent> findPublishCandidates(
+    int markPublished(
+            @Param("ids") Collection<Long> ids,
+            @Param("publishedStatus") OutboxStatus publishedStatus,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 발행 실패 일괄 마킹. retryCount를 1 증가시키고 최대 재시도 도달 시 FAILED, 아니면 PENDING으로 되돌린다.
+     * SET 절의 e.retryCount는 갱신 전 값을 참조한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update OutboxEvent e
+               set e.retryCount = e.retryCount + 1,
+                   e.status = case when e.retryCount + 1 >= :maxRetryCount then :failedStatus else :pendingStatus end,
+                   e.updatedAt = :now
+             where e.id in :ids
+            """)
+    int markPublishFailed(
+            @Param("ids") Collection<Long> ids,
+            @Param("maxRetryCount") int maxRetryCount,
+            @Param("failedStatus") OutboxStatus failedStatus,
             @Param("pendingStatus") OutboxStatus pendingStatus,
-            @Param("sendingStatus") OutboxStatus sendingStatus,
-            @Param("staleThreshold") LocalDateTime staleThreshold,
-            Pageable pageable
+            @Param("now") LocalDateTime now
     );
 
     List<OutboxEvent> findByStatusOrderByCreatedAtDesc(OutboxStatus status, Pageable pageable);
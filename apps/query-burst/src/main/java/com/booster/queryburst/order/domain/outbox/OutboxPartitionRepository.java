@@ -0,0 +1,183 @@
+package com.booster.queryburst.order.domain.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * outbox_event 일 단위 파티션 관리 리포지토리 (JDBC, PostgreSQL 전용).
+ *
+ * <h2>구조</h2>
+ * <pre>
+ * outbox_event                      PARTITION BY RANGE (created_at), PK (id, created_at)
+ *   ├── outbox_event_p20260416      FOR VALUES FROM ('2026-04-16') TO ('2026-04-17')
+ *   ├── outbox_event_p20260417
+ *   └── ...
+ * idx_outbox_unpublished_created    (created_at) WHERE status IN ('PENDING', 'SENDING')
+ * </pre>
+ * PK에 파티션 키가 포함되어야 하므로 (id, created_at) 복합 PK를 사용한다. 엔티티의 @Id는 id 그대로 둔다.
+ * 부분 인덱스는 파티션별로 자동 생성되며, 발행 대기 행만 담으므로 PUBLISHED가 누적되어도 크기가 늘지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxPartitionRepository {
+
+    public static final String UNPUBLISHED_STATUS_PREDICATE = "status IN ('PENDING', 'SENDING')";
+
+    private static final String TABLE = "outbox_event";
+    private static final String LEGACY_TABLE = "outbox_event_legacy";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String RELKIND_SQL = """
+            SELECT c.relkind
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema()
+              AND c.relname = ?
+            """;
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass(?)
+            ORDER BY c.relname
+            """;
+
+    /** DETACH ... CONCURRENTLY가 중단되어 FINALIZE를 기다리는 파티션인지 (PostgreSQL 14+) */
+    private static final String DETACH_PENDING_SQL = """
+            SELECT i.inhdetachpending
+            FROM pg_inherits i
+            WHERE i.inhparent = to_regclass(?)
+              AND i.inhrelid = to_regclass(?)
+            """;
+
+    /** 분리는 끝났지만 DROP 전에 중단되어 남은 파티션 테이블 */
+    private static final String ORPHANED_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema()
+              AND c.relkind = 'r'
+              AND c.relname LIKE ?
+              AND NOT EXISTS (SELECT 1 FROM pg_inherits i WHERE i.inhrelid = c.oid)
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPostgreSql() {
+        Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    public boolean isPartitioned() {
+        List<String> relkind = jdbcTemplate.queryForList(RELKIND_SQL, String.class, TABLE);
+        return !relkind.isEmpty() && "p".equals(relkind.getFirst());
+    }
+
+    /**
+     * 전환 전에 테이블을 잠근다. 여러 인스턴스가 동시에 기동해도 한 곳만 전환하도록,
+     * 락을 잡은 뒤 {@link #isPartitioned()}를 다시 확인해야 한다.
+     */
+    public void lockTable() {
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+    }
+
+    /**
+     * Hibernate가 만든 일반 테이블을 파티션 테이블로 전환한다. {@link #lockTable()}과 같은 트랜잭션 안에서 실행해야 한다.
+     *
+     * 발행 대기/실패 행과 keepPublishedAfter 이후 발행된 행만 옮기고, 나머지 PUBLISHED 행은 기존 테이블과 함께 버린다.
+     * 옮길 행의 가장 이른 날짜부터 lastPartitionDate까지 파티션을 미리 만든다.
+     *
+     * @return 옮긴 행 수
+     */
+    public int convertToPartitioned(LocalDateTime keepPublishedAfter, LocalDate lastPartitionDate) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                + " PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT pk_outbox_event PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_outbox_unpublished_created ON " + TABLE + " (created_at)"
+                + " WHERE " + UNPUBLISHED_STATUS_PREDICATE);
+
+        String retainedCondition = "status <> 'PUBLISHED' OR published_at >= ?";
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM " + LEGACY_TABLE + " WHERE " + retainedCondition,
+                LocalDateTime.class, keepPublishedAfter);
+        LocalDate firstPartitionDate = oldest == null ? LocalDate.now() : oldest.toLocalDate();
+        for (LocalDate date = firstPartitionDate; !date.isAfter(lastPartitionDate); date = date.plusDays(1)) {
+            createDailyPartition(date);
+        }
+
+        int moved = jdbcTemplate.update(
+                "INSERT INTO " + TABLE + " SELECT * FROM " + LEGACY_TABLE + " WHERE " + retainedCondition,
+                keepPublishedAfter);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        return moved;
+    }
+
+    public void createDailyPartition(LocalDate date) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(date)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + date + "') TO ('" + date.plusDays(1) + "')");
+    }
+
+    /**
+     * 현재 붙어 있는 일 단위 파티션의 날짜 목록 (오름차순).
+     */
+    public List<LocalDate> findDailyPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, TABLE).stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    /**
+     * 파티션에 아직 발행이 끝나지 않은 행(PENDING/SENDING/FAILED)이 남아 있는지 확인한다.
+     */
+    public boolean hasUnpublished(LocalDate date) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partitionName(date) + " WHERE status <> 'PUBLISHED')",
+                Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * 분리는 끝났지만 DROP 전에 중단되어 남은 파티션의 날짜 목록 (오름차순).
+     */
+    public List<LocalDate> findOrphanedPartitions() {
+        return jdbcTemplate.queryForList(ORPHANED_PARTITIONS_SQL, String.class, PARTITION_PREFIX + "%").stream()
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    /**
+     * 파티션을 분리한 뒤 삭제한다.
+     * DETACH ... CONCURRENTLY는 부모 테이블에 ACCESS EXCLUSIVE 락을 잡지 않으므로 릴레이 폴링과 주문 INSERT를 막지 않는다.
+     * 트랜잭션 블록 안에서는 실행할 수 없으므로 트랜잭션 밖(auto-commit)에서 호출해야 한다.
+     *
+     * 이전 실행의 DETACH CONCURRENTLY가 중단된 파티션은 다시 DETACH할 수 없으므로 FINALIZE로 분리를 마무리하고,
+     * 분리 후 DROP 전에 중단되어 이미 떨어져 나간 파티션은 DROP만 한다.
+     */
+    public void dropDailyPartition(LocalDate date) {
+        String partition = partitionName(date);
+        List<Boolean> detachPending = jdbcTemplate.queryForList(DETACH_PENDING_SQL, Boolean.class, TABLE, partition);
+        if (!detachPending.isEmpty()) {
+            String mode = Boolean.TRUE.equals(detachPending.getFirst()) ? " FINALIZE" : " CONCURRENTLY";
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition + mode);
+        }
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+    }
+
+    private String partitionName(LocalDate date) {
+        return PARTITION_PREFIX + date.format(PARTITION_SUFFIX);
+    }
+}
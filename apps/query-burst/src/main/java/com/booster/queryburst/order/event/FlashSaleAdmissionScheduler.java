@@ -0,0 +1,33 @@
+package com.booster.queryburst.order.event;
+
+import com.booster.queryburst.order.application.FlashSaleWaitingRoom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 플래시 세일 대기열 입장 스케줄러.
+ *
+ * 입장 인원은 Redis에 기록된 마지막 입장 시각 기준으로 계산되므로, 모든 인스턴스에서 실행해도
+ * 합산 입장 속도는 세일별 admitPerSecond로 유지된다 (분산 락 불필요, 한 인스턴스가 죽어도 입장이 멈추지 않음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlashSaleAdmissionScheduler {
+
+    private final FlashSaleWaitingRoom flashSaleWaitingRoom;
+
+    @Scheduled(fixedDelayString = "${flash-sale.waiting-room.admit-interval:200}")
+    public void admit() {
+        try {
+            long admitted = flashSaleWaitingRoom.admitAll();
+            if (admitted > 0) {
+                log.debug("[WaitingRoom] 입장 처리 완료. admitted={}", admitted);
+            }
+        } catch (Exception e) {
+            log.warn("[WaitingRoom] 입장 처리 실패. 다음 주기에 재시도합니다. cause={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.booster.queryburst.order.event;
+
+import com.booster.queryburst.order.application.FlashSaleStockCompensator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 플래시 세일 재고 보상 반영 스케줄러.
+ *
+ * 반영 스크립트가 주문 ID 단위로 중복을 걸러내므로 모든 인스턴스에서 실행해도 같은 보상이 두 번 반영되지 않는다
+ * (분산 락 불필요). 반영에 실패한 보상은 Redis에 남아 다음 주기에 다시 시도된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlashSaleCompensationScheduler {
+
+    private final FlashSaleStockCompensator stockCompensator;
+
+    @Scheduled(fixedDelayString = "${flash-sale.compensation.apply-interval:500}")
+    public void apply() {
+        try {
+            long restored = stockCompensator.applyPending();
+            if (restored > 0) {
+                log.info("[FlashSale] 재고 보상 반영 완료. quantity={}", restored);
+            }
+        } catch (Exception e) {
+            log.warn("[FlashSale] 재고 보상 반영 실패. 다음 주기에 재시도합니다. cause={}", e.getMessage());
+        }
+    }
+}
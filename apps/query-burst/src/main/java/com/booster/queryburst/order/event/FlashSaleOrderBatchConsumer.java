@@ -0,0 +1,75 @@
+package com.booster.queryburst.order.event;
+
+import com.booster.queryburst.common.kafka.ConsumerIdempotencyService;
+import com.booster.queryburst.order.application.FlashSaleService;
+import com.booster.queryburst.order.application.FlashSaleStockCompensator;
+import com.booster.queryburst.order.application.dto.FlashSaleBatchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * flash-sale-orders 배치 Consumer.
+ *
+ * poll 한 번의 레코드를 상품별로 묶어 상품당 락 1회 + 재고 차감 1회 + 주문 일괄 INSERT로 처리한다.
+ * 동일 인기 상품 구매자들이 상품 행 락에 줄 서던 단건 처리({@link FlashSaleOrderConsumer}) 대비
+ * 세일 직후 적체 해소 시간이 레코드 수가 아니라 상품 수에 비례한다.
+ *
+ * 실패 주문의 재고 보상은 상품별로 묶어 기록만 하고, 재고 반영은 {@link FlashSaleCompensationScheduler}가 일괄로 수행한다.
+ * 보상 기록이 실패하면 실패 주문의 처리 중 마킹을 해제한 뒤 예외를 던져 배치를 재전달받는다 (성공 주문은 멱등성 키로 건너뜀).
+ *
+ * 활성화: flash-sale.consumer.batch-enabled=true (false면 단건 Consumer 사용)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "flash-sale.consumer.batch-enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FlashSaleOrderBatchConsumer {
+
+    private static final String GROUP_ID = "flash-sale-consumer-group";
+
+    private final FlashSaleService flashSaleService;
+    private final FlashSaleStockCompensator stockCompensator;
+    private final ConsumerIdempotencyService idempotencyService;
+
+    @KafkaListener(
+            topics = "flash-sale-orders",
+            groupId = GROUP_ID,
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consume(List<FlashSaleOrderPayload> payloads) {
+        log.info("[FlashSaleBatchConsumer] batch received. size={}", payloads.size());
+
+        List<FlashSaleOrderPayload> accepted = idempotencyService.tryStartProcessing(GROUP_ID, payloads);
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        FlashSaleBatchResult result = flashSaleService.processOrders(accepted);
+        Map<Long, FlashSaleOrderPayload> payloadByOrderId = accepted.stream()
+                .collect(Collectors.toMap(FlashSaleOrderPayload::orderId, Function.identity(), (first, second) -> first));
+
+        idempotencyService.markProcessed(GROUP_ID, result.succeededOrderIds().stream()
+                .map(payloadByOrderId::get)
+                .toList());
+
+        List<FlashSaleOrderPayload> failed = result.failedOrderIds().stream()
+                .map(payloadByOrderId::get)
+                .toList();
+        try {
+            stockCompensator.record(failed);
+        } finally {
+            idempotencyService.clearProcessing(GROUP_ID, failed);
+        }
+
+        log.info("[FlashSaleBatchConsumer] batch processed. succeeded={}, failed={}",
+                result.succeededOrderIds().size(), result.failedOrderIds().size());
+    }
+}
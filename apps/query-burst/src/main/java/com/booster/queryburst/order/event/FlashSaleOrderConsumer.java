@@ -2,19 +2,32 @@ package com.booster.queryburst.order.event;
 
 import com.booster.queryburst.common.kafka.ConsumerIdempotencyService;
 import com.booster.queryburst.order.application.FlashSaleService;
+import com.booster.queryburst.order.application.FlashSaleStockCompensator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
+/**
+ * flash-sale-orders 단건 Consumer.
+ *
+ * 주문 생성에 실패하면 재고 보상을 기록하고, 기록마저 실패하면 예외를 던져 레코드를 재전달받는다.
+ *
+ * flash-sale.consumer.batch-enabled=true면 {@link FlashSaleOrderBatchConsumer}가 대신 동작한다.
+ */
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "flash-sale.consumer.batch-enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class FlashSaleOrderConsumer {
 
     private static final String GROUP_ID = "flash-sale-consumer-group";
 
     private final FlashSaleService flashSaleService;
+    private final FlashSaleStockCompensator stockCompensator;
     private final ConsumerIdempotencyService idempotencyService;
 
     @KafkaListener(
@@ -34,9 +47,12 @@ public class FlashSaleOrderConsumer {
             flashSaleService.processOrder(payload);
             idempotencyService.markProcessed(GROUP_ID, payload.orderId(), payload.eventType());
         } catch (Exception e) {
-            flashSaleService.compensateStock(payload.productId(), payload.quantity());
-            idempotencyService.clearProcessing(GROUP_ID, payload.orderId(), payload.eventType());
             log.error("[FlashSaleConsumer] order creation failed. orderId={}", payload.orderId(), e);
+            try {
+                stockCompensator.record(List.of(payload));
+            } finally {
+                idempotencyService.clearProcessing(GROUP_ID, payload.orderId(), payload.eventType());
+            }
         }
     }
 }
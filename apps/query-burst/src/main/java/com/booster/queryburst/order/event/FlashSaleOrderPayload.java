@@ -1,5 +1,7 @@
 package com.booster.queryburst.order.event;
 
+import com.booster.queryburst.common.kafka.IdempotentEvent;
+
 import java.time.LocalDateTime;
 
 public record FlashSaleOrderPayload(
@@ -9,7 +11,7 @@ public record FlashSaleOrderPayload(
         Long productId,
         int quantity,
         LocalDateTime requestedAt
-) {
+) implements IdempotentEvent {
     public static final String EVENT_TYPE = "FLASH_SALE_ORDER_REQUESTED";
 
     public static FlashSaleOrderPayload of(Long orderId, Long memberId, Long productId, int quantity) {
@@ -1,5 +1,7 @@
 package com.booster.queryburst.order.event;
 
+import com.booster.queryburst.common.kafka.IdempotentEvent;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -9,6 +11,7 @@ import java.util.List;
  * Consumer Group별 용도:
  * - ranking-consumer-group : ORDER_CREATED → Redis Sorted Set 판매량 증가
  * - statistics-consumer-group : ORDER_CREATED/ORDER_CANCELED → 통계 테이블 UPSERT/롤백
+ *                               ORDER_STATUS_CHANGED(DELIVERED) → 월별 매출 롤업 UPSERT
  * - (향후) notification-consumer-group : 모든 이벤트 → 알림 발송
  */
 public record OrderEventPayload(
@@ -18,8 +21,18 @@ public record OrderEventPayload(
         Long totalAmount,
         String orderStatus,        // Orders.status 스냅샷
         LocalDateTime occurredAt,
+        LocalDateTime orderedAt,   // 주문 시각 (월별 롤업 기준). 이전 버전 메시지는 null
         List<OrderItemPayload> items  // 상태변경 이벤트는 빈 리스트
-) {
+) implements IdempotentEvent {
+
+    /**
+     * 상태 변경 이벤트는 같은 주문에서 여러 번 발생하므로 변경된 상태까지 포함해 멱등성 키를 구분한다.
+     */
+    @Override
+    public String idempotencyType() {
+        return "ORDER_STATUS_CHANGED".equals(eventType) ? eventType + ":" + orderStatus : eventType;
+    }
+
     public record OrderItemPayload(
             Long productId,
             Long categoryId,
@@ -4,14 +4,23 @@ import com.booster.queryburst.lock.DistributedLock;
 import com.booster.queryburst.lock.FencingToken;
 import com.booster.queryburst.lock.LockAcquisitionException;
 import com.booster.queryburst.order.application.OutboxAdminService;
+import com.booster.queryburst.order.application.OutboxPartitionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Outbox 정리 스케줄러.
+ *
+ * 파티션 모드: 앞으로 쓸 파티션을 만들고, 보관 기간이 지난 파티션을 통째로 삭제한다.
+ * 벌크 DELETE 모드(파티션 미사용): 보관 기간이 지난 PUBLISHED 이벤트를 DELETE한다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -19,13 +28,13 @@ public class OutboxCleanupScheduler {
 
     private static final String CLEANUP_LOCK_KEY = "outbox:cleanup:lock";
     private static final Duration LOCK_TTL = Duration.ofMinutes(10);
-    private static final Duration RETENTION = Duration.ofDays(7);
 
     private final OutboxAdminService outboxAdminService;
+    private final OutboxPartitionService outboxPartitionService;
     private final DistributedLock distributedLock;
 
     @Scheduled(cron = "0 0 3 * * *")
-    public void purgePublishedEvents() {
+    public void cleanUp() {
         FencingToken token;
         try {
             token = distributedLock.tryLock(CLEANUP_LOCK_KEY, LOCK_TTL);
@@ -35,11 +44,25 @@ public class OutboxCleanupScheduler {
         }
 
         try {
-            LocalDateTime cutoff = LocalDateTime.now().minus(RETENTION);
-            long deletedCount = outboxAdminService.purgePublishedEvents(cutoff);
-            log.info("[OutboxCleanup] published event {}건 정리 완료. cutoff={}", deletedCount, cutoff);
+            if (outboxPartitionService.isPartitioned()) {
+                maintainPartitions();
+            } else {
+                purgePublishedEvents();
+            }
         } finally {
             distributedLock.unlock(CLEANUP_LOCK_KEY, token);
         }
     }
+
+    private void maintainPartitions() {
+        int prepared = outboxPartitionService.createUpcomingPartitions();
+        List<LocalDate> dropped = outboxPartitionService.retireExpiredPartitions();
+        log.info("[OutboxCleanup] 파티션 정리 완료. 준비={}일, 삭제={}", prepared, dropped);
+    }
+
+    private void purgePublishedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(OutboxPartitionService.RETENTION);
+        long deletedCount = outboxAdminService.purgePublishedEvents(cutoff);
+        log.info("[OutboxCleanup] published event {}건 정리 완료. cutoff={}", deletedCount, cutoff);
+    }
 }
@@ -10,7 +10,6 @@ import com.booster.queryburst.order.domain.outbox.OutboxStatus;
 import com.booster.storage.kafka.core.KafkaTopic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -18,9 +17,25 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Outbox 이벤트 Kafka 릴레이.
+ *
+ * <h2>파이프라인 발행</h2>
+ * <pre>
+ * 1. PENDING(또는 오래된 SENDING) 배치 선점 → SENDING
+ * 2. 배치 전체를 비동기 send → 모든 Future를 한 번에 대기 (전송 지연이 건수만큼 누적되지 않음)
+ * 3. 결과별 벌크 UPDATE 1회씩 (PUBLISHED / 재시도·FAILED)
+ * 4. 배치가 가득 찼으면(적체 존재) 다음 tick을 기다리지 않고 즉시 다음 배치 처리
+ * </pre>
+ *
+ * 연속 드레인은 락 TTL 안에서만 수행하여 락 만료 후 다른 인스턴스와 중복 발행하지 않도록 한다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -28,8 +43,10 @@ public class OutboxMessageRelay {
 
     private static final String RELAY_LOCK_KEY = "outbox:relay:lock";
     private static final Duration LOCK_TTL = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIME_LIMIT = Duration.ofSeconds(20);
+    private static final Duration SEND_TIMEOUT = Duration.ofSeconds(5);
     private static final Duration SENDING_STALE_THRESHOLD = Duration.ofMinutes(1);
-    private static final int BATCH_SIZE = 100;
+    private static final int BATCH_SIZE = 500;
 
     private final OutboxEventRepository outboxEventRepository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
@@ -47,47 +64,83 @@ public class OutboxMessageRelay {
         }
 
         try {
-            publishPendingEvents();
+            drainPendingEvents();
         } finally {
             distributedLock.unlock(RELAY_LOCK_KEY, token);
         }
     }
 
-    private void publishPendingEvents() {
+    private void drainPendingEvents() {
+        long deadline = System.nanoTime() + DRAIN_TIME_LIMIT.toNanos();
+        int published;
+        do {
+            published = publishPendingEvents();
+        } while (published == BATCH_SIZE && System.nanoTime() < deadline);
+    }
+
+    /**
+     * 한 배치를 발행하고 선점한 이벤트 수를 반환한다.
+     */
+    private int publishPendingEvents() {
         List<RelayCandidate> events = claimPublishCandidates();
         if (events.isEmpty()) {
-            return;
+            return 0;
         }
 
         log.info("[OutboxRelay] start publishing {} events", events.size());
 
+        List<Long> failedIds = new ArrayList<>();
+        List<PendingSend> sends = new ArrayList<>(events.size());
         for (RelayCandidate event : events) {
             try {
                 OrderEventPayload payload = JsonUtils.MAPPER.readValue(event.payload(), OrderEventPayload.class);
-                kafkaTemplate.send(
-                                KafkaTopic.ORDER_EVENTS.getTopic(),
-                                String.valueOf(event.aggregateId()),
-                                payload)
-                        .get(5, TimeUnit.SECONDS);
-
-                markPublished(event.id());
-                log.debug("[OutboxRelay] publish success. eventId={}, type={}", event.id(), event.eventType());
+                sends.add(new PendingSend(event, kafkaTemplate.send(
+                        KafkaTopic.ORDER_EVENTS.getTopic(),
+                        String.valueOf(event.aggregateId()),
+                        payload)));
             } catch (Exception e) {
-                markPublishFailed(event.id());
+                failedIds.add(event.id());
                 log.error("[OutboxRelay] publish failed. eventId={}", event.id(), e);
             }
         }
+
+        awaitAll(sends);
+
+        List<Long> publishedIds = new ArrayList<>(sends.size());
+        for (PendingSend send : sends) {
+            if (send.future().isDone() && !send.future().isCompletedExceptionally()) {
+                publishedIds.add(send.event().id());
+            } else {
+                failedIds.add(send.event().id());
+                log.error("[OutboxRelay] publish failed. eventId={}, type={}",
+                        send.event().id(), send.event().eventType(), send.failureCause());
+            }
+        }
+
+        markResults(publishedIds, failedIds);
+        log.info("[OutboxRelay] batch done. published={}, failed={}", publishedIds.size(), failedIds.size());
+        return events.size();
+    }
+
+    private void awaitAll(List<PendingSend> sends) {
+        CompletableFuture<?>[] futures = sends.stream()
+                .map(PendingSend::future)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).get(SEND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("[OutboxRelay] send timeout. 미완료 이벤트는 실패로 처리합니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 개별 실패는 Future 단위로 다시 판별한다
+        }
     }
 
     private List<RelayCandidate> claimPublishCandidates() {
         return transactionTemplate.execute(status -> {
             LocalDateTime staleThreshold = LocalDateTime.now().minus(SENDING_STALE_THRESHOLD);
-            List<OutboxEvent> candidates = outboxEventRepository.findPublishCandidates(
-                    OutboxStatus.PENDING,
-                    OutboxStatus.SENDING,
-                    staleThreshold,
-                    PageRequest.of(0, BATCH_SIZE)
-            );
+            List<OutboxEvent> candidates = outboxEventRepository.findPublishCandidates(staleThreshold, BATCH_SIZE);
 
             candidates.forEach(OutboxEvent::markSending);
 
@@ -102,14 +155,22 @@ public class OutboxMessageRelay {
         });
     }
 
-    private void markPublished(Long eventId) {
-        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(eventId)
-                .ifPresent(OutboxEvent::markPublished));
-    }
-
-    private void markPublishFailed(Long eventId) {
-        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(eventId)
-                .ifPresent(OutboxEvent::markPublishFailed));
+    private void markResults(List<Long> publishedIds, List<Long> failedIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!publishedIds.isEmpty()) {
+                outboxEventRepository.markPublished(publishedIds, OutboxStatus.PUBLISHED, now);
+            }
+            if (!failedIds.isEmpty()) {
+                outboxEventRepository.markPublishFailed(
+                        failedIds,
+                        OutboxEvent.MAX_RETRY_COUNT,
+                        OutboxStatus.FAILED,
+                        OutboxStatus.PENDING,
+                        now
+                );
+            }
+        });
     }
 
     private record RelayCandidate(
@@ -119,4 +180,16 @@ public class OutboxMessageRelay {
             String payload
     ) {
     }
+
+    private record PendingSend(
+            RelayCandidate event,
+            CompletableFuture<?> future
+    ) {
+        Throwable failureCause() {
+            if (!future.isDone()) {
+                return null;
+            }
+            return future.handle((result, ex) -> ex).join();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.booster.queryburst.order.web;
+
+import com.booster.queryburst.order.application.FlashSaleService;
+import com.booster.queryburst.order.web.dto.request.FlashSaleWarmUpRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 플래시 세일 준비/해제 관리 API.
+ *
+ * 세일 시작 전 warm-up으로 상품 정보와 재고를 Redis에 적재해야 주문 접수가 가능하다.
+ */
+@RestController
+@RequestMapping("/api/admin/flash-sales")
+@RequiredArgsConstructor
+public class FlashSaleAdminController {
+
+    private final FlashSaleService flashSaleService;
+
+    @PostMapping("/{productId}/warm-up")
+    public ResponseEntity<Void> warmUp(
+            @PathVariable Long productId,
+            @RequestBody(required = false) FlashSaleWarmUpRequest request
+    ) {
+        FlashSaleWarmUpRequest window = request != null ? request : FlashSaleWarmUpRequest.unbounded();
+        flashSaleService.warmUp(productId, window.startAt(), window.endAt(), window.admitPerSecond(), window.stockShards());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{productId}/warm-up")
+    public ResponseEntity<Void> invalidate(@PathVariable Long productId) {
+        flashSaleService.invalidate(productId);
+        return ResponseEntity.noContent().build();
+    }
+}
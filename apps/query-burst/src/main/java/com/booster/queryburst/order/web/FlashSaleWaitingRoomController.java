@@ -0,0 +1,39 @@
+package com.booster.queryburst.order.web;
+
+import com.booster.queryburst.order.application.FlashSaleWaitingRoom;
+import com.booster.queryburst.order.web.dto.request.WaitingRoomEnterRequest;
+import com.booster.queryburst.order.web.dto.response.WaitingRoomResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 플래시 세일 대기열 API.
+ *
+ * warm-up 시 admitPerSecond를 지정한 세일만 사용한다.
+ * 클라이언트는 대기열에 등록한 뒤 상태를 폴링하다가 ADMITTED가 되면 주문 API를 호출한다.
+ */
+@RestController
+@RequestMapping("/api/flash-sales/{productId}/queue")
+@RequiredArgsConstructor
+public class FlashSaleWaitingRoomController {
+
+    private final FlashSaleWaitingRoom flashSaleWaitingRoom;
+
+    @PostMapping
+    public ResponseEntity<WaitingRoomResponse> enter(
+            @PathVariable Long productId,
+            @RequestBody WaitingRoomEnterRequest request
+    ) {
+        return ResponseEntity.accepted()
+                .body(WaitingRoomResponse.from(flashSaleWaitingRoom.enter(productId, request.memberId())));
+    }
+
+    @GetMapping("/{memberId}")
+    public ResponseEntity<WaitingRoomResponse> getTicket(
+            @PathVariable Long productId,
+            @PathVariable Long memberId
+    ) {
+        return ResponseEntity.ok(WaitingRoomResponse.from(flashSaleWaitingRoom.getTicket(productId, memberId)));
+    }
+}
@@ -7,6 +7,7 @@ import com.booster.queryburst.order.application.dto.*;
 import com.booster.queryburst.order.domain.OrderStatus;
 import com.booster.queryburst.order.web.dto.request.OrderCreateRequest;
 import com.booster.queryburst.order.web.dto.response.OrderDetailResponse;
+import com.booster.queryburst.order.web.dto.response.OrderKeysetPageResponse;
 import com.booster.queryburst.order.web.dto.response.OrderResponse;
 import com.booster.queryburst.order.web.dto.response.OrderSummaryResponse;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final int MAX_KEYSET_PAGE_SIZE = 100;
+
     private final OrderFacade orderFacade;
     private final OrderService orderService;
 
@@ -35,8 +38,8 @@ public class OrderController {
      * 정렬: id DESC (Snowflake ID → 최신순)
      *
      * 인덱스 힌트:
-     * - memberId만: idx_orders_member_ordered_at
-     * - status만: idx_orders_status_ordered_at
+     * - memberId만: idx_orders_member_keyset
+     * - status만: idx_orders_status_keyset
      */
     @GetMapping
     public ResponseEntity<CursorPageResponse<OrderSummaryResponse>> getOrders(
@@ -57,6 +60,40 @@ public class OrderController {
         return ResponseEntity.ok(CursorPageResponse.of(content, hasNext, nextCursor));
     }
 
+    /**
+     * 커버링 인덱스 keyset 주문 목록 조회 (v2).
+     *
+     * 필터: memberId, status
+     * 정렬: orderedAt DESC, id DESC — 복합 커서 (cursorOrderedAt, cursorId)
+     *
+     * member 조인 없이 커버링 인덱스만 읽고(Index Only Scan), 회원 이름은 페이지당 IN 쿼리 1회로 채운다.
+     * size는 1..100으로 제한한다.
+     */
+    @GetMapping("/v2")
+    public ResponseEntity<OrderKeysetPageResponse> getOrdersByKeyset(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorOrderedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Long memberId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if ((cursorOrderedAt == null) != (cursorId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_KEYSET_PAGE_SIZE));
+
+        List<OrderSummaryResult> fetched = orderService.getOrdersByKeyset(
+                cursorOrderedAt, cursorId, memberId, status, pageSize);
+
+        boolean hasNext = fetched.size() > pageSize;
+        List<OrderSummaryResponse> content = fetched.stream()
+                .limit(pageSize)
+                .map(OrderSummaryResponse::from)
+                .toList();
+
+        return ResponseEntity.ok(OrderKeysetPageResponse.of(content, hasNext));
+    }
+
     /**
      * 주문 상세 조회 (주문 항목 포함).
      *
@@ -70,8 +107,8 @@ public class OrderController {
     /**
      * 월별 매출 집계.
      *
-     * 쿼리 실습: DATE_TRUNC('month', ordered_at) + GROUP BY
-     * 인덱스: idx_orders_status_ordered_at (DELIVERED 필터 + 기간 조건)
+     * 롤업: monthly_sales_summary (배송 완료 이벤트로 증분 갱신) — orders GROUP BY 없이 월당 1행 조회.
+     * 월 단위 집계이므로 from/to가 속한 달 전체가 포함된다.
      */
     @GetMapping("/stats/monthly-sales")
     public ResponseEntity<List<MonthlySalesResult>> getMonthlySales(
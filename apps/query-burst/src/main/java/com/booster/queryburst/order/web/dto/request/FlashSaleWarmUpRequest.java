@@ -0,0 +1,14 @@
+package com.booster.queryburst.order.web.dto.request;
+
+import java.time.LocalDateTime;
+
+public record FlashSaleWarmUpRequest(
+        LocalDateTime startAt,  // null이면 즉시 판매
+        LocalDateTime endAt,    // null이면 종료 시각 없음
+        Integer admitPerSecond, // null이면 대기열 없이 바로 주문, 지정 시 초당 입장 인원
+        Integer stockShards     // null이면 샤딩 없음, 지정 시 재고를 나눌 키 개수 (대기열 모드와 함께 쓸 수 없음)
+) {
+    public static FlashSaleWarmUpRequest unbounded() {
+        return new FlashSaleWarmUpRequest(null, null, null, null);
+    }
+}
@@ -0,0 +1,6 @@
+package com.booster.queryburst.order.web.dto.request;
+
+public record WaitingRoomEnterRequest(
+        Long memberId
+) {
+}
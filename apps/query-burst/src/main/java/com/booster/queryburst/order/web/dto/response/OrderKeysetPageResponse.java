@@ -0,0 +1,23 @@
+package com.booster.queryburst.order.web.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 복합 커서(orderedAt, id) 페이지 응답.
+ * 다음 요청 시 nextCursorOrderedAt / nextCursorId를 각각 cursorOrderedAt / cursorId 파라미터로 전달한다.
+ */
+public record OrderKeysetPageResponse(
+        List<OrderSummaryResponse> content,
+        boolean hasNext,
+        LocalDateTime nextCursorOrderedAt,
+        Long nextCursorId
+) {
+    public static OrderKeysetPageResponse of(List<OrderSummaryResponse> content, boolean hasNext) {
+        if (!hasNext) {
+            return new OrderKeysetPageResponse(content, false, null, null);
+        }
+        OrderSummaryResponse last = content.getLast();
+        return new OrderKeysetPageResponse(content, true, last.orderedAt(), last.orderId());
+    }
+}
@@ -0,0 +1,25 @@
+package com.booster.queryburst.order.web.dto.response;
+
+import com.booster.queryburst.order.application.dto.WaitingRoomTicket;
+
+import java.time.LocalDateTime;
+
+public record WaitingRoomResponse(
+        Long productId,
+        Long memberId,
+        String status,
+        long position,
+        long estimatedWaitSeconds,
+        LocalDateTime admissionExpiresAt
+) {
+    public static WaitingRoomResponse from(WaitingRoomTicket ticket) {
+        return new WaitingRoomResponse(
+                ticket.productId(),
+                ticket.memberId(),
+                ticket.status(),
+                ticket.position(),
+                ticket.estimatedWaitSeconds(),
+                ticket.admissionExpiresAt()
+        );
+    }
+}
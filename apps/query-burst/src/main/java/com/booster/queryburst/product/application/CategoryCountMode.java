@@ -0,0 +1,17 @@
+package com.booster.queryburst.product.application;
+
+/**
+ * 카테고리 상품 수 조회 방식 (product.category-count.mode).
+ */
+public enum CategoryCountMode {
+
+    /**
+     * 상품 생성/삭제/상태 변경 시 함께 갱신되는 category_product_count 카운터 (정확).
+     */
+    MAINTAINED,
+
+    /**
+     * PostgreSQL 플래너 통계 추정치. 테이블을 읽지 않으며 ANALYZE 시점 기준 근사치다.
+     */
+    ESTIMATE
+}
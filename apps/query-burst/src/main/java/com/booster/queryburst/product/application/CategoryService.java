@@ -1,16 +1,24 @@
 package com.booster.queryburst.product.application;
 
+import com.booster.queryburst.product.application.dto.CategoryNode;
 import com.booster.queryburst.product.application.dto.CategoryResult;
+import com.booster.queryburst.product.application.dto.CategoryTreeResult;
 import com.booster.queryburst.product.domain.Category;
+import com.booster.queryburst.product.domain.CategoryProductCountRepository;
 import com.booster.queryburst.product.domain.CategoryQueryRepository;
 import com.booster.queryburst.product.domain.CategoryRepository;
+import com.booster.queryburst.product.domain.ProductStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -19,17 +27,30 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryQueryRepository categoryQueryRepository;
+    private final CategoryProductCountRepository categoryProductCountRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ProductCategoryPathBackfill productCategoryPathBackfill;
+
+    /**
+     * 카테고리 상품 수 조회 방식. 기본값은 카운터 테이블(MAINTAINED).
+     */
+    @Value("${product.category-count.mode:MAINTAINED}")
+    private CategoryCountMode countMode;
 
     // v1: COUNT 쿼리 포함 페이지 기반 조회
     @Transactional(readOnly = true)
     public Page<CategoryResult> getCategories(Pageable pageable) {
-        return categoryRepository.findAll(pageable)
-                .map(c -> new CategoryResult(
-                        c.getId(),
-                        c.getName(),
-                        c.getParent() != null ? c.getParent().getId() : null,
-                        c.getDepth()
-                ));
+        Page<Category> page = categoryRepository.findAll(pageable);
+        Map<Long, Long> productCounts = categoryProductCountRepository.findTotals(
+                page.getContent().stream().map(Category::getId).toList());
+
+        return page.map(c -> new CategoryResult(
+                c.getId(),
+                c.getName(),
+                c.getParent() != null ? c.getParent().getId() : null,
+                c.getDepth(),
+                productCounts.getOrDefault(c.getId(), 0L)
+        ));
     }
 
     // v2: COUNT 쿼리 없음, OFFSET 없는 커서 기반 조회
@@ -38,6 +59,73 @@ public class CategoryService {
         return categoryQueryRepository.findByCursor(cursorId, size);
     }
 
+    /**
+     * 전체 카테고리 트리 (인메모리, DB 조회 없음).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CategoryTreeResult> getTree() {
+        CategoryTree tree = categoryTreeCache.get();
+        return tree.roots().stream()
+                .map(root -> toTreeResult(tree, root))
+                .toList();
+    }
+
+    /**
+     * 자신을 루트로 하는 하위 트리 (인메모리, DB 조회 없음).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CategoryTreeResult getSubtree(Long categoryId) {
+        CategoryTree tree = categoryTreeCache.get();
+        CategoryNode node = tree.find(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + categoryId));
+        return toTreeResult(tree, node);
+    }
+
+    /**
+     * 최상위부터 자신까지의 경로 (breadcrumb, 인메모리, DB 조회 없음).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CategoryNode> getAncestorPath(Long categoryId) {
+        List<CategoryNode> path = categoryTreeCache.get().ancestorPath(categoryId);
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + categoryId);
+        }
+        return path;
+    }
+
+    /**
+     * 카테고리 상품 수. product 테이블 COUNT(*)를 실행하지 않는다.
+     *
+     * @param status null이면 전체 상태 합계
+     */
+    @Transactional(readOnly = true)
+    public long getProductCount(Long categoryId, ProductStatus status) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + categoryId);
+        }
+        if (countMode == CategoryCountMode.ESTIMATE) {
+            return categoryProductCountRepository.estimate(categoryId, status);
+        }
+        return categoryProductCountRepository.count(categoryId, status);
+    }
+
+    /**
+     * 카운터를 product 테이블 기준으로 재계산한다. 대량 적재 후 또는 불일치 복구 시 사용한다.
+     */
+    public void rebuildProductCounts() {
+        categoryProductCountRepository.rebuild(LocalDateTime.now());
+    }
+
+    /**
+     * 상품 카테고리 경로(조상 컬럼) 백필. 배치마다 커밋하도록 트랜잭션 밖에서 실행한다.
+     *
+     * @return 갱신한 상품 수
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long backfillProductCategoryPaths() {
+        return productCategoryPathBackfill.run();
+    }
+
     /**
      * 카테고리 생성.
      * parentId가 null이거나 존재하지 않으면 최상위(root) 카테고리로 생성한다.
@@ -47,6 +135,7 @@ public class CategoryService {
         if (parentId == null) {
             Category root = Category.createRoot(name);
             categoryRepository.save(root);
+            categoryTreeCache.refreshAfterCommit();
             return root.getId();
         }
 
@@ -59,6 +148,7 @@ public class CategoryService {
 
         Category child = Category.createChild(name, parent);
         categoryRepository.save(child);
+        categoryTreeCache.refreshAfterCommit();
         return child.getId();
     }
 
@@ -67,5 +157,17 @@ public class CategoryService {
             throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + categoryId);
         }
         categoryRepository.deleteById(categoryId);
+        categoryTreeCache.refreshAfterCommit();
+    }
+
+    private CategoryTreeResult toTreeResult(CategoryTree tree, CategoryNode node) {
+        return new CategoryTreeResult(
+                node.id(),
+                node.name(),
+                node.depth(),
+                tree.children(node.id()).stream()
+                        .map(child -> toTreeResult(tree, child))
+                        .toList()
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.booster.queryburst.product.application;
+
+import com.booster.queryburst.product.application.dto.CategoryNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 카테고리 전체 트리 스냅샷 (불변).
+ *
+ * 생성 이후 변경되지 않으므로 여러 요청 스레드가 락 없이 공유한다.
+ * 카테고리가 바뀌면 새 스냅샷을 만들어 참조만 교체한다 (CategoryTreeCache).
+ *
+ * 최대 3단계, ~1,000건이므로 전체를 메모리에 두어도 부담이 없다.
+ */
+public final class CategoryTree {
+
+    private static final Comparator<CategoryNode> BY_ID = Comparator.comparing(CategoryNode::id);
+
+    private final Map<Long, CategoryNode> nodesById;
+    private final Map<Long, List<CategoryNode>> childrenById;
+    private final List<CategoryNode> roots;
+
+    private CategoryTree(
+            Map<Long, CategoryNode> nodesById,
+            Map<Long, List<CategoryNode>> childrenById,
+            List<CategoryNode> roots
+    ) {
+        this.nodesById = nodesById;
+        this.childrenById = childrenById;
+        this.roots = roots;
+    }
+
+    public static CategoryTree empty() {
+        return new CategoryTree(Map.of(), Map.of(), List.of());
+    }
+
+    /**
+     * 부모를 찾을 수 없는 노드(부모가 먼저 삭제된 경우 등)는 최상위로 취급한다.
+     */
+    public static CategoryTree of(Collection<CategoryNode> nodes) {
+        Map<Long, CategoryNode> nodesById = new HashMap<>(nodes.size() * 2);
+        for (CategoryNode node : nodes) {
+            nodesById.put(node.id(), node);
+        }
+
+        Map<Long, List<CategoryNode>> children = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+        for (CategoryNode node : nodes) {
+            if (node.parentId() == null || !nodesById.containsKey(node.parentId())) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(node.parentId(), id -> new ArrayList<>()).add(node);
+            }
+        }
+
+        Map<Long, List<CategoryNode>> childrenById = new HashMap<>(children.size() * 2);
+        children.forEach((parentId, list) -> childrenById.put(parentId, sortedCopy(list)));
+
+        return new CategoryTree(Map.copyOf(nodesById), Map.copyOf(childrenById), sortedCopy(roots));
+    }
+
+    public Optional<CategoryNode> find(Long categoryId) {
+        return Optional.ofNullable(nodesById.get(categoryId));
+    }
+
+    public boolean contains(Long categoryId) {
+        return nodesById.containsKey(categoryId);
+    }
+
+    public List<CategoryNode> roots() {
+        return roots;
+    }
+
+    public List<CategoryNode> children(Long categoryId) {
+        return childrenById.getOrDefault(categoryId, List.of());
+    }
+
+    /**
+     * 자신을 포함한 하위 전체 (전위 순회). 존재하지 않는 카테고리면 빈 리스트.
+     */
+    public List<CategoryNode> subtree(Long categoryId) {
+        CategoryNode start = nodesById.get(categoryId);
+        if (start == null) {
+            return List.of();
+        }
+
+        List<CategoryNode> result = new ArrayList<>();
+        Deque<CategoryNode> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            CategoryNode node = stack.pop();
+            result.add(node);
+            List<CategoryNode> children = children(node.id());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 최상위부터 자신까지의 경로. 존재하지 않는 카테고리면 빈 리스트.
+     */
+    public List<CategoryNode> ancestorPath(Long categoryId) {
+        List<CategoryNode> path = new ArrayList<>();
+        CategoryNode node = nodesById.get(categoryId);
+        while (node != null) {
+            path.addFirst(node);
+            node = node.parentId() != null ? nodesById.get(node.parentId()) : null;
+        }
+        return path;
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    private static List<CategoryNode> sortedCopy(List<CategoryNode> nodes) {
+        return nodes.stream().sorted(BY_ID).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.booster.queryburst.product.application;
+
+import com.booster.queryburst.product.domain.CategoryQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 인메모리 카테고리 트리 홀더.
+ *
+ * <h2>갱신</h2>
+ * <pre>
+ * 1. 기동 완료 시 전체 카테고리 1회 조회 → 불변 CategoryTree 생성
+ * 2. createCategory / deleteCategory 커밋 후 → 로컬 재적재 + CATEGORY:TREE:CHANGED 발행
+ * 3. 다른 인스턴스는 토픽 수신 시 재적재
+ * 4. 메시지 유실 대비 5분 주기 재적재
+ * 5. 조회 중 DB에는 있지만 스냅샷에 없는 카테고리를 만나면 즉시 재적재 (reloadIfMissing)
+ * </pre>
+ * 읽기 경로는 volatile 참조 1회 읽기로 끝나며, 재적재 중에도 이전 스냅샷을 그대로 제공한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private static final String CHANGE_TOPIC = "CATEGORY:TREE:CHANGED";
+
+    private final CategoryQueryRepository categoryQueryRepository;
+    private final RedissonClient redissonClient;
+
+    private volatile CategoryTree tree = CategoryTree.empty();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        topic().addListener(String.class, (channel, message) -> reload());
+        reload();
+    }
+
+    public CategoryTree get() {
+        return tree;
+    }
+
+    /**
+     * 현재 트랜잭션 커밋 후 재적재하고 다른 인스턴스에 변경을 알린다. 트랜잭션 밖이면 즉시 수행한다.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshAndBroadcast();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshAndBroadcast();
+            }
+        });
+    }
+
+    public void refreshAndBroadcast() {
+        reload();
+        try {
+            topic().publish("changed");
+        } catch (Exception e) {
+            log.warn("[CategoryTree] 변경 이벤트 발행 실패. 다른 인스턴스는 주기 재적재로 반영됩니다.", e);
+        }
+    }
+
+    /**
+     * DB에는 있지만 스냅샷에 없는 카테고리를 만났을 때 호출한다 (변경 메시지 유실/지연).
+     * 동시에 여러 요청이 호출해도 먼저 들어온 요청의 재적재로 카테고리가 보이면 다시 읽지 않는다.
+     *
+     * @return 재적재 후(또는 이미 반영된) 스냅샷
+     */
+    public synchronized CategoryTree reloadIfMissing(Long categoryId) {
+        if (tree.find(categoryId).isEmpty()) {
+            reload();
+        }
+        return tree;
+    }
+
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    public synchronized void reload() {
+        try {
+            CategoryTree loaded = CategoryTree.of(categoryQueryRepository.findAllNodes());
+            tree = loaded;
+            log.debug("[CategoryTree] reloaded. size={}", loaded.size());
+        } catch (Exception e) {
+            log.error("[CategoryTree] 재적재 실패. 이전 스냅샷을 유지합니다.", e);
+        }
+    }
+
+    private RTopic topic() {
+        return redissonClient.getTopic(CHANGE_TOPIC, StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.booster.queryburst.product.application;
+
+import com.booster.queryburst.product.domain.ProductCategoryPathRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 카테고리 경로(조상 컬럼) 백필.
+ *
+ * <h2>흐름</h2>
+ * <pre>
+ * 1. 기동 완료 시 조상 컬럼이 NULL인 상품이 있는지 확인 (EXISTS 1회)
+ * 2. 있으면 id 순서로 배치 UPDATE (product.category-path.backfill-on-startup=false면 관리자 API로 실행)
+ * 3. 끝나면 하위 카테고리 조회(includeDescendants) 허용
+ * </pre>
+ * 백필 전에 하위 카테고리를 조회하면 기존 상품이 조용히 빠진 결과가 나가므로, 완료 전에는 조회를 거부한다.
+ * 여러 인스턴스가 동시에 실행해도 같은 값으로 채우므로 결과가 같다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCategoryPathBackfill {
+
+    private final ProductCategoryPathRepository productCategoryPathRepository;
+
+    @Value("${product.category-path.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${product.category-path.backfill-batch-size:10000}")
+    private int batchSize;
+
+    private volatile boolean complete;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!productCategoryPathRepository.hasMissing()) {
+            complete = true;
+            return;
+        }
+        if (!backfillOnStartup) {
+            log.warn("[CategoryPath] 카테고리 경로가 비어 있는 상품이 있습니다. 백필 전까지 하위 카테고리 조회를 거부합니다.");
+            return;
+        }
+        run();
+    }
+
+    /**
+     * 조상 컬럼이 NULL인 상품을 채우고 하위 카테고리 조회를 허용한다.
+     *
+     * @return 갱신한 상품 수
+     */
+    public long run() {
+        long startedAt = System.currentTimeMillis();
+        long updated = productCategoryPathRepository.backfill(batchSize);
+        complete = true;
+        log.info("[CategoryPath] 상품 카테고리 경로 백필 완료. updated={}, elapsedMs={}",
+                updated, System.currentTimeMillis() - startedAt);
+        return updated;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
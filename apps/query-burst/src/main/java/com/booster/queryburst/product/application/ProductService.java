@@ -2,15 +2,21 @@ package com.booster.queryburst.product.application;
 
 import com.booster.queryburst.member.domain.Member;
 import com.booster.queryburst.member.domain.MemberRepository;
+import com.booster.queryburst.product.application.dto.CategoryNode;
 import com.booster.queryburst.product.application.dto.ProductCreateCommand;
+import com.booster.queryburst.product.application.dto.ProductListRow;
 import com.booster.queryburst.product.application.dto.ProductResult;
 import com.booster.queryburst.product.domain.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -20,23 +26,67 @@ public class ProductService {
     private final ProductQueryRepository productQueryRepository;
     private final CategoryRepository categoryRepository;
     private final MemberRepository memberRepository;
+    private final CategoryProductCountRepository categoryProductCountRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ProductCategoryPathBackfill productCategoryPathBackfill;
 
     /**
      * 커서 기반 상품 목록 조회 (OFFSET 없음)
      *
      * 복합 인덱스 활용: idx_product_category_status_price
      * - categoryId, status 필터가 함께 있을 때 최적화
+     *
+     * 카테고리 이름은 인메모리 CategoryTree에서 채우므로 category 테이블을 조회하지 않는다.
+     *
+     * includeDescendants=true이면 대/중분류의 하위 전체를 비정규화된 조상 컬럼 동등 조건 하나로 조회한다.
+     * 소분류(depth 3)는 하위가 없으므로 단일 카테고리 조회와 같다.
+     * 트리 스냅샷에 없는 카테고리는 PK 조회로 depth를 확인하고 트리를 재적재한다 (단일 카테고리 조회로 축소하지 않음).
+     * 기존 상품의 조상 컬럼 백필({@link ProductCategoryPathBackfill})이 끝나기 전에는 하위 조회를 거부한다.
      */
     @Transactional(readOnly = true)
     public List<ProductResult> getProductsByCursor(
             Long cursorId,
             Long categoryId,
+            boolean includeDescendants,
             ProductStatus status,
             Long minPrice,
             Long maxPrice,
             int size
     ) {
-        return productQueryRepository.findByCursor(cursorId, categoryId, status, minPrice, maxPrice, size);
+        CategoryTree tree = categoryTreeCache.get();
+        Integer subtreeDepth = null;
+        if (includeDescendants && categoryId != null) {
+            Optional<Integer> depth = tree.find(categoryId).map(CategoryNode::depth);
+            if (depth.isEmpty()) {
+                // 스냅샷이 오래됨(변경 메시지 유실/지연): DB 값으로 하위 조회를 유지하고 트리를 재적재한다
+                depth = categoryRepository.findById(categoryId).map(Category::getDepth);
+                if (depth.isPresent()) {
+                    log.warn("[ProductService] 카테고리 트리 스냅샷에 없는 카테고리. 재적재합니다. categoryId={}", categoryId);
+                    tree = categoryTreeCache.reloadIfMissing(categoryId);
+                }
+            }
+            subtreeDepth = depth.filter(value -> value < 3).orElse(null);
+            if (subtreeDepth != null && !productCategoryPathBackfill.isComplete()) {
+                throw new IllegalStateException("상품 카테고리 경로 백필이 끝나지 않아 하위 카테고리 조회를 할 수 없습니다.");
+            }
+        }
+
+        List<ProductListRow> rows = productQueryRepository.findByCursor(
+                cursorId, categoryId, subtreeDepth, status, minPrice, maxPrice, size);
+
+        return rows.stream()
+                .map(row -> new ProductResult(
+                        row.id(),
+                        row.name(),
+                        row.price(),
+                        row.stock(),
+                        row.status(),
+                        row.categoryId(),
+                        tree.find(row.categoryId()).map(CategoryNode::name).orElse(null),
+                        row.sellerId(),
+                        row.sellerName()
+                ))
+                .toList();
     }
 
     public Long createProduct(ProductCreateCommand command) {
@@ -55,6 +105,10 @@ public class ProductService {
                 seller
         );
         productRepository.save(product);
+        categoryProductCountRepository.applyDeltas(
+                List.of(CategoryProductCountDelta.added(category.getId(), product.getStatus())),
+                LocalDateTime.now()
+        );
         return product.getId();
     }
 
@@ -65,14 +119,26 @@ public class ProductService {
 
     public void updateStatus(Long productId, ProductStatus status) {
         Product product = getProductOrThrow(productId);
+        ProductStatus before = product.getStatus();
+        if (before == status) {
+            return;
+        }
         product.changeStatus(status);
+
+        Long categoryId = product.getCategory().getId();
+        categoryProductCountRepository.applyDeltas(List.of(
+                CategoryProductCountDelta.removed(categoryId, before),
+                CategoryProductCountDelta.added(categoryId, status)
+        ), LocalDateTime.now());
     }
 
     public void deleteProduct(Long productId) {
-        if (!productRepository.existsById(productId)) {
-            throw new IllegalArgumentException("존재하지 않는 상품입니다. id=" + productId);
-        }
-        productRepository.deleteById(productId);
+        Product product = getProductOrThrow(productId);
+        productRepository.delete(product);
+        categoryProductCountRepository.applyDeltas(
+                List.of(CategoryProductCountDelta.removed(product.getCategory().getId(), product.getStatus())),
+                LocalDateTime.now()
+        );
     }
 
     private Product getProductOrThrow(Long productId) {
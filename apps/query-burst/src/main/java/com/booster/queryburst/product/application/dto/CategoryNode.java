@@ -0,0 +1,12 @@
+package com.booster.queryburst.product.application.dto;
+
+/**
+ * 카테고리 트리 노드 (불변).
+ */
+public record CategoryNode(
+        Long id,
+        String name,
+        Long parentId,
+        int depth
+) {
+}
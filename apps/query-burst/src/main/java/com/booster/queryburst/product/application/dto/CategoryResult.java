@@ -4,6 +4,7 @@ public record CategoryResult(
         Long id,
         String name,
         Long parentId,
-        int depth
+        int depth,
+        long productCount   // category_product_count 카운터 합계 (COUNT 스캔 없음)
 ) {
 }
@@ -0,0 +1,14 @@
+package com.booster.queryburst.product.application.dto;
+
+import java.util.List;
+
+/**
+ * 하위 카테고리를 포함한 트리 조회 결과.
+ */
+public record CategoryTreeResult(
+        Long id,
+        String name,
+        int depth,
+        List<CategoryTreeResult> children
+) {
+}
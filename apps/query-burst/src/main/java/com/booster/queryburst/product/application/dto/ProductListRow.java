@@ -0,0 +1,18 @@
+package com.booster.queryburst.product.application.dto;
+
+import com.booster.queryburst.product.domain.ProductStatus;
+
+/**
+ * 상품 목록 행 (카테고리 표시 정보 제외). 카테고리 이름은 인메모리 트리에서 채운다.
+ */
+public record ProductListRow(
+        Long id,
+        String name,
+        Long price,
+        int stock,
+        ProductStatus status,
+        Long categoryId,
+        Long sellerId,
+        String sellerName
+) {
+}
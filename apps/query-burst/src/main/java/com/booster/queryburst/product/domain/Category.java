@@ -69,4 +69,16 @@ public class Category extends BaseEntity {
     public boolean isHighest() {
         return parent == null;
     }
+
+    /**
+     * 지정 depth의 조상(자신 포함) ID. 자신보다 깊은 depth면 null.
+     * 상위 카테고리는 지연 로딩 프록시일 수 있으므로 필드 대신 getter로 접근한다.
+     */
+    public Long ancestorIdAt(int targetDepth) {
+        Category current = this;
+        while (current != null && current.getDepth() > targetDepth) {
+            current = current.getParent();
+        }
+        return current != null && current.getDepth() == targetDepth ? current.getId() : null;
+    }
 }
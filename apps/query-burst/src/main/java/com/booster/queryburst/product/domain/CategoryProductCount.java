@@ -0,0 +1,47 @@
+package com.booster.queryburst.product.domain;
+
+import com.booster.storage.db.core.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카테고리별 상품 수 카운터 (상태별 1행).
+ *
+ * 상품 생성/삭제/상태 변경 시 같은 트랜잭션에서 증감하여 유지한다.
+ * 카테고리 화면은 product COUNT(*) 대신 이 테이블에서 카테고리당 최대 3행(상태 수)만 읽는다.
+ *
+ * 목적:
+ *   기존: SELECT COUNT(*) FROM product WHERE category_id = ? → 100만 건 중 해당 카테고리 범위 스캔
+ *   개선: SELECT SUM(product_count) FROM category_product_count WHERE category_id = ? → 인덱스 조회 수 행
+ *
+ * 인덱스:
+ *   - (category_id, status) UNIQUE: UPSERT 기준 컬럼
+ *
+ * FK를 두지 않아 카테고리/상품 적재 순서나 삭제와 무관하게 갱신할 수 있다.
+ */
+@Entity
+@Table(
+        name = "category_product_count",
+        indexes = {
+                @Index(name = "idx_category_product_count_category_status", columnList = "category_id, status", unique = true)
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryProductCount extends BaseEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ProductStatus status;
+
+    @Column(nullable = false)
+    private long productCount;
+}
@@ -0,0 +1,18 @@
+package com.booster.queryburst.product.domain;
+
+/**
+ * (카테고리, 상태) 단위 상품 수 증감분.
+ */
+public record CategoryProductCountDelta(
+        Long categoryId,
+        ProductStatus status,
+        long delta
+) {
+    public static CategoryProductCountDelta added(Long categoryId, ProductStatus status) {
+        return new CategoryProductCountDelta(categoryId, status, 1);
+    }
+
+    public static CategoryProductCountDelta removed(Long categoryId, ProductStatus status) {
+        return new CategoryProductCountDelta(categoryId, status, -1);
+    }
+}
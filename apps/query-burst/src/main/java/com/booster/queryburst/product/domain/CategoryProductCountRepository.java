@@ -0,0 +1,159 @@
+package com.booster.queryburst.product.domain;
+
+import com.booster.common.SnowflakeGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리별 상품 수 카운터 리포지토리 (JDBC).
+ *
+ * 증감은 INSERT ... ON CONFLICT DO UPDATE로 처리하여 행이 없을 때도 SELECT 없이 한 문장으로 끝난다.
+ * 호출하는 트랜잭션에 참여하므로 상품 변경이 롤백되면 카운터도 함께 롤백된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryProductCountRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO category_product_count (id, category_id, status, product_count, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (category_id, status) DO UPDATE
+               SET product_count = GREATEST(0, category_product_count.product_count + ?),
+                   updated_at    = EXCLUDED.updated_at
+            """;
+
+    private static final String TOTALS_SQL = """
+            SELECT category_id, SUM(product_count) AS product_count
+            FROM category_product_count
+            WHERE category_id IN (:categoryIds)
+            GROUP BY category_id
+            """;
+
+    private static final String COUNT_SQL =
+            "SELECT COALESCE(SUM(product_count), 0) FROM category_product_count WHERE category_id = ?";
+
+    private static final String COUNT_BY_STATUS_SQL =
+            "SELECT COALESCE(SUM(product_count), 0) FROM category_product_count WHERE category_id = ? AND status = ?";
+
+    private static final String RESET_SQL = "UPDATE category_product_count SET product_count = 0, updated_at = ?";
+
+    private static final String GROUP_COUNT_SQL = """
+            SELECT category_id, status, COUNT(*) AS product_count
+            FROM product
+            GROUP BY category_id, status
+            ORDER BY category_id, status
+            """;
+
+    private static final String REBUILD_SQL = """
+            INSERT INTO category_product_count (id, category_id, status, product_count, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (category_id, status) DO UPDATE
+               SET product_count = EXCLUDED.product_count,
+                   updated_at    = EXCLUDED.updated_at
+            """;
+
+    private static final String ESTIMATE_SQL = "EXPLAIN SELECT 1 FROM product WHERE category_id = ?";
+    private static final String ESTIMATE_BY_STATUS_SQL = "EXPLAIN SELECT 1 FROM product WHERE category_id = ? AND status = ?";
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 증감분을 (categoryId, status) 순으로 정렬하여 반영한다. 동시 트랜잭션 간 행 락 순서를 맞춰 교착을 피한다.
+     */
+    public void applyDeltas(Collection<CategoryProductCountDelta> deltas, LocalDateTime now) {
+        Map<Key, Long> merged = deltas.stream()
+                .collect(Collectors.toMap(
+                        delta -> new Key(delta.categoryId(), delta.status()),
+                        CategoryProductCountDelta::delta,
+                        Long::sum
+                ));
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, merged.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(Key::categoryId)
+                        .thenComparing(Key::status)))
+                .map(entry -> new Object[]{
+                        SnowflakeGenerator.nextId(),
+                        entry.getKey().categoryId(),
+                        entry.getKey().status().name(),
+                        Math.max(0, entry.getValue()),
+                        now, now,
+                        entry.getValue()
+                })
+                .toList());
+    }
+
+    public long count(Long categoryId, ProductStatus status) {
+        Long count = status == null
+                ? jdbcTemplate.queryForObject(COUNT_SQL, Long.class, categoryId)
+                : jdbcTemplate.queryForObject(COUNT_BY_STATUS_SQL, Long.class, categoryId, status.name());
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 카테고리 목록 화면용 일괄 조회. 카운터 행이 없는 카테고리는 결과에 포함되지 않는다(0건).
+     */
+    public Map<Long, Long> findTotals(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> totals = new HashMap<>();
+        namedParameterJdbcTemplate.query(TOTALS_SQL,
+                new MapSqlParameterSource("categoryIds", categoryIds),
+                rs -> {
+                    totals.put(rs.getLong("category_id"), rs.getLong("product_count"));
+                });
+        return totals;
+    }
+
+    /**
+     * 플래너 통계(pg_statistic) 기반 추정치. 테이블을 읽지 않으며 ANALYZE 시점의 분포를 따른다.
+     */
+    public long estimate(Long categoryId, ProductStatus status) {
+        List<String> plan = status == null
+                ? jdbcTemplate.queryForList(ESTIMATE_SQL, String.class, categoryId)
+                : jdbcTemplate.queryForList(ESTIMATE_BY_STATUS_SQL, String.class, categoryId, status.name());
+        if (plan.isEmpty()) {
+            return 0L;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(plan.getFirst());
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    /**
+     * product 테이블 기준으로 카운터 전체를 재계산한다. 대량 적재(JDBC 직접 INSERT) 이후 또는 불일치 복구용.
+     *
+     * 그룹 수(카테고리 × 상태)만큼만 애플리케이션으로 읽어 행마다 SnowflakeGenerator로 id를 발급한다.
+     * 하나의 id에 ROW_NUMBER를 더하는 방식은 다른 인스턴스가 같은 구간에서 발급한 id와 겹칠 수 있다.
+     */
+    public void rebuild(LocalDateTime now) {
+        jdbcTemplate.update(RESET_SQL, now);
+        List<Object[]> rows = jdbcTemplate.query(GROUP_COUNT_SQL, (rs, rowNum) -> new Object[]{
+                SnowflakeGenerator.nextId(),
+                rs.getLong("category_id"),
+                rs.getString("status"),
+                rs.getLong("product_count"),
+                now, now
+        });
+        jdbcTemplate.batchUpdate(REBUILD_SQL, rows);
+    }
+
+    private record Key(Long categoryId, ProductStatus status) {
+    }
+}
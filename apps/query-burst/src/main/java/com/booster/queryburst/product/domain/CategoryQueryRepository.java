@@ -1,8 +1,10 @@
 package com.booster.queryburst.product.domain;
 
+import com.booster.queryburst.product.application.dto.CategoryNode;
 import com.booster.queryburst.product.application.dto.CategoryResult;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 import static com.booster.queryburst.product.domain.QCategory.*;
+import static com.booster.queryburst.product.domain.QCategoryProductCount.categoryProductCount;
 
 @Repository
 @RequiredArgsConstructor
@@ -17,6 +20,10 @@ public class CategoryQueryRepository {
 
     private final JPAQueryFactory queryFactory;
 
+    /**
+     * 상품 수는 카운터 테이블 상관 서브쿼리로 함께 조회한다.
+     * idx_category_product_count_category_status로 카테고리당 상태 수(최대 3행)만 읽는다.
+     */
     public List<CategoryResult> findByCursor(Long cursorId, int size) {
 
         BooleanBuilder condition = getCondition(cursorId);
@@ -25,7 +32,11 @@ public class CategoryQueryRepository {
                         category.id,
                         category.name,
                         category.parent.id,
-                        category.depth
+                        category.depth,
+                        JPAExpressions
+                                .select(categoryProductCount.productCount.sum().coalesce(0L))
+                                .from(categoryProductCount)
+                                .where(categoryProductCount.categoryId.eq(category.id))
                 ))
                 .from(category)
                 .where(condition)
@@ -34,7 +45,20 @@ public class CategoryQueryRepository {
                 .fetch();
     }
 
-
+    /**
+     * 인메모리 트리 적재용 전체 조회 (~1,000건, 1회).
+     */
+    public List<CategoryNode> findAllNodes() {
+        return queryFactory
+                .select(Projections.constructor(CategoryNode.class,
+                        category.id,
+                        category.name,
+                        category.parent.id,
+                        category.depth
+                ))
+                .from(category)
+                .fetch();
+    }
 
     private BooleanBuilder getCondition(Long cursorId) {
         if (cursorId != null) {
@@ -18,6 +18,7 @@ import lombok.NoArgsConstructor;
  * - status: 상태 필터링 (카디널리티 낮음 → 부분 인덱스 고려)
  * - (category_id, status, price): 카테고리 내 가격 범위 + 상태 필터 복합 인덱스
  * - (status, price): 가격 범위 검색 시 사용
+ * - (category_depth1_id, id), (category_depth2_id, id): 상위 카테고리 하위 전체 조회 (카테고리 트리 경로 비정규화)
  *
  * 조인 실습:
  * - Product ↔ Category: 카테고리별 상품 검색
@@ -32,7 +33,9 @@ import lombok.NoArgsConstructor;
                 @Index(name = "idx_product_seller_id", columnList = "seller_id"),
                 @Index(name = "idx_product_status", columnList = "status"),
                 @Index(name = "idx_product_price", columnList = "price"),
-                @Index(name = "idx_product_category_status_price", columnList = "category_id, status, price")
+                @Index(name = "idx_product_category_status_price", columnList = "category_id, status, price"),
+                @Index(name = "idx_product_category_depth1_id", columnList = "category_depth1_id, id"),
+                @Index(name = "idx_product_category_depth2_id", columnList = "category_depth2_id, id")
         }
 )
 @Getter
@@ -68,6 +71,19 @@ public class Product extends BaseEntity {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    /**
+     * 카테고리 경로 비정규화 (고정 3단계 materialized path).
+     *
+     * 대분류/중분류 조상 ID를 상품 행에 함께 저장하여, 상위 카테고리 하위 전체 조회를
+     * 하위 카테고리 수만큼의 IN/OR 대신 컬럼 하나의 동등 조건(인덱스 범위 스캔 1회)으로 처리한다.
+     * 카테고리는 이동 기능이 없으므로 상품 생성 시 한 번만 기록한다.
+     */
+    @Column(name = "category_depth1_id")
+    private Long categoryDepth1Id;
+
+    @Column(name = "category_depth2_id")
+    private Long categoryDepth2Id;
+
     /** 판매자 (Member와 조인 실습) */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id", nullable = false)
@@ -82,6 +98,8 @@ public class Product extends BaseEntity {
         product.stock = stock;
         product.status = status;
         product.category = category;
+        product.categoryDepth1Id = category.ancestorIdAt(1);
+        product.categoryDepth2Id = category.ancestorIdAt(2);
         product.seller = seller;
         return product;
     }
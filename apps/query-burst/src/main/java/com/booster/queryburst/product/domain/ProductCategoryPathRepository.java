@@ -0,0 +1,72 @@
+package com.booster.queryburst.product.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 상품 카테고리 경로(category_depth1_id / category_depth2_id) 백필 리포지토리 (JDBC).
+ *
+ * 조상 컬럼 추가 이전에 적재된 상품은 ddl-auto: update로 컬럼만 생기고 값이 NULL이다.
+ * NULL 행을 id 순서로 나눠 UPDATE하여 한 문장이 product 전체를 잠그지 않게 한다.
+ * 각 배치는 호출자의 트랜잭션 밖에서 자동 커밋된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductCategoryPathRepository {
+
+    private static final String HAS_MISSING_SQL =
+            "SELECT EXISTS (SELECT 1 FROM product WHERE category_depth1_id IS NULL)";
+
+    private static final String NEXT_BATCH_SQL = """
+            SELECT id
+            FROM product
+            WHERE category_depth1_id IS NULL
+              AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    // 소속 카테고리 depth별 조상 ID (depth 1은 자신이 대분류, depth 3은 부모의 부모가 대분류)
+    private static final String BACKFILL_SQL = """
+            UPDATE product
+               SET category_depth1_id = (
+                       SELECT CASE c.depth WHEN 1 THEN c.id WHEN 2 THEN c.parent_id ELSE pc.parent_id END
+                       FROM category c
+                       LEFT JOIN category pc ON pc.id = c.parent_id
+                       WHERE c.id = product.category_id),
+                   category_depth2_id = (
+                       SELECT CASE c.depth WHEN 2 THEN c.id WHEN 3 THEN c.parent_id END
+                       FROM category c
+                       WHERE c.id = product.category_id)
+             WHERE category_depth1_id IS NULL
+               AND id BETWEEN ? AND ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean hasMissing() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_MISSING_SQL, Boolean.class));
+    }
+
+    /**
+     * 조상 컬럼이 NULL인 상품을 batchSize개씩 채운다.
+     * id 커서로 진행하므로 채울 수 없는 행(조상이 없는 카테고리)이 있어도 같은 행을 반복하지 않는다.
+     *
+     * @return 갱신한 상품 수
+     */
+    public long backfill(int batchSize) {
+        long updated = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_BATCH_SQL, Long.class, lastId, batchSize);
+            if (ids.isEmpty()) {
+                return updated;
+            }
+            updated += jdbcTemplate.update(BACKFILL_SQL, ids.getFirst(), ids.getLast());
+            lastId = ids.getLast();
+        }
+    }
+}
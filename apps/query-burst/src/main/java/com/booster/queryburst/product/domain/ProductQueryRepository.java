@@ -1,8 +1,9 @@
 package com.booster.queryburst.product.domain;
 
-import com.booster.queryburst.product.application.dto.ProductResult;
+import com.booster.queryburst.product.application.dto.ProductListRow;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -10,7 +11,6 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 import static com.booster.queryburst.product.domain.QProduct.product;
-import static com.booster.queryburst.product.domain.QCategory.category;
 import static com.booster.queryburst.member.domain.QMember.member;
 
 @Repository
@@ -25,31 +25,35 @@ public class ProductQueryRepository {
      * 복합 인덱스 활용: idx_product_category_status_price (category_id, status, price)
      * - categoryId + status 조건이 있을 때 최적 인덱스 사용
      * - cursorId는 마지막 정렬 기준(id DESC)의 연속 지점
+     *
+     * category 조인 없음. 카테고리 이름은 호출자가 인메모리 CategoryTree에서 채운다.
+     *
+     * @param subtreeDepth null이면 categoryId 단일 카테고리만, 1·2이면 해당 depth 카테고리의 하위 전체
+     *                     (idx_product_category_depth1_id / idx_product_category_depth2_id 범위 스캔 1회)
      */
-    public List<ProductResult> findByCursor(
+    public List<ProductListRow> findByCursor(
             Long cursorId,
             Long categoryId,
+            Integer subtreeDepth,
             ProductStatus status,
             Long minPrice,
             Long maxPrice,
             int size
     ) {
-        BooleanBuilder condition = buildCondition(cursorId, categoryId, status, minPrice, maxPrice);
+        BooleanBuilder condition = buildCondition(cursorId, categoryId, subtreeDepth, status, minPrice, maxPrice);
 
         return queryFactory
-                .select(Projections.constructor(ProductResult.class,
+                .select(Projections.constructor(ProductListRow.class,
                         product.id,
                         product.name,
                         product.price,
                         product.stock,
                         product.status,
-                        category.id,
-                        category.name,
+                        product.category.id,
                         member.id,
                         member.name
                 ))
                 .from(product)
-                .join(product.category, category)
                 .join(product.seller, member)
                 .where(condition)
                 .orderBy(product.id.desc())
@@ -57,21 +61,10 @@ public class ProductQueryRepository {
                 .fetch();
     }
 
-    /**
-     * 특정 카테고리 하위 상품 수 집계 (카테고리 통계용)
-     */
-    public long countByCategory(Long categoryId) {
-        Long count = queryFactory
-                .select(product.count())
-                .from(product)
-                .where(product.category.id.eq(categoryId))
-                .fetchOne();
-        return count != null ? count : 0L;
-    }
-
     private BooleanBuilder buildCondition(
             Long cursorId,
             Long categoryId,
+            Integer subtreeDepth,
             ProductStatus status,
             Long minPrice,
             Long maxPrice
@@ -82,7 +75,7 @@ public class ProductQueryRepository {
             condition.and(product.id.lt(cursorId));
         }
         if (categoryId != null) {
-            condition.and(product.category.id.eq(categoryId));
+            condition.and(categoryCondition(categoryId, subtreeDepth));
         }
         if (status != null) {
             condition.and(product.status.eq(status));
@@ -96,4 +89,15 @@ public class ProductQueryRepository {
 
         return condition;
     }
+
+    private BooleanExpression categoryCondition(Long categoryId, Integer subtreeDepth) {
+        if (subtreeDepth == null) {
+            return product.category.id.eq(categoryId);
+        }
+        return switch (subtreeDepth) {
+            case 1 -> product.categoryDepth1Id.eq(categoryId);
+            case 2 -> product.categoryDepth2Id.eq(categoryId);
+            default -> product.category.id.eq(categoryId);
+        };
+    }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -19,4 +21,16 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * 주문 상품 일괄 비관적 쓰기 락 조회 (카테고리 fetch join).
+     *
+     * SELECT ... WHERE id IN (...) ORDER BY id FOR UPDATE 1회로 상품 행을 잠그고,
+     * 이벤트 payload 구성에 필요한 카테고리도 함께 로딩한다.
+     * id 오름차순으로 잠가 다중 상품 주문 간 교착을 방지한다.
+     * 락 대상은 조회 루트인 상품 행이며, 카테고리 행은 잠그지 않는다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdWithCategoryForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -3,8 +3,11 @@ package com.booster.queryburst.product.web;
 import com.booster.queryburst.member.web.dto.response.CursorPageResponse;
 import com.booster.queryburst.product.application.CategoryService;
 import com.booster.queryburst.product.application.dto.CategoryResult;
+import com.booster.queryburst.product.domain.ProductStatus;
 import com.booster.queryburst.product.web.dto.request.CategoryCreateRequest;
+import com.booster.queryburst.product.web.dto.response.CategoryPathResponse;
 import com.booster.queryburst.product.web.dto.response.CategoryResponse;
+import com.booster.queryburst.product.web.dto.response.CategoryTreeResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -51,6 +54,65 @@ public class CategoryController {
         return ResponseEntity.ok(CursorPageResponse.of(content, hasNext, nextCursor));
     }
 
+    /**
+     * 전체 카테고리 트리. 인메모리 스냅샷에서 응답하며 DB를 조회하지 않는다.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryTreeResponse>> getTree() {
+        return ResponseEntity.ok(categoryService.getTree().stream()
+                .map(CategoryTreeResponse::from)
+                .toList());
+    }
+
+    /**
+     * 하위 트리 (자신 포함). 인메모리 스냅샷에서 응답한다.
+     */
+    @GetMapping("/{categoryId}/subtree")
+    public ResponseEntity<CategoryTreeResponse> getSubtree(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(CategoryTreeResponse.from(categoryService.getSubtree(categoryId)));
+    }
+
+    /**
+     * 최상위 → 자신까지의 경로 (breadcrumb). 인메모리 스냅샷에서 응답한다.
+     */
+    @GetMapping("/{categoryId}/path")
+    public ResponseEntity<List<CategoryPathResponse>> getAncestorPath(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(categoryService.getAncestorPath(categoryId).stream()
+                .map(CategoryPathResponse::from)
+                .toList());
+    }
+
+    /**
+     * 카테고리 상품 수.
+     *
+     * product COUNT(*) 대신 category_product_count 카운터(또는 estimate 모드의 플래너 추정치)를 반환한다.
+     */
+    @GetMapping("/{categoryId}/product-count")
+    public ResponseEntity<Long> getProductCount(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) ProductStatus status
+    ) {
+        return ResponseEntity.ok(categoryService.getProductCount(categoryId, status));
+    }
+
+    /**
+     * 카테고리 상품 수 카운터 재계산 (대량 적재 후 / 불일치 복구).
+     */
+    @PostMapping("/product-count/rebuild")
+    public ResponseEntity<Void> rebuildProductCounts() {
+        categoryService.rebuildProductCounts();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 상품 카테고리 경로(category_depth1_id / category_depth2_id) 백필 (컬럼 추가 이전 적재분).
+     * 기동 시 자동 백필을 끈 경우 이 API를 실행해야 하위 카테고리 조회가 허용된다.
+     */
+    @PostMapping("/product-path/backfill")
+    public ResponseEntity<Long> backfillProductCategoryPaths() {
+        return ResponseEntity.ok(categoryService.backfillProductCategoryPaths());
+    }
+
     @PostMapping
     public ResponseEntity<Void> createCategory(@RequestBody CategoryCreateRequest request) {
         Long categoryId = categoryService.createCategory(request.name(), request.parentId());
@@ -26,9 +26,11 @@ public class ProductController {
      *
      * 필터: categoryId, status, minPrice, maxPrice
      * 정렬: id DESC (Snowflake ID → 최신순)
+     * includeDescendants=true: categoryId의 하위 카테고리 상품까지 포함
      *
      * 인덱스 힌트:
      * - categoryId + status → idx_product_category_status_price 활용
+     * - 대/중분류 + includeDescendants → idx_product_category_depth1_id / depth2_id 범위 스캔 1회
      * - status만 → idx_product_status (카디널리티 낮음 → 부분 인덱스 고려)
      * - minPrice/maxPrice → idx_product_price 활용
      */
@@ -36,13 +38,14 @@ public class ProductController {
     public ResponseEntity<CursorPageResponse<ProductSummaryResponse>> getProducts(
             @RequestParam(required = false) Long cursor,
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
             @RequestParam(required = false) ProductStatus status,
             @RequestParam(required = false) Long minPrice,
             @RequestParam(required = false) Long maxPrice,
             @RequestParam(defaultValue = "20") int size
     ) {
         List<ProductResult> fetched = productService.getProductsByCursor(
-                cursor, categoryId, status, minPrice, maxPrice, size
+                cursor, categoryId, includeDescendants, status, minPrice, maxPrice, size
         );
 
         boolean hasNext = fetched.size() > size;
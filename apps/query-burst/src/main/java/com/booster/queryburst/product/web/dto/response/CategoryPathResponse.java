@@ -0,0 +1,19 @@
+package com.booster.queryburst.product.web.dto.response;
+
+import com.booster.queryburst.product.application.dto.CategoryNode;
+
+public record CategoryPathResponse(
+        Long id,
+        String name,
+        Long parentId,
+        int depth
+) {
+    public static CategoryPathResponse from(CategoryNode node) {
+        return new CategoryPathResponse(
+                node.id(),
+                node.name(),
+                node.parentId(),
+                node.depth()
+        );
+    }
+}
@@ -6,14 +6,16 @@ public record CategoryResponse(
         Long id,
         String name,
         Long parentId,
-        int depth
+        int depth,
+        long productCount
 ) {
     public static CategoryResponse from(CategoryResult result) {
         return new CategoryResponse(
                 result.id(),
                 result.name(),
                 result.parentId(),
-                result.depth()
+                result.depth(),
+                result.productCount()
         );
     }
 }
\ No newline at end of file
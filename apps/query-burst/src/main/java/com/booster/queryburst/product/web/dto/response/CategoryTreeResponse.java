@@ -0,0 +1,21 @@
+package com.booster.queryburst.product.web.dto.response;
+
+import com.booster.queryburst.product.application.dto.CategoryTreeResult;
+
+import java.util.List;
+
+public record CategoryTreeResponse(
+        Long id,
+        String name,
+        int depth,
+        List<CategoryTreeResponse> children
+) {
+    public static CategoryTreeResponse from(CategoryTreeResult result) {
+        return new CategoryTreeResponse(
+                result.id(),
+                result.name(),
+                result.depth(),
+                result.children().stream().map(CategoryTreeResponse::from).toList()
+        );
+    }
+}
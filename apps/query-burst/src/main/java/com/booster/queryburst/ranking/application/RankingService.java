@@ -1,10 +1,14 @@
 package com.booster.queryburst.ranking.application;
 
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
 import com.booster.queryburst.ranking.application.dto.ProductRankingResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -13,68 +17,173 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * 실시간 인기 상품 랭킹.
+ *
+ * <h2>쓰기</h2>
+ * 주문 이벤트의 판매량을 현재 시간대 키({RANK}:hourly:yyyyMMddHH)에 ZINCRBY.
+ * 배치 Consumer가 poll 단위로 상품별 증감분을 합산해 {@link #applySalesDeltas}로 Lua 1회에 반영한다.
+ * 시간대 키는 가장 긴 윈도우(7일)를 합산할 수 있도록 7일 + 1시간 유지한다.
+ *
+ * <h2>읽기</h2>
+ * <pre>
+ * 1h  → 현재 시간대 키를 그대로 ZREVRANGE (합산 없음)
+ * 24h / 7d → {RANK}:window:{code} 캐시 키 ZREVRANGE
+ *            캐시가 없으면 Lua 1회로 ZUNIONSTORE(서버 측 합산) + PEXPIRE + ZREVRANGE
+ *            합산 결과가 비면 빈 윈도우 마커({RANK}:window:{code}:empty)를 같은 TTL로 남겨 매 요청 재합산을 막는다
+ * </pre>
+ * 캐시 적중 시 TOP N 조회 비용은 판매 상품 수와 무관하게 ZREVRANGE 1회다.
+ *
+ * <h2>키</h2>
+ * 모든 랭킹 키는 {RANK} 해시 태그를 공유한다. 윈도우 재생성은 최대 168개 시간대 키를 한 번에 합산하므로
+ * Redis Cluster에서도 한 슬롯에 있어야 한다. 멤버(상품 ID)는 StringCodec 문자열로 저장한다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RankingService {
 
-    private static final String HOURLY_KEY_PREFIX = "RANK:hourly:";
-    private static final String WINDOW_KEY_PREFIX = "RANK:window:";
+    private static final String HOURLY_KEY_PREFIX = "{RANK}:hourly:";
+    private static final String WINDOW_KEY_PREFIX = "{RANK}:window:";
+    private static final String EMPTY_WINDOW_SUFFIX = ":empty";
     private static final DateTimeFormatter HOUR_FMT = DateTimeFormatter.ofPattern("yyyyMMddHH");
-    private static final Duration HOURLY_KEY_TTL = Duration.ofHours(25);
-    private static final Duration WINDOW_KEY_TTL = Duration.ofMinutes(5);
+    private static final Duration HOURLY_KEY_TTL = Duration.ofDays(7).plusHours(1);
+    private static final Duration WINDOW_KEY_TTL = Duration.ofSeconds(10);
+
+    /**
+     * KEYS[1]: 윈도우 캐시 키, KEYS[2]: 빈 윈도우 마커, KEYS[3..]: 시간대 키
+     * ARGV[1]: 캐시 TTL(ms), ARGV[2]: 조회할 마지막 순위 인덱스
+     * 반환: ZREVRANGE WITHSCORES 결과 (member, score 반복)
+     *
+     * 캐시와 마커가 모두 없을 때만 재합산한다. ZUNIONSTORE와 PEXPIRE가 한 스크립트에서 실행되므로
+     * TTL 없는 윈도우 키가 남지 않는다.
+     */
+    private static final String REBUILD_WINDOW_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 and redis.call('EXISTS', KEYS[2]) == 0 then
+                local count = redis.call('ZUNIONSTORE', KEYS[1], #KEYS - 2, unpack(KEYS, 3))
+                if count > 0 then
+                    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+                else
+                    redis.call('SET', KEYS[2], '1', 'PX', ARGV[1])
+                end
+            end
+            return redis.call('ZREVRANGE', KEYS[1], 0, ARGV[2], 'WITHSCORES')
+            """;
+
+    /**
+     * KEYS[1]: 현재 시간대 키
+     * ARGV[1]: 키 TTL(ms), ARGV[2..]: (상품 ID, 증감분) 쌍
+     * 반환: 반영한 상품 수
+     *
+     * ZINCRBY 결과가 음수이면 같은 스크립트 안에서 0으로 보정하므로, 증가와 보정 사이에 다른 증감분이 끼어들어 유실되지 않는다.
+     */
+    private static final String APPLY_DELTAS_SCRIPT = """
+            local applied = 0
+            for i = 2, #ARGV, 2 do
+                local score = tonumber(redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i]))
+                if score < 0 then
+                    redis.call('ZADD', KEYS[1], 0, ARGV[i])
+                end
+                applied = applied + 1
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return applied
+            """;
 
     private final RedissonClient redissonClient;
-
-    public void incrementSales(Long productId, int quantity) {
+    private final RedisScriptExecutor redisScriptExecutor;
+
+    /**
+     * 상품별 판매량 증감분을 현재 시간대 키에 일괄 반영한다.
+     *
+     * <pre>
+     * Lua 1회: ZINCRBY × 상품 수 (결과가 음수인 상품은 ZADD 0으로 보정) + PEXPIRE 1회
+     * → 왕복 1회, 전부 반영 또는 전부 미반영
+     * </pre>
+     *
+     * @param deltas productId → 수량 증감분 (취소는 음수)
+     */
+    public void applySalesDeltas(Map<Long, Long> deltas) {
+        List<Object> args = new ArrayList<>(deltas.size() * 2 + 1);
+        args.add(String.valueOf(HOURLY_KEY_TTL.toMillis()));
+        deltas.forEach((productId, delta) -> {
+            if (delta != 0) {
+                args.add(String.valueOf(productId));
+                args.add(String.valueOf(delta));
+            }
+        });
+        if (args.size() == 1) {
+            return;
+        }
         String key = hourlyKey(LocalDateTime.now());
-        RScoredSortedSet<String> set = redissonClient.getScoredSortedSet(key);
-        set.addScore(String.valueOf(productId), quantity);
-        set.expire(HOURLY_KEY_TTL);
-        log.debug("[Ranking] sales incremented. productId={}, qty={}, key={}", productId, quantity, key);
-    }
 
-    public void decrementSales(Long productId, int quantity) {
-        String key = hourlyKey(LocalDateTime.now());
-        RScoredSortedSet<String> set = redissonClient.getScoredSortedSet(key);
-        double nextScore = set.addScore(String.valueOf(productId), -quantity);
-        if (nextScore < 0) {
-            set.add(0.0, String.valueOf(productId));
-        }
-        set.expire(HOURLY_KEY_TTL);
+        Long applied = redisScriptExecutor.execute(
+                APPLY_DELTAS_SCRIPT,
+                RScript.Mode.READ_WRITE,
+                RScript.ReturnType.LONG,
+                List.of(key),
+                args.toArray()
+        );
+        log.debug("[Ranking] sales deltas applied. products={}, key={}", applied, key);
     }
 
-    public List<ProductRankingResult> getTopProducts(int windowHours, int size) {
-        List<String> keys = getHourlyKeys(windowHours);
-
-        String destKey = WINDOW_KEY_PREFIX + windowHours + "h:" + System.currentTimeMillis();
-        RScoredSortedSet<String> dest = redissonClient.getScoredSortedSet(destKey);
-
-        for (String key : keys) {
-            RScoredSortedSet<String> hourSet = redissonClient.getScoredSortedSet(key);
-            Collection<org.redisson.client.protocol.ScoredEntry<String>> entries = hourSet.entryRangeReversed(0, -1);
-            for (org.redisson.client.protocol.ScoredEntry<String> entry : entries) {
-                dest.addScore(entry.getValue(), entry.getScore());
-            }
+    public List<ProductRankingResult> getTopProducts(RankingWindow window, int size) {
+        if (window == RankingWindow.LAST_1H) {
+            return toResults(redissonClient.<String>getScoredSortedSet(hourlyKey(LocalDateTime.now()), StringCodec.INSTANCE)
+                    .entryRangeReversed(0, size - 1));
         }
 
-        dest.expire(WINDOW_KEY_TTL);
+        RScoredSortedSet<String> merged =
+                redissonClient.getScoredSortedSet(WINDOW_KEY_PREFIX + window.code(), StringCodec.INSTANCE);
+        Collection<ScoredEntry<String>> topEntries = merged.entryRangeReversed(0, size - 1);
+        if (!topEntries.isEmpty()) {
+            return toResults(topEntries);
+        }
+        return toResults(rebuildWindow(window, size));
+    }
 
-        Collection<org.redisson.client.protocol.ScoredEntry<String>> topEntries =
-                dest.entryRangeReversed(0, size - 1);
+    /**
+     * 캐시가 없으면 시간대 키들을 ZUNIONSTORE로 서버 측에서 합산하여 윈도우 캐시 키에 저장하고 TOP N을 읽는다.
+     * 동시에 여러 요청이 재생성해도 결과가 같으므로 별도 락을 두지 않는다.
+     * 빈 윈도우 마커가 살아 있으면 합산 없이 빈 결과를 돌려준다.
+     */
+    private List<ScoredEntry<String>> rebuildWindow(RankingWindow window, int size) {
+        String windowKey = WINDOW_KEY_PREFIX + window.code();
+        List<Object> keys = new ArrayList<>(window.hours() + 2);
+        keys.add(windowKey);
+        keys.add(windowKey + EMPTY_WINDOW_SUFFIX);
+        keys.addAll(getHourlyKeys(window.hours()));
+
+        List<Object> flat = redisScriptExecutor.execute(
+                REBUILD_WINDOW_SCRIPT,
+                RScript.Mode.READ_WRITE,
+                RScript.ReturnType.MULTI,
+                keys,
+                String.valueOf(WINDOW_KEY_TTL.toMillis()),
+                String.valueOf(size - 1)
+        );
+
+        List<ScoredEntry<String>> entries = new ArrayList<>(flat.size() / 2);
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            entries.add(new ScoredEntry<>(Double.parseDouble((String) flat.get(i + 1)), (String) flat.get(i)));
+        }
+        log.debug("[Ranking] window read through rebuild. window={}, hourlyKeys={}, entries={}",
+                window.code(), window.hours(), entries.size());
+        return entries;
+    }
 
-        List<ProductRankingResult> results = new ArrayList<>();
+    private List<ProductRankingResult> toResults(Collection<ScoredEntry<String>> entries) {
+        List<ProductRankingResult> results = new ArrayList<>(entries.size());
         int rank = 1;
-        for (org.redisson.client.protocol.ScoredEntry<String> entry : topEntries) {
+        for (ScoredEntry<String> entry : entries) {
             results.add(new ProductRankingResult(
                     Long.parseLong(entry.getValue()),
                     entry.getScore(),
                     rank++
             ));
         }
-
-        dest.delete();
         return results;
     }
 
@@ -0,0 +1,38 @@
+package com.booster.queryburst.ranking.application;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 롤링 윈도우 랭킹 구간.
+ *
+ * hours개의 시간대별 Sorted Set({RANK}:hourly:*)을 합산한 결과가 해당 윈도우의 랭킹이다.
+ */
+public enum RankingWindow {
+
+    LAST_1H("1h", 1),
+    LAST_24H("24h", 24),
+    LAST_7D("7d", 24 * 7);
+
+    private final String code;
+    private final int hours;
+
+    RankingWindow(String code, int hours) {
+        this.code = code;
+        this.hours = hours;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public int hours() {
+        return hours;
+    }
+
+    public static Optional<RankingWindow> fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(window -> window.code.equalsIgnoreCase(code))
+                .findFirst();
+    }
+}
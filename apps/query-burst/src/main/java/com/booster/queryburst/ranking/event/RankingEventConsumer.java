@@ -8,6 +8,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 랭킹 배치 Consumer.
+ *
+ * <pre>
+ * poll 레코드 목록
+ *   → 멱등성 일괄 선점 (SET NX × 레코드 수, 파이프라인 1회)
+ *   → 상품별 수량 증감분 합산 (ORDER_CREATED +, ORDER_CANCELED -)
+ *   → ZINCRBY × 상품 수 (음수면 0으로 보정) + PEXPIRE 1회를 Lua 1회로 반영
+ *   → 성공 시 markProcessed / 실패 시 clearProcessing 후 재throw (재전송 시 재처리)
+ * </pre>
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -21,34 +36,40 @@ public class RankingEventConsumer {
     @KafkaListener(
             topics = "order-events",
             groupId = GROUP_ID,
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consume(OrderEventPayload payload) {
-        log.debug("[RankingConsumer] event received. type={}, orderId={}", payload.eventType(), payload.orderId());
+    public void consume(List<OrderEventPayload> payloads) {
+        log.debug("[RankingConsumer] batch received. size={}", payloads.size());
 
-        if (!idempotencyService.tryStartProcessing(GROUP_ID, payload.orderId(), payload.eventType())) {
+        List<OrderEventPayload> supported = payloads.stream()
+                .filter(this::isSupported)
+                .toList();
+        List<OrderEventPayload> accepted = idempotencyService.tryStartProcessing(GROUP_ID, supported);
+        if (accepted.isEmpty()) {
             return;
         }
 
         try {
-            switch (payload.eventType()) {
-                case "ORDER_CREATED" -> payload.items().forEach(item ->
-                        rankingService.incrementSales(item.productId(), item.quantity())
-                );
-                case "ORDER_CANCELED" -> payload.items().forEach(item ->
-                        rankingService.decrementSales(item.productId(), item.quantity())
-                );
-                default -> {
-                    idempotencyService.clearProcessing(GROUP_ID, payload.orderId(), payload.eventType());
-                    log.debug("[RankingConsumer] unsupported event. type={}", payload.eventType());
-                    return;
-                }
+            Map<Long, Long> deltas = new HashMap<>();
+            for (OrderEventPayload payload : accepted) {
+                long sign = "ORDER_CREATED".equals(payload.eventType()) ? 1L : -1L;
+                payload.items().forEach(item ->
+                        deltas.merge(item.productId(), sign * item.quantity(), Long::sum));
             }
 
-            idempotencyService.markProcessed(GROUP_ID, payload.orderId(), payload.eventType());
+            rankingService.applySalesDeltas(deltas);
+            idempotencyService.markProcessed(GROUP_ID, accepted);
         } catch (Exception e) {
-            idempotencyService.clearProcessing(GROUP_ID, payload.orderId(), payload.eventType());
+            idempotencyService.clearProcessing(GROUP_ID, accepted);
             throw e;
         }
     }
+
+    private boolean isSupported(OrderEventPayload payload) {
+        boolean supported = "ORDER_CREATED".equals(payload.eventType()) || "ORDER_CANCELED".equals(payload.eventType());
+        if (!supported) {
+            log.debug("[RankingConsumer] unsupported event. type={}", payload.eventType());
+        }
+        return supported;
+    }
 }
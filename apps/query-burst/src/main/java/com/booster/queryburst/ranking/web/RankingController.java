@@ -1,6 +1,7 @@
 package com.booster.queryburst.ranking.web;
 
 import com.booster.queryburst.ranking.application.RankingService;
+import com.booster.queryburst.ranking.application.RankingWindow;
 import com.booster.queryburst.ranking.web.dto.response.ProductRankingResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -10,11 +11,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 실시간 인기 상품 랭킹 API.
  *
  * Redis Sorted Set 기반 — DB 쿼리 없이 O(log N) 응답.
+ * 윈도우 합산 결과는 짧은 TTL로 캐시되어 조회 1회당 ZREVRANGE 1회로 처리된다.
  */
 @RestController
 @RequestMapping("/api/rankings")
@@ -24,26 +27,27 @@ public class RankingController {
     private final RankingService rankingService;
 
     /**
-     * 슬라이딩 윈도우 인기 상품 TOP N.
+     * 롤링 윈도우 인기 상품 TOP N.
      *
-     * @param windowHours 윈도우 크기 (기본 1시간, 최대 24시간)
-     * @param size        반환할 상위 N개 (기본 10)
+     * @param window 윈도우 구간: 1h | 24h | 7d (기본 1h)
+     * @param size   반환할 상위 N개 (기본 10)
      *
      * 예시:
-     *   GET /api/rankings/realtime?windowHours=1   → 최근 1시간 TOP 10
-     *   GET /api/rankings/realtime?windowHours=6   → 최근 6시간 TOP 10
-     *   GET /api/rankings/realtime?windowHours=24  → 최근 24시간 TOP 10
+     *   GET /api/rankings/realtime?window=1h   → 최근 1시간 TOP 10
+     *   GET /api/rankings/realtime?window=24h  → 최근 24시간 TOP 10
+     *   GET /api/rankings/realtime?window=7d   → 최근 7일 TOP 10
      */
     @GetMapping("/realtime")
     public ResponseEntity<List<ProductRankingResponse>> getRealtimeRanking(
-            @RequestParam(defaultValue = "1") int windowHours,
+            @RequestParam(defaultValue = "1h") String window,
             @RequestParam(defaultValue = "10") int size
     ) {
-        if (windowHours < 1 || windowHours > 24) {
+        Optional<RankingWindow> rankingWindow = RankingWindow.fromCode(window);
+        if (rankingWindow.isEmpty() || size < 1) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<ProductRankingResponse> result = rankingService.getTopProducts(windowHours, size)
+        List<ProductRankingResponse> result = rankingService.getTopProducts(rankingWindow.get(), size)
                 .stream()
                 .map(ProductRankingResponse::from)
                 .toList();
@@ -0,0 +1,52 @@
+package com.booster.queryburst.statistics.application;
+
+import com.booster.queryburst.statistics.domain.MonthlySalesDelta;
+import com.booster.queryburst.statistics.domain.MonthlySalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * 월별 매출 롤업 재계산(백필) 작업.
+ *
+ * 월 단위로 orders를 집계하여 monthly_sales_summary 행을 덮어쓴다.
+ * 한 달씩 별도 트랜잭션으로 처리하여 긴 범위를 재계산해도 트랜잭션이 길어지지 않는다.
+ *
+ * 주의: 재계산 중인 달에 DELIVERED 이벤트가 동시에 소비되면 해당 건이 이중 반영되거나 누락될 수 있다.
+ * 마감된 과거 월 백필이나 statistics Consumer 지연이 없는 시점에 실행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlySalesRollupService {
+
+    private final MonthlySalesRollupRepository monthlySalesRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @return 재계산한 월 수
+     */
+    public int rebuild(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작 월은 종료 월보다 이후일 수 없습니다. from=" + from + ", to=" + to);
+        }
+
+        int rebuilt = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth target = month;
+            MonthlySalesDelta total = transactionTemplate.execute(status -> {
+                MonthlySalesDelta aggregated = monthlySalesRollupRepository.aggregateDeliveredOrders(target);
+                monthlySalesRollupRepository.overwrite(aggregated, LocalDateTime.now());
+                return aggregated;
+            });
+            log.info("[MonthlySalesRollup] rebuilt. month={}, orderCount={}, revenue={}",
+                    target, total.orderCount(), total.revenue());
+            rebuilt++;
+        }
+        return rebuilt;
+    }
+}
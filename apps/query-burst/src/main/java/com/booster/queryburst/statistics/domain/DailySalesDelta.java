@@ -0,0 +1,38 @@
+package com.booster.queryburst.statistics.domain;
+
+import java.time.LocalDate;
+
+/**
+ * (date, categoryId) 단위 카테고리 매출 증감분. 취소 이벤트는 음수로 합산된다.
+ */
+public record DailySalesDelta(
+        LocalDate date,
+        Long categoryId,
+        long amount,
+        long orderCount
+) implements SignedSalesDelta<DailySalesDelta> {
+
+    public DailySalesDelta plus(long amount, long orderCount) {
+        return new DailySalesDelta(date, categoryId, this.amount + amount, this.orderCount + orderCount);
+    }
+
+    @Override
+    public DailySalesDelta increase() {
+        return new DailySalesDelta(date, categoryId, Math.max(0, amount), Math.max(0, orderCount));
+    }
+
+    @Override
+    public DailySalesDelta decrease() {
+        return new DailySalesDelta(date, categoryId, Math.min(0, amount), Math.min(0, orderCount));
+    }
+
+    @Override
+    public boolean hasIncrease() {
+        return amount > 0 || orderCount > 0;
+    }
+
+    @Override
+    public boolean hasDecrease() {
+        return amount < 0 || orderCount < 0;
+    }
+}
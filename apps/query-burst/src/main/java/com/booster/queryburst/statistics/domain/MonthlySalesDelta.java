@@ -0,0 +1,37 @@
+package com.booster.queryburst.statistics.domain;
+
+import java.time.YearMonth;
+
+/**
+ * 월 단위 매출 증감분.
+ */
+public record MonthlySalesDelta(
+        YearMonth yearMonth,
+        long orderCount,
+        long revenue
+) implements SignedSalesDelta<MonthlySalesDelta> {
+
+    public MonthlySalesDelta plus(long orderCount, long revenue) {
+        return new MonthlySalesDelta(yearMonth, this.orderCount + orderCount, this.revenue + revenue);
+    }
+
+    @Override
+    public MonthlySalesDelta increase() {
+        return new MonthlySalesDelta(yearMonth, Math.max(0, orderCount), Math.max(0, revenue));
+    }
+
+    @Override
+    public MonthlySalesDelta decrease() {
+        return new MonthlySalesDelta(yearMonth, Math.min(0, orderCount), Math.min(0, revenue));
+    }
+
+    @Override
+    public boolean hasIncrease() {
+        return orderCount > 0 || revenue > 0;
+    }
+
+    @Override
+    public boolean hasDecrease() {
+        return orderCount < 0 || revenue < 0;
+    }
+}
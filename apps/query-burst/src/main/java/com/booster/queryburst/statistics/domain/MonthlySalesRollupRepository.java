@@ -0,0 +1,60 @@
+package com.booster.queryburst.statistics.domain;
+
+import com.booster.common.SnowflakeGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * 월별 매출 롤업 재계산 전용 리포지토리 (백필).
+ *
+ * orders에서 한 달 범위를 직접 집계한 뒤 롤업 행을 덮어쓴다.
+ * 집계 쿼리는 idx_orders_status_keyset (status, ordered_at DESC, ...) 범위 스캔을 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MonthlySalesRollupRepository {
+
+    private static final String AGGREGATE_SQL = """
+            SELECT COUNT(*) AS order_count, COALESCE(SUM(total_amount), 0) AS total_revenue
+            FROM orders
+            WHERE status = 'DELIVERED'
+              AND ordered_at >= ?
+              AND ordered_at < ?
+            """;
+
+    private static final String OVERWRITE_SQL = """
+            INSERT INTO monthly_sales_summary (id, sales_year, sales_month, order_count, total_revenue, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (sales_year, sales_month) DO UPDATE
+               SET order_count   = EXCLUDED.order_count,
+                   total_revenue = EXCLUDED.total_revenue,
+                   updated_at    = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MonthlySalesDelta aggregateDeliveredOrders(YearMonth yearMonth) {
+        return jdbcTemplate.queryForObject(AGGREGATE_SQL,
+                (rs, rowNum) -> new MonthlySalesDelta(
+                        yearMonth,
+                        rs.getLong("order_count"),
+                        rs.getLong("total_revenue")
+                ),
+                yearMonth.atDay(1).atStartOfDay(),
+                yearMonth.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    public void overwrite(MonthlySalesDelta total, LocalDateTime now) {
+        jdbcTemplate.update(OVERWRITE_SQL,
+                SnowflakeGenerator.nextId(),
+                total.yearMonth().getYear(),
+                total.yearMonth().getMonthValue(),
+                total.orderCount(),
+                total.revenue(),
+                now, now);
+    }
+}
@@ -0,0 +1,49 @@
+package com.booster.queryburst.statistics.domain;
+
+import com.booster.storage.db.core.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 월별 매출 롤업 테이블 (CQRS Write 모델).
+ *
+ * 배송 완료(DELIVERED) 주문의 월별 건수/매출을 주문 시각(ordered_at) 기준으로 누적한다.
+ * StatisticsEventConsumer가 ORDER_STATUS_CHANGED(DELIVERED) 이벤트로 증분 갱신하고,
+ * 과거 데이터 백필은 MonthlySalesRollupService.rebuild로 orders에서 재계산한다.
+ *
+ * 목적:
+ *   기존: SELECT YEAR(ordered_at), MONTH(ordered_at), COUNT(*), SUM(total_amount) FROM orders GROUP BY ...
+ *         → 3,000만 건 집계 → 수 초 소요
+ *   개선: SELECT * FROM monthly_sales_summary WHERE ... → 월당 1행 → 수 ms
+ *
+ * 인덱스:
+ *   - (sales_year, sales_month) UNIQUE: UPSERT 기준 컬럼
+ */
+@Entity
+@Table(
+        name = "monthly_sales_summary",
+        indexes = {
+                @Index(name = "idx_monthly_sales_year_month", columnList = "sales_year, sales_month", unique = true)
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MonthlySalesSummary extends BaseEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "sales_year", nullable = false)
+    private int salesYear;
+
+    @Column(name = "sales_month", nullable = false)
+    private int salesMonth;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Long totalRevenue;
+}
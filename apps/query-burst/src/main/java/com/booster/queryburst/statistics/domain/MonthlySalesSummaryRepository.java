@@ -0,0 +1,20 @@
+package com.booster.queryburst.statistics.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MonthlySalesSummaryRepository extends JpaRepository<MonthlySalesSummary, Long> {
+
+    /**
+     * yyyyMM 정수 범위로 조회. 월당 1행이라 테이블 전체가 수백 행 이내이다.
+     */
+    @Query("""
+            SELECT m FROM MonthlySalesSummary m
+            WHERE m.salesYear * 100 + m.salesMonth BETWEEN :from AND :to
+            ORDER BY m.salesYear ASC, m.salesMonth ASC
+            """)
+    List<MonthlySalesSummary> findByYearMonthBetween(@Param("from") int fromYearMonth, @Param("to") int toYearMonth);
+}
@@ -0,0 +1,38 @@
+package com.booster.queryburst.statistics.domain;
+
+import java.time.LocalDate;
+
+/**
+ * (date, productId) 단위 상품 판매 증감분. 취소 이벤트는 음수로 합산된다.
+ */
+public record ProductDailySalesDelta(
+        LocalDate date,
+        Long productId,
+        long soldCount,
+        long revenue
+) implements SignedSalesDelta<ProductDailySalesDelta> {
+
+    public ProductDailySalesDelta plus(long soldCount, long revenue) {
+        return new ProductDailySalesDelta(date, productId, this.soldCount + soldCount, this.revenue + revenue);
+    }
+
+    @Override
+    public ProductDailySalesDelta increase() {
+        return new ProductDailySalesDelta(date, productId, Math.max(0, soldCount), Math.max(0, revenue));
+    }
+
+    @Override
+    public ProductDailySalesDelta decrease() {
+        return new ProductDailySalesDelta(date, productId, Math.min(0, soldCount), Math.min(0, revenue));
+    }
+
+    @Override
+    public boolean hasIncrease() {
+        return soldCount > 0 || revenue > 0;
+    }
+
+    @Override
+    public boolean hasDecrease() {
+        return soldCount < 0 || revenue < 0;
+    }
+}
@@ -0,0 +1,204 @@
+package com.booster.queryburst.statistics.domain;
+
+import com.booster.common.SnowflakeGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 통계 테이블 UPSERT 전용 리포지토리 (PostgreSQL INSERT ... ON CONFLICT DO UPDATE).
+ *
+ * find-then-save(SELECT + UPDATE) 대신 키당 문장 1개로 누적값을 가산한다.
+ * 충돌 기준은 UNIQUE 인덱스 (date, category_id) / (date, product_id) / (sales_year, sales_month)이며,
+ * 음수 증감분(취소)은 기존 엔티티 로직과 동일하게 0 미만으로 내려가지 않는다.
+ *
+ * 증감분은 항목별 부호로 증가 성분과 감소 성분으로 나눈다 ({@link SignedSalesDelta}).
+ * 증가 성분은 UPSERT, 감소 성분은 UPDATE만 실행한다. 집계 행이 없으면 감소 성분은 반영하지 않으므로
+ * 취소 이벤트가 0 또는 음수 행을 새로 만들지 않는다 (기존 findBy...().ifPresent 로직과 동일).
+ * 부호가 섞인 증감분(예: 금액 +, 건수 -)도 증가 성분은 행이 없을 때 새로 만들어지므로 유실되지 않는다.
+ * 항목마다 한쪽 성분에만 값이 있으므로 나눠 반영한 결과는 한 번에 반영한 결과와 같다.
+ *
+ * 여러 Consumer가 같은 행을 동시에 갱신할 때 락 순서가 엇갈려 데드락이 나지 않도록 키 순서로 정렬 후 실행한다.
+ * UPSERT와 UPDATE가 섞여도 정렬 순서대로 연속 구간 단위로 실행하므로 락 획득 순서는 유지된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesStatisticsUpsertRepository {
+
+    private static final String DAILY_SALES_UPSERT_SQL = """
+            INSERT INTO daily_sales_summary (id, date, category_id, total_amount, order_count, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (date, category_id) DO UPDATE
+               SET total_amount = GREATEST(0, daily_sales_summary.total_amount + ?),
+                   order_count  = GREATEST(0, daily_sales_summary.order_count + ?),
+                   updated_at   = EXCLUDED.updated_at
+            """;
+
+    private static final String DAILY_SALES_DECREASE_SQL = """
+            UPDATE daily_sales_summary
+               SET total_amount = GREATEST(0, total_amount + ?),
+                   order_count  = GREATEST(0, order_count + ?),
+                   updated_at   = ?
+             WHERE date = ? AND category_id = ?
+            """;
+
+    private static final String PRODUCT_DAILY_SALES_UPSERT_SQL = """
+            INSERT INTO product_daily_sales (id, date, product_id, sold_count, revenue, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (date, product_id) DO UPDATE
+               SET sold_count = GREATEST(0, product_daily_sales.sold_count + ?),
+                   revenue    = GREATEST(0, product_daily_sales.revenue + ?),
+                   updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String PRODUCT_DAILY_SALES_DECREASE_SQL = """
+            UPDATE product_daily_sales
+               SET sold_count = GREATEST(0, sold_count + ?),
+                   revenue    = GREATEST(0, revenue + ?),
+                   updated_at = ?
+             WHERE date = ? AND product_id = ?
+            """;
+
+    private static final String MONTHLY_SALES_UPSERT_SQL = """
+            INSERT INTO monthly_sales_summary (id, sales_year, sales_month, order_count, total_revenue, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (sales_year, sales_month) DO UPDATE
+               SET order_count   = GREATEST(0, monthly_sales_summary.order_count + ?),
+                   total_revenue = GREATEST(0, monthly_sales_summary.total_revenue + ?),
+                   updated_at    = EXCLUDED.updated_at
+            """;
+
+    private static final String MONTHLY_SALES_DECREASE_SQL = """
+            UPDATE monthly_sales_summary
+               SET order_count   = GREATEST(0, order_count + ?),
+                   total_revenue = GREATEST(0, total_revenue + ?),
+                   updated_at    = ?
+             WHERE sales_year = ? AND sales_month = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertDailySales(Collection<DailySalesDelta> deltas, LocalDateTime now) {
+        applyInKeyOrder(
+                deltas.stream()
+                        .sorted(Comparator.comparing(DailySalesDelta::date).thenComparing(DailySalesDelta::categoryId))
+                        .toList(),
+                DAILY_SALES_UPSERT_SQL,
+                delta -> new Object[]{
+                        SnowflakeGenerator.nextId(),
+                        delta.date(),
+                        delta.categoryId(),
+                        delta.amount(),
+                        delta.orderCount(),
+                        now, now,
+                        delta.amount(),
+                        delta.orderCount()
+                },
+                DAILY_SALES_DECREASE_SQL,
+                delta -> new Object[]{
+                        delta.amount(),
+                        delta.orderCount(),
+                        now,
+                        delta.date(),
+                        delta.categoryId()
+                }
+        );
+    }
+
+    public void upsertProductDailySales(Collection<ProductDailySalesDelta> deltas, LocalDateTime now) {
+        applyInKeyOrder(
+                deltas.stream()
+                        .sorted(Comparator.comparing(ProductDailySalesDelta::date).thenComparing(ProductDailySalesDelta::productId))
+                        .toList(),
+                PRODUCT_DAILY_SALES_UPSERT_SQL,
+                delta -> new Object[]{
+                        SnowflakeGenerator.nextId(),
+                        delta.date(),
+                        delta.productId(),
+                        delta.soldCount(),
+                        delta.revenue(),
+                        now, now,
+                        delta.soldCount(),
+                        delta.revenue()
+                },
+                PRODUCT_DAILY_SALES_DECREASE_SQL,
+                delta -> new Object[]{
+                        delta.soldCount(),
+                        delta.revenue(),
+                        now,
+                        delta.date(),
+                        delta.productId()
+                }
+        );
+    }
+
+    public void upsertMonthlySales(Collection<MonthlySalesDelta> deltas, LocalDateTime now) {
+        applyInKeyOrder(
+                deltas.stream()
+                        .sorted(Comparator.comparing(MonthlySalesDelta::yearMonth))
+                        .toList(),
+                MONTHLY_SALES_UPSERT_SQL,
+                delta -> new Object[]{
+                        SnowflakeGenerator.nextId(),
+                        delta.yearMonth().getYear(),
+                        delta.yearMonth().getMonthValue(),
+                        delta.orderCount(),
+                        delta.revenue(),
+                        now, now,
+                        delta.orderCount(),
+                        delta.revenue()
+                },
+                MONTHLY_SALES_DECREASE_SQL,
+                delta -> new Object[]{
+                        delta.orderCount(),
+                        delta.revenue(),
+                        now,
+                        delta.yearMonth().getYear(),
+                        delta.yearMonth().getMonthValue()
+                }
+        );
+    }
+
+    /**
+     * 정렬된 증감분을 증가 성분(UPSERT)과 감소 성분(UPDATE)으로 나누고, 종류가 바뀌는 지점마다 끊어 배치 실행한다.
+     * 한 키의 두 성분은 증가 → 감소 순으로 이어서 실행하며 전체 실행 순서는 입력 순서(키 순서)와 같다.
+     */
+    private <T extends SignedSalesDelta<T>> void applyInKeyOrder(
+            List<T> sorted,
+            String upsertSql,
+            Function<T, Object[]> upsertArgs,
+            String decreaseSql,
+            Function<T, Object[]> decreaseArgs
+    ) {
+        List<Object[]> run = new ArrayList<>();
+        boolean decreaseRun = false;
+        for (T delta : sorted) {
+            if (delta.hasIncrease()) {
+                if (!run.isEmpty() && decreaseRun) {
+                    jdbcTemplate.batchUpdate(decreaseSql, run);
+                    run = new ArrayList<>();
+                }
+                decreaseRun = false;
+                run.add(upsertArgs.apply(delta.increase()));
+            }
+            if (delta.hasDecrease()) {
+                if (!run.isEmpty() && !decreaseRun) {
+                    jdbcTemplate.batchUpdate(upsertSql, run);
+                    run = new ArrayList<>();
+                }
+                decreaseRun = true;
+                run.add(decreaseArgs.apply(delta.decrease()));
+            }
+        }
+        if (!run.isEmpty()) {
+            jdbcTemplate.batchUpdate(decreaseRun ? decreaseSql : upsertSql, run);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.booster.queryburst.statistics.domain;
+
+/**
+ * 두 항목으로 이뤄진 매출 증감분의 증가/감소 성분 분리.
+ *
+ * 한 키에 판매와 취소가 함께 합산되면 항목별 부호가 다를 수 있다 (예: 금액 +, 건수 -).
+ * {@link SalesStatisticsUpsertRepository}는 증가 성분은 UPSERT로, 감소 성분은 기존 행 UPDATE로 나눠 반영한다.
+ */
+interface SignedSalesDelta<T extends SignedSalesDelta<T>> {
+
+    /**
+     * 양수 항목만 남긴 증감분 (음수 항목은 0).
+     */
+    T increase();
+
+    /**
+     * 음수 항목만 남긴 증감분 (양수 항목은 0).
+     */
+    T decrease();
+
+    boolean hasIncrease();
+
+    boolean hasDecrease();
+}
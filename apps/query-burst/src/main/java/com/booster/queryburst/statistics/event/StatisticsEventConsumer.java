@@ -2,10 +2,10 @@ package com.booster.queryburst.statistics.event;
 
 import com.booster.queryburst.common.kafka.ConsumerIdempotencyService;
 import com.booster.queryburst.order.event.OrderEventPayload;
-import com.booster.queryburst.statistics.domain.DailySalesSummary;
-import com.booster.queryburst.statistics.domain.DailySalesSummaryRepository;
-import com.booster.queryburst.statistics.domain.ProductDailySales;
-import com.booster.queryburst.statistics.domain.ProductDailySalesRepository;
+import com.booster.queryburst.statistics.domain.DailySalesDelta;
+import com.booster.queryburst.statistics.domain.MonthlySalesDelta;
+import com.booster.queryburst.statistics.domain.ProductDailySalesDelta;
+import com.booster.queryburst.statistics.domain.SalesStatisticsUpsertRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -15,98 +15,159 @@ import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
-
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 통계 배치 Consumer.
+ *
+ * <h2>처리 흐름</h2>
+ * <pre>
+ * poll 레코드 목록
+ *   → 멱등성 일괄 선점 (Lua 1회, 처리 대상만 남김)
+ *   → (date, categoryId) / (date, productId) 단위로 증감분 메모리 합산 (ORDER_CREATED / ORDER_CANCELED)
+ *   → (year, month) 단위로 배송 완료 건수/매출 합산 (ORDER_STATUS_CHANGED → DELIVERED)
+ *   → 키당 INSERT ... ON CONFLICT DO UPDATE 1회 (단일 트랜잭션)
+ *   → 커밋 후 markProcessed / 롤백 시 clearProcessing
+ * </pre>
+ * 같은 날짜의 소수 행에 주문 건수만큼 SELECT/UPDATE가 몰리던 구조에서
+ * 배치당 DB 문장 수가 (등장한 키 수)로 고정되어 주문량이 늘어도 지연이 누적되지 않는다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class StatisticsEventConsumer {
 
     private static final String GROUP_ID = "statistics-consumer-group";
+    private static final String ORDER_CREATED = "ORDER_CREATED";
+    private static final String ORDER_CANCELED = "ORDER_CANCELED";
+    private static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    private static final String DELIVERED = "DELIVERED";
 
-    private final DailySalesSummaryRepository dailySalesSummaryRepository;
-    private final ProductDailySalesRepository productDailySalesRepository;
+    private final SalesStatisticsUpsertRepository salesStatisticsUpsertRepository;
     private final ConsumerIdempotencyService idempotencyService;
 
     @Transactional
     @KafkaListener(
             topics = "order-events",
             groupId = GROUP_ID,
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consume(OrderEventPayload payload) {
-        log.debug("[StatisticsConsumer] event received. type={}, orderId={}", payload.eventType(), payload.orderId());
-
-        if (!idempotencyService.tryStartProcessing(GROUP_ID, payload.orderId(), payload.eventType())) {
+    public void consume(List<OrderEventPayload> payloads) {
+        log.debug("[StatisticsConsumer] batch received. size={}", payloads.size());
+
+        List<OrderEventPayload> supported = payloads.stream()
+                .filter(this::isSupported)
+                .toList();
+        List<OrderEventPayload> accepted = idempotencyService.tryStartProcessing(GROUP_ID, supported);
+        if (accepted.isEmpty()) {
             return;
         }
 
-        registerSynchronization(payload);
+        registerSynchronization(accepted);
 
-        switch (payload.eventType()) {
-            case "ORDER_CREATED" -> handleOrderCreated(payload);
-            case "ORDER_CANCELED" -> handleOrderCanceled(payload);
-            default -> {
-                idempotencyService.clearProcessing(GROUP_ID, payload.orderId(), payload.eventType());
-                log.debug("[StatisticsConsumer] unsupported event. type={}", payload.eventType());
+        Map<DailySalesKey, DailySalesDelta> dailySales = new HashMap<>();
+        Map<ProductDailyKey, ProductDailySalesDelta> productSales = new HashMap<>();
+        Map<YearMonth, MonthlySalesDelta> monthlySales = new HashMap<>();
+        for (OrderEventPayload payload : accepted) {
+            if (isDelivered(payload)) {
+                aggregateDelivered(payload, monthlySales);
+            } else {
+                aggregate(payload, dailySales, productSales);
             }
         }
-    }
-
-    private void handleOrderCreated(OrderEventPayload payload) {
-        LocalDate date = payload.occurredAt().toLocalDate();
 
-        for (OrderEventPayload.OrderItemPayload item : payload.items()) {
-            DailySalesSummary summary = dailySalesSummaryRepository
-                    .findByDateAndCategoryId(date, item.categoryId())
-                    .orElseGet(() -> DailySalesSummary.create(date, item.categoryId()));
-            summary.addSales((long) item.quantity() * item.unitPrice());
-            dailySalesSummaryRepository.save(summary);
-
-            ProductDailySales productSales = productDailySalesRepository
-                    .findByDateAndProductId(date, item.productId())
-                    .orElseGet(() -> ProductDailySales.create(date, item.productId()));
-            productSales.addSales(item.quantity(), item.unitPrice());
-            productDailySalesRepository.save(productSales);
+        LocalDateTime now = LocalDateTime.now();
+        if (!dailySales.isEmpty()) {
+            salesStatisticsUpsertRepository.upsertDailySales(dailySales.values(), now);
+            salesStatisticsUpsertRepository.upsertProductDailySales(productSales.values(), now);
+        }
+        if (!monthlySales.isEmpty()) {
+            salesStatisticsUpsertRepository.upsertMonthlySales(monthlySales.values(), now);
         }
 
-        log.debug("[StatisticsConsumer] ORDER_CREATED applied. orderId={}", payload.orderId());
+        log.debug("[StatisticsConsumer] batch applied. events={}, categoryKeys={}, productKeys={}, monthKeys={}",
+                accepted.size(), dailySales.size(), productSales.size(), monthlySales.size());
     }
 
-    private void handleOrderCanceled(OrderEventPayload payload) {
+    private boolean isSupported(OrderEventPayload payload) {
+        boolean supported = ORDER_CREATED.equals(payload.eventType())
+                || ORDER_CANCELED.equals(payload.eventType())
+                || isDelivered(payload);
+        if (!supported) {
+            log.debug("[StatisticsConsumer] unsupported event. type={}", payload.eventType());
+        }
+        return supported;
+    }
+
+    /**
+     * ORDER_CREATED는 양수, ORDER_CANCELED는 음수 증감분으로 합산한다.
+     * 항목 1건당 orderCount 1을 가감하는 기존 집계 규칙을 그대로 따른다.
+     */
+    private void aggregate(
+            OrderEventPayload payload,
+            Map<DailySalesKey, DailySalesDelta> dailySales,
+            Map<ProductDailyKey, ProductDailySalesDelta> productSales
+    ) {
+        int sign = ORDER_CREATED.equals(payload.eventType()) ? 1 : -1;
         LocalDate date = payload.occurredAt().toLocalDate();
 
         for (OrderEventPayload.OrderItemPayload item : payload.items()) {
-            dailySalesSummaryRepository
-                    .findByDateAndCategoryId(date, item.categoryId())
-                    .ifPresent(summary -> {
-                        summary.subtractSales((long) item.quantity() * item.unitPrice());
-                        dailySalesSummaryRepository.save(summary);
-                    });
-
-            productDailySalesRepository
-                    .findByDateAndProductId(date, item.productId())
-                    .ifPresent(productSales -> {
-                        productSales.subtractSales(item.quantity(), item.unitPrice());
-                        productDailySalesRepository.save(productSales);
-                    });
+            long amount = (long) item.quantity() * item.unitPrice();
+
+            dailySales.merge(
+                    new DailySalesKey(date, item.categoryId()),
+                    new DailySalesDelta(date, item.categoryId(), sign * amount, sign),
+                    (current, added) -> current.plus(added.amount(), added.orderCount())
+            );
+            productSales.merge(
+                    new ProductDailyKey(date, item.productId()),
+                    new ProductDailySalesDelta(date, item.productId(), (long) sign * item.quantity(), sign * amount),
+                    (current, added) -> current.plus(added.soldCount(), added.revenue())
+            );
         }
+    }
 
-        log.debug("[StatisticsConsumer] ORDER_CANCELED applied. orderId={}", payload.orderId());
+    private boolean isDelivered(OrderEventPayload payload) {
+        return ORDER_STATUS_CHANGED.equals(payload.eventType()) && DELIVERED.equals(payload.orderStatus());
     }
 
-    private void registerSynchronization(OrderEventPayload payload) {
+    /**
+     * 배송 완료 1건을 주문 시각이 속한 달에 합산한다.
+     * orderedAt이 없는 이전 버전 이벤트는 발생 시각으로 대체한다.
+     */
+    private void aggregateDelivered(OrderEventPayload payload, Map<YearMonth, MonthlySalesDelta> monthlySales) {
+        LocalDateTime basis = payload.orderedAt() != null ? payload.orderedAt() : payload.occurredAt();
+        YearMonth month = YearMonth.from(basis);
+        long revenue = payload.totalAmount() != null ? payload.totalAmount() : 0L;
+
+        monthlySales.merge(
+                month,
+                new MonthlySalesDelta(month, 1, revenue),
+                (current, added) -> current.plus(added.orderCount(), added.revenue())
+        );
+    }
+
+    private void registerSynchronization(List<OrderEventPayload> payloads) {
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
-                idempotencyService.markProcessed(GROUP_ID, payload.orderId(), payload.eventType());
+                idempotencyService.markProcessed(GROUP_ID, payloads);
             }
 
             @Override
             public void afterCompletion(int status) {
                 if (status != STATUS_COMMITTED) {
-                    idempotencyService.clearProcessing(GROUP_ID, payload.orderId(), payload.eventType());
+                    idempotencyService.clearProcessing(GROUP_ID, payloads);
                 }
             }
         });
     }
+
+    private record DailySalesKey(LocalDate date, Long categoryId) {}
+
+    private record ProductDailyKey(LocalDate date, Long productId) {}
 }
@@ -1,5 +1,6 @@
 package com.booster.queryburst.statistics.web;
 
+import com.booster.queryburst.statistics.application.MonthlySalesRollupService;
 import com.booster.queryburst.statistics.application.StatisticsQueryService;
 import com.booster.queryburst.statistics.web.dto.response.DailySalesSummaryResponse;
 import com.booster.queryburst.statistics.web.dto.response.ProductDailySalesResponse;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -23,6 +25,7 @@ import java.util.List;
 public class StatisticsController {
 
     private final StatisticsQueryService statisticsQueryService;
+    private final MonthlySalesRollupService monthlySalesRollupService;
 
     /**
      * 기간별 카테고리 매출 집계.
@@ -76,4 +79,20 @@ public class StatisticsController {
                 .toList();
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * 월별 매출 롤업 재계산 (백필).
+     *
+     * orders에서 월 단위로 다시 집계하여 monthly_sales_summary를 덮어쓴다.
+     * 롤업 도입 이전 데이터 적재, 또는 불일치 복구 시 사용한다.
+     *
+     * @return 재계산한 월 수
+     */
+    @PostMapping("/monthly-sales/rebuild")
+    public ResponseEntity<Integer> rebuildMonthlySales(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to
+    ) {
+        return ResponseEntity.ok(monthlySalesRollupService.rebuild(from, to));
+    }
 }
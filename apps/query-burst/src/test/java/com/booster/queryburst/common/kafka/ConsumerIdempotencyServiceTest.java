@@ -0,0 +1,75 @@
+package com.booster.queryburst.common.kafka;
+
+import com.booster.queryburst.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumerIdempotencyServiceTest extends RedisTestSupport {
+
+    private static final String GROUP_ID = "statistics-group";
+
+    private ConsumerIdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new ConsumerIdempotencyService(redissonClient);
+    }
+
+    @Test
+    void 배치_선점은_처리_중이거나_완료된_레코드를_제외한다() {
+        // given
+        TestEvent processing = new TestEvent(1L);
+        TestEvent processed = new TestEvent(2L);
+        TestEvent fresh = new TestEvent(3L);
+        idempotencyService.tryStartProcessing(GROUP_ID, processing.orderId(), processing.eventType());
+        idempotencyService.markProcessed(GROUP_ID, List.of(processed));
+
+        // when
+        List<TestEvent> accepted = idempotencyService.tryStartProcessing(GROUP_ID, List.of(processing, processed, fresh));
+
+        // then
+        assertThat(accepted).containsExactly(fresh);
+    }
+
+    @Test
+    void 실패_정리는_완료된_키를_지우지_않는다() {
+        // given
+        TestEvent failed = new TestEvent(1L);
+        TestEvent processed = new TestEvent(2L);
+        idempotencyService.tryStartProcessing(GROUP_ID, List.of(failed));
+        idempotencyService.markProcessed(GROUP_ID, List.of(processed));
+
+        // when
+        idempotencyService.clearProcessing(GROUP_ID, List.of(failed, processed));
+
+        // then
+        assertThat(idempotencyService.tryStartProcessing(GROUP_ID, List.of(failed, processed))).containsExactly(failed);
+    }
+
+    @Test
+    void 이전_코덱으로_저장된_처리_중_키도_정리한다() {
+        // given — 이전 버전이 기본 코덱으로 남긴 PROCESSING
+        TestEvent event = new TestEvent(1L);
+        redissonClient.<String>getBucket("CONSUMER:" + GROUP_ID + ":1:TEST").set("PROCESSING", Duration.ofMinutes(10));
+        assertThat(idempotencyService.tryStartProcessing(GROUP_ID, List.of(event))).isEmpty();
+
+        // when
+        idempotencyService.clearProcessing(GROUP_ID, List.of(event));
+
+        // then
+        assertThat(idempotencyService.tryStartProcessing(GROUP_ID, List.of(event))).containsExactly(event);
+    }
+
+    private record TestEvent(Long orderId) implements IdempotentEvent {
+
+        @Override
+        public String eventType() {
+            return "TEST";
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.booster.queryburst.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenLeaseTest {
+
+    private static final String KEY = "RATE:order:1";
+    private static final long TTL = TimeUnit.SECONDS.toNanos(10);
+
+    private final LocalTokenLease lease = new LocalTokenLease();
+
+    @Test
+    void 동시에_받아온_임대는_합산된다() {
+        // given
+        lease.store(KEY, 3, 100, TTL);
+
+        // when
+        lease.store(KEY, 2, 100, TTL);
+
+        // then
+        assertThat(takeAll()).isEqualTo(5);
+    }
+
+    @Test
+    void 만료된_임대의_잔여_토큰은_버린다() {
+        // given
+        lease.store(KEY, 3, 100, 0);
+        assertThat(lease.tryTake(KEY)).isFalse();
+
+        // when
+        lease.store(KEY, 2, 100, TTL);
+
+        // then
+        assertThat(takeAll()).isEqualTo(2);
+    }
+
+    @Test
+    void 키당_보관량은_상한을_넘지_않는다() {
+        // given
+        lease.store(KEY, 4, 5, TTL);
+
+        // when
+        lease.store(KEY, 4, 5, TTL);
+
+        // then
+        assertThat(takeAll()).isEqualTo(5);
+    }
+
+    private long takeAll() {
+        return IntStream.range(0, 1_000).filter(i -> lease.tryTake(KEY)).count();
+    }
+}
@@ -0,0 +1,118 @@
+package com.booster.queryburst.lock;
+
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import com.booster.queryburst.support.RedisTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 단건/다중 키 락이 같은 표현을 쓰는지, Redisson RLock 키와 섞이지 않는지, 이전 펜싱 카운터를 이어받는지 검증한다.
+ */
+class RedisDistributedLockTest extends RedisTestSupport {
+
+    private static final Duration TTL = Duration.ofSeconds(5);
+
+    private RedisDistributedLock distributedLock;
+
+    @BeforeEach
+    void setUp() {
+        distributedLock = new RedisDistributedLock(
+                redissonClient,
+                new RedisScriptExecutor(redissonClient),
+                new LockMetrics(new SimpleMeterRegistry())
+        );
+    }
+
+    @Test
+    void 단건_락이_잡은_키는_다중_키_락이_잡지_못한다() {
+        // given
+        distributedLock.tryLock("product:*:stock", "product:1:stock", TTL);
+
+        // when & then — all-or-nothing이므로 비어 있던 product:2 락도 남지 않는다
+        assertThatThrownBy(() -> distributedLock.tryLockAll(
+                "product:*:stock", List.of("product:1:stock", "product:2:stock"), TTL))
+                .isInstanceOf(LockAcquisitionException.class);
+        assertThat(redissonClient.getBucket("LOCK:{product:2:stock}").isExists()).isFalse();
+    }
+
+    @Test
+    void 다중_키_락이_잡은_키는_단건_락이_잡지_못한다() {
+        // given
+        distributedLock.tryLockAll("product:*:stock", List.of("product:1:stock", "product:2:stock"), TTL);
+
+        // when & then
+        assertThatThrownBy(() -> distributedLock.tryLock("product:*:stock", "product:2:stock", TTL))
+                .isInstanceOf(LockAcquisitionException.class);
+    }
+
+    @Test
+    void 펜싱_토큰은_두_경로에서_이어서_증가한다() {
+        // given
+        FencingToken first = distributedLock.tryLock("product:*:stock", "product:1:stock", TTL);
+        distributedLock.unlock("product:1:stock", first);
+
+        // when
+        MultiLock lock = distributedLock.tryLockAll("product:*:stock", List.of("product:1:stock"), TTL);
+
+        // then
+        assertThat(lock.tokenAt(0).isNewerThan(first.value())).isTrue();
+    }
+
+    @Test
+    void 토큰이_다른_락은_해제하지_않는다() {
+        // given — 이전 보유자의 TTL이 만료되고 다른 요청이 다시 잡은 상황
+        FencingToken stale = distributedLock.tryLock("product:*:stock", "product:1:stock", TTL);
+        redissonClient.getKeys().delete("LOCK:{product:1:stock}");
+        FencingToken current = distributedLock.tryLock("product:*:stock", "product:1:stock", TTL);
+
+        // when
+        distributedLock.unlock("product:1:stock", stale);
+
+        // then
+        assertThat(redissonClient.getKeys().countExists("LOCK:{product:1:stock}")).isEqualTo(1L);
+        distributedLock.unlock("product:1:stock", current);
+        assertThat(redissonClient.getKeys().countExists("LOCK:{product:1:stock}")).isZero();
+    }
+
+    @Test
+    void 같은_이름의_Redisson_RLock과_충돌하지_않는다() {
+        // given — storage-redis @DistributedLock AOP가 쓰는 LOCK: 접두사의 Hash 락
+        RLock rLock = redissonClient.getLock("LOCK:product:1:stock");
+        rLock.lock();
+
+        try {
+            // when
+            FencingToken token = distributedLock.tryLock("product:*:stock", "product:1:stock", TTL);
+
+            // then
+            assertThat(token.value()).isPositive();
+            assertThat(rLock.isHeldByCurrentThread()).isTrue();
+        } finally {
+            rLock.unlock();
+        }
+    }
+
+    @Test
+    void 이전_펜싱_카운터는_새_키로_옮겨져_토큰이_이어서_증가한다() {
+        // given — 해시 태그 없는 이전 카운터가 새 카운터보다 앞서 있는 상황
+        redissonClient.getBucket("FENCE:product:1:stock", StringCodec.INSTANCE).set("100");
+        redissonClient.getBucket("FENCE:{product:1:stock}", StringCodec.INSTANCE).set("7");
+
+        // when
+        distributedLock.migrateLegacyFenceCounters();
+        FencingToken token = distributedLock.tryLock("product:*:stock", "product:1:stock", TTL);
+
+        // then
+        assertThat(token.value()).isEqualTo(101L);
+        assertThat(redissonClient.getKeys().countExists("FENCE:product:1:stock")).isZero();
+    }
+}
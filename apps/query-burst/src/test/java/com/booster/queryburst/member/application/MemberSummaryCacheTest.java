@@ -0,0 +1,84 @@
+package com.booster.queryburst.member.application;
+
+import com.booster.queryburst.member.application.dto.MemberSummary;
+import com.booster.queryburst.member.domain.MemberGrade;
+import com.booster.queryburst.member.domain.MemberQueryRepository;
+import com.booster.queryburst.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSummaryCacheTest extends RedisTestSupport {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final String KEY = "MEMBER:SUMMARY:" + MEMBER_ID;
+
+    private StubMemberQueryRepository memberQueryRepository;
+    private MemberSummaryCache memberSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        memberQueryRepository = new StubMemberQueryRepository();
+        memberSummaryCache = new MemberSummaryCache(redissonClient, memberQueryRepository);
+        ReflectionTestUtils.setField(memberSummaryCache, "localTtl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(memberSummaryCache, "localMaxSize", 100);
+        ReflectionTestUtils.setField(memberSummaryCache, "tombstoneTtl", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void DB에서_읽은_값은_Redis와_로컬에_적재된다() {
+        // given
+        memberQueryRepository.summary = summary("before");
+        memberSummaryCache.getAll(List.of(MEMBER_ID));
+
+        // when — DB 값이 바뀌어도 캐시에서 응답한다
+        memberQueryRepository.summary = summary("after");
+
+        // then
+        assertThat(memberSummaryCache.getAll(List.of(MEMBER_ID)).get(MEMBER_ID).name()).isEqualTo("before");
+        assertThat(redissonClient.<String>getBucket(KEY, StringCodec.INSTANCE).get()).contains("before");
+    }
+
+    @Test
+    void 무효화_이후에_끝난_DB_조회는_이전_값을_다시_적재하지_않는다() {
+        // given — 무효화 전에 이전 값을 읽은 조회가 무효화 이후에 적재를 시도하는 상황
+        memberQueryRepository.summary = summary("before");
+        memberQueryRepository.beforeReturn = () -> memberSummaryCache.evictAfterCommit(MEMBER_ID);
+
+        // when
+        assertThat(memberSummaryCache.getAll(List.of(MEMBER_ID)).get(MEMBER_ID).name()).isEqualTo("before");
+
+        // then — tombstone이 유지되고, 다음 조회는 DB의 새 값을 읽는다
+        assertThat(redissonClient.<String>getBucket(KEY, StringCodec.INSTANCE).get()).isEqualTo("-");
+        memberQueryRepository.beforeReturn = () -> { };
+        memberQueryRepository.summary = summary("after");
+        assertThat(memberSummaryCache.getAll(List.of(MEMBER_ID)).get(MEMBER_ID).name()).isEqualTo("after");
+    }
+
+    private MemberSummary summary(String name) {
+        return new MemberSummary(MEMBER_ID, "member1@test.com", name, MemberGrade.BRONZE, "서울");
+    }
+
+    private static class StubMemberQueryRepository extends MemberQueryRepository {
+
+        private MemberSummary summary;
+        private Runnable beforeReturn = () -> { };
+
+        StubMemberQueryRepository() {
+            super(null);
+        }
+
+        @Override
+        public List<MemberSummary> findSummariesByIds(Collection<Long> ids) {
+            beforeReturn.run();
+            return List.of(summary);
+        }
+    }
+}
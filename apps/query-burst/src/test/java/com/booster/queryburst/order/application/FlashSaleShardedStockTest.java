@@ -0,0 +1,192 @@
+package com.booster.queryburst.order.application;
+
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import com.booster.queryburst.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 샤딩 스크립트 검증. Redis 단일 노드(테스트 컨테이너)로 실행한다.
+ * 시작 샤드는 {@link StockShardSelector}를 고정해 sibling steal 순서를 재현한다.
+ */
+class FlashSaleShardedStockTest extends RedisTestSupport {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private FlashSaleSoldOutRegistry soldOutRegistry;
+    private FlashSaleShardedStock shardedStock;
+    private int startShard;
+
+    @BeforeEach
+    void setUp() {
+        soldOutRegistry = new FlashSaleSoldOutRegistry(redissonClient);
+        ReflectionTestUtils.setField(soldOutRegistry, "localTtl", Duration.ofSeconds(10));
+        startShard = 0;
+        shardedStock = new FlashSaleShardedStock(
+                redissonClient,
+                new RedisScriptExecutor(redissonClient),
+                (productId, shardCount) -> startShard % shardCount,
+                soldOutRegistry
+        );
+    }
+
+    @Test
+    void 시작_샤드가_비면_다음_샤드에서_가져온다() {
+        // given
+        arm(4, 4);
+        setStock(0, 0);
+
+        // when
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(PRODUCT_ID, 1, 4);
+
+        // then
+        assertThat(reservation.code()).isEqualTo(FlashSaleShardedStock.RESULT_RESERVED);
+        assertThat(reservation.value()).isEqualTo(1000L);
+        assertThat(stocks(4)).containsExactly(0L, 0L, 1L, 1L);
+    }
+
+    @Test
+    void 한_샤드로_모자라면_여러_샤드에서_모은다() {
+        // given
+        arm(3, 3);
+
+        // when
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(PRODUCT_ID, 3, 3);
+
+        // then
+        assertThat(reservation.code()).isEqualTo(FlashSaleShardedStock.RESULT_RESERVED);
+        assertThat(stocks(3)).containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    void 샤드를_모두_소진하면_가져온_수량을_돌려주고_품절로_보지_않는다() {
+        // given
+        arm(2, 3);
+
+        // when
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(PRODUCT_ID, 3, 3);
+
+        // then
+        assertThat(reservation.code()).isEqualTo(FlashSaleShardedStock.RESULT_OUT_OF_STOCK);
+        assertThat(reservation.value()).isZero();
+        assertThat(stocks(3)).containsExactly(1L, 1L, 0L);
+        assertThat(soldOutRegistry.isSoldOut(PRODUCT_ID)).isFalse();
+    }
+
+    @Test
+    void 모든_샤드가_비면_품절을_전파한다() {
+        // given
+        arm(2, 2);
+        assertThat(shardedStock.reserve(PRODUCT_ID, 2, 2).code()).isEqualTo(FlashSaleShardedStock.RESULT_RESERVED);
+
+        // when
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(PRODUCT_ID, 1, 2);
+
+        // then
+        assertThat(reservation.code()).isEqualTo(FlashSaleShardedStock.RESULT_OUT_OF_STOCK);
+        assertThat(reservation.value()).isEqualTo(1L);
+        assertThat(soldOutRegistry.isSoldOut(PRODUCT_ID)).isTrue();
+    }
+
+    @Test
+    void 빈_샤드에_재고를_돌려주면_품절을_해제한다() {
+        // given
+        arm(1, 3);
+        soldOutRegistry.markSoldOut(PRODUCT_ID, false);
+
+        // when — 샤드 0의 1개를 가져갔다가 모자라서 돌려준다 (0 → 1)
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(PRODUCT_ID, 2, 3);
+
+        // then
+        assertThat(reservation.code()).isEqualTo(FlashSaleShardedStock.RESULT_OUT_OF_STOCK);
+        assertThat(stocks(3)).containsExactly(1L, 0L, 0L);
+        assertThat(soldOutRegistry.isSoldOut(PRODUCT_ID)).isFalse();
+    }
+
+    @Test
+    void 도중에_예외가_나면_가져온_수량을_돌려준다() {
+        // given — 샤드 1의 재고 키를 Hash로 바꿔 GET이 WRONGTYPE으로 실패하게 한다
+        arm(3, 3);
+        String brokenKey = FlashSaleKeys.stockShard(PRODUCT_ID, 1);
+        redissonClient.getKeys().delete(brokenKey);
+        redissonClient.getMap(brokenKey, StringCodec.INSTANCE).put("broken", "1");
+
+        // when & then
+        assertThatThrownBy(() -> shardedStock.reserve(PRODUCT_ID, 2, 3)).isInstanceOf(RuntimeException.class);
+        assertThat(stock(0)).isEqualTo(1L);
+        assertThat(stock(2)).isEqualTo(1L);
+    }
+
+    @Test
+    void 캐시된_샤드_수가_낡았으면_다시_읽어_늘어난_샤드까지_시도한다() {
+        // given — 다른 인스턴스가 3개로 다시 warm-up, 이 인스턴스는 2개로 알고 있음
+        arm(3, 3);
+        setStock(0, 0);
+        setStock(1, 0);
+        shardedStock.remember(PRODUCT_ID, 2);
+
+        // when
+        FlashSaleShardedStock.Reservation reservation = shardedStock.reserve(PRODUCT_ID, 1, 2);
+
+        // then
+        assertThat(reservation.code()).isEqualTo(FlashSaleShardedStock.RESULT_RESERVED);
+        assertThat(stocks(3)).containsExactly(0L, 0L, 0L);
+        assertThat(shardedStock.knownShardCount(PRODUCT_ID)).isEqualTo(3);
+        assertThat(soldOutRegistry.isSoldOut(PRODUCT_ID)).isFalse();
+    }
+
+    @Test
+    void 동시_선점에도_전체_재고를_넘어_판매하지_않는다() {
+        // given
+        arm(50, 4);
+
+        // when
+        long reserved = IntStream.range(0, 200).parallel()
+                .mapToObj(i -> shardedStock.reserve(PRODUCT_ID, 1, 4))
+                .filter(reservation -> reservation.code() == FlashSaleShardedStock.RESULT_RESERVED)
+                .count();
+
+        // then
+        assertThat(reserved).isEqualTo(50L);
+        assertThat(stocks(4)).containsOnly(0L);
+    }
+
+    /** 샤드 0은 FlashSaleService warm-up 스크립트가 적재하는 것과 같은 형태로 직접 적재한다. */
+    private void arm(long totalStock, int shardCount) {
+        shardedStock.armShards(PRODUCT_ID, totalStock, 1000L, "ACTIVE", 0L, 0L, TTL, shardCount);
+        setStock(0, FlashSaleShardedStock.shardStock(totalStock, shardCount, 0));
+        redissonClient.<String, String>getMap(FlashSaleKeys.info(PRODUCT_ID), StringCodec.INSTANCE).putAll(Map.of(
+                "price", "1000",
+                "status", "ACTIVE",
+                "startAt", "0",
+                "endAt", "0",
+                "admitRate", "0",
+                "stockShards", String.valueOf(shardCount)
+        ));
+    }
+
+    private void setStock(int shard, long stock) {
+        redissonClient.<String>getBucket(FlashSaleKeys.stockShard(PRODUCT_ID, shard), StringCodec.INSTANCE)
+                .set(String.valueOf(stock), TTL);
+    }
+
+    private long stock(int shard) {
+        return Long.parseLong(redissonClient.<String>getBucket(
+                FlashSaleKeys.stockShard(PRODUCT_ID, shard), StringCodec.INSTANCE).get());
+    }
+
+    private List<Long> stocks(int shardCount) {
+        return IntStream.range(0, shardCount).mapToObj(this::stock).toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.booster.queryburst.order.application;
+
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import com.booster.queryburst.order.application.dto.OrderResult;
+import com.booster.queryburst.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 새 형식 키와, 이전 버전이 기본 코덱 JSON으로 남긴 키가 함께 있을 때의 판별을 검증한다.
+ */
+class IdempotencyServiceTest extends RedisTestSupport {
+
+    private static final String KEY = "5b1f6c1e-idempotency";
+    private static final String LEGACY_KEY = "IDEMPOTENCY:" + KEY;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(redissonClient, new RedisScriptExecutor(redissonClient));
+    }
+
+    @Test
+    void 완료된_요청은_저장된_결과를_반환한다() {
+        // given
+        assertThat(idempotencyService.checkAndMarkProcessing(KEY)).isInstanceOf(IdempotencyCheck.Proceed.class);
+        assertThat(idempotencyService.checkAndMarkProcessing(KEY)).isInstanceOf(IdempotencyCheck.AlreadyProcessing.class);
+
+        // when
+        idempotencyService.markCompleted(KEY, new OrderResult(1893L, 50_000L));
+
+        // then
+        assertThat(idempotencyService.checkAndMarkProcessing(KEY))
+                .isEqualTo(new IdempotencyCheck.AlreadyCompleted(new OrderResult(1893L, 50_000L)));
+    }
+
+    @Test
+    void 이전_형식으로_완료된_요청은_결과를_반환한다() {
+        // given — 이전 버전이 기본 코덱으로 저장한 완료 레코드
+        redissonClient.<String>getBucket(LEGACY_KEY)
+                .set("{\"status\":\"COMPLETED\",\"orderId\":7,\"totalAmount\":1000}", Duration.ofHours(1));
+
+        // when
+        IdempotencyCheck first = idempotencyService.checkAndMarkProcessing(KEY);
+        redissonClient.getKeys().delete(LEGACY_KEY);
+        IdempotencyCheck second = idempotencyService.checkAndMarkProcessing(KEY);
+
+        // then — 결과가 새 형식 키로 옮겨져 이전 키가 만료된 뒤에도 유지된다
+        OrderResult expected = new OrderResult(7L, 1000L);
+        assertThat(first).isEqualTo(new IdempotencyCheck.AlreadyCompleted(expected));
+        assertThat(second).isEqualTo(new IdempotencyCheck.AlreadyCompleted(expected));
+    }
+
+    @Test
+    void 이전_형식으로_처리_중인_요청은_선점하지_않는다() {
+        // given
+        redissonClient.<String>getBucket(LEGACY_KEY).set("{\"status\":\"PROCESSING\"}", Duration.ofMinutes(5));
+
+        // when
+        IdempotencyCheck processing = idempotencyService.checkAndMarkProcessing(KEY);
+        redissonClient.getKeys().delete(LEGACY_KEY);
+
+        // then — 이전 보유자가 끝나면 새 요청으로 처리된다
+        assertThat(processing).isInstanceOf(IdempotencyCheck.AlreadyProcessing.class);
+        assertThat(idempotencyService.checkAndMarkProcessing(KEY)).isInstanceOf(IdempotencyCheck.Proceed.class);
+    }
+}
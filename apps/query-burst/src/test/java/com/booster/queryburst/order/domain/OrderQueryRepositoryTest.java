@@ -0,0 +1,157 @@
+package com.booster.queryburst.order.domain;
+
+import com.booster.queryburst.order.application.dto.OrderListRow;
+import com.booster.queryburst.support.PostgresJpaTest;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * keyset 목록 쿼리 플랜 회귀 검증.
+ *
+ * 엔티티 매핑으로 스키마를 만들고(@Index 정의 그대로), QueryDSL이 실제로 생성한 SQL을 같은 파라미터로 EXPLAIN한다.
+ * 커버링 인덱스 Index Only Scan과 member 조인 부재를 확인한다.
+ * VACUUM은 트랜잭션 블록 안에서 실행할 수 없으므로 테스트 트랜잭션을 쓰지 않고, 데이터는 클래스당 1회만 적재한다.
+ */
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.booster.queryburst.order.domain.OrderQueryRepositoryTest$CapturingStatementInspector")
+class OrderQueryRepositoryTest {
+
+    private static final int MEMBER_COUNT = 100;
+    private static final int ORDER_COUNT = 50_000;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static final List<String> executedSql = new CopyOnWriteArrayList<>();
+    private static boolean seeded;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderQueryRepository orderQueryRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        orderQueryRepository = new OrderQueryRepository(new JPAQueryFactory(entityManager));
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        executedSql.clear();
+    }
+
+    private void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO member (id, email, name, grade, region, created_at, updated_at)
+                SELECT i, 'member' || i || '@test.com', 'member' || i, 'BRONZE', '서울', now(), now()
+                FROM generate_series(1, ?) AS i
+                """, MEMBER_COUNT);
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, member_id, status, total_amount, ordered_at, created_at, updated_at)
+                SELECT i,
+                       i % ? + 1,
+                       (ARRAY['PENDING', 'PAID', 'SHIPPED', 'DELIVERED', 'CANCELED'])[i % 5 + 1],
+                       i * 100,
+                       ? + (i / 3) * INTERVAL '1 minute',
+                       now(), now()
+                FROM generate_series(1, ?) AS i
+                """, MEMBER_COUNT, BASE_TIME, ORDER_COUNT);
+        // visibility map을 채워 Index Only Scan이 힙을 확인하지 않게 한다
+        jdbcTemplate.execute("VACUUM (ANALYZE) orders");
+    }
+
+    @Test
+    void 필터가_없으면_idx_orders_keyset만_읽는다() {
+        // given
+        LocalDateTime cursorOrderedAt = BASE_TIME.plusDays(10);
+        Long cursorId = 30_000L;
+
+        // when
+        List<OrderListRow> rows = orderQueryRepository.findByKeyset(cursorOrderedAt, cursorId, null, null, 20);
+        String plan = explain(cursorOrderedAt, cursorId, 21L);
+
+        // then
+        assertThat(rows).hasSize(21);
+        assertThat(plan).contains("Index Only Scan using idx_orders_keyset on orders");
+        assertThat(plan).doesNotContain("Sort", "on member");
+    }
+
+    @Test
+    void 회원_필터는_idx_orders_member_keyset만_읽는다() {
+        // given
+        Long memberId = 7L;
+
+        // when
+        List<OrderListRow> rows = orderQueryRepository.findByKeyset(null, null, memberId, null, 20);
+        String plan = explain(memberId, 21L);
+
+        // then
+        assertThat(rows).hasSize(21).allMatch(row -> row.memberId().equals(memberId));
+        assertThat(plan).contains("Index Only Scan using idx_orders_member_keyset on orders");
+        assertThat(plan).doesNotContain("Sort", "on member");
+    }
+
+    @Test
+    void 상태_필터와_깊은_커서는_idx_orders_status_keyset만_읽는다() {
+        // given
+        LocalDateTime cursorOrderedAt = BASE_TIME.plusDays(1);
+        Long cursorId = 500L;
+
+        // when
+        List<OrderListRow> rows = orderQueryRepository.findByKeyset(
+                cursorOrderedAt, cursorId, null, OrderStatus.PAID, 20);
+        String plan = explain(cursorOrderedAt, cursorId, OrderStatus.PAID.name(), 21L);
+
+        // then
+        assertThat(rows).hasSize(21).allMatch(row -> row.status() == OrderStatus.PAID);
+        assertThat(plan).contains("Index Only Scan using idx_orders_status_keyset on orders");
+        assertThat(plan).doesNotContain("Sort", "on member");
+    }
+
+    /**
+     * 직전에 실행된 목록 SQL을 같은 바인딩 값(WHERE 순서, 마지막이 LIMIT)으로 EXPLAIN한다.
+     * 방언이 LIMIT을 리터럴로 렌더링하면 SQL의 자리표시자 수만큼만 바인딩한다.
+     */
+    private String explain(Object... params) {
+        String sql = executedSql.getLast();
+        assertThat(sql).doesNotContainIgnoringCase("join");
+
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] bindings = List.of(params).subList(0, placeholders).toArray();
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bindings);
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Hibernate가 실행하는 SQL을 그대로 수집한다. 설정값(클래스 이름)으로 생성되므로 public 기본 생성자가 필요하다.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            executedSql.add(sql);
+            return sql;
+        }
+    }
+}
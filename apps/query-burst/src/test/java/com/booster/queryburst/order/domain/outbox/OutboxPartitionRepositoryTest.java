@@ -0,0 +1,179 @@
+package com.booster.queryburst.order.domain.outbox;
+
+import com.booster.queryburst.order.domain.OrderBulkRepository;
+import com.booster.queryburst.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DETACH PARTITION CONCURRENTLY는 트랜잭션 블록 안에서 실행할 수 없으므로 테스트 트랜잭션을 쓰지 않는다.
+ * 매 테스트 outbox_event를 일반 테이블로 다시 만든다.
+ */
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxPartitionRepositoryTest {
+
+    @Autowired
+    private PostgreSQLContainer<?> postgres;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private OutboxPartitionRepository outboxPartitionRepository;
+    private OrderBulkRepository orderBulkRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        outboxPartitionRepository = new OutboxPartitionRepository(jdbcTemplate);
+        orderBulkRepository = new OrderBulkRepository(jdbcTemplate);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS outbox_event CASCADE");
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT tablename FROM pg_tables WHERE schemaname = current_schema() AND tablename LIKE 'outbox_event_p%'",
+                String.class)) {
+            jdbcTemplate.execute("DROP TABLE " + name);
+        }
+        // Hibernate가 OutboxEvent 엔티티로 만드는 일반 테이블
+        jdbcTemplate.execute("""
+                CREATE TABLE outbox_event (
+                    id             BIGINT       NOT NULL PRIMARY KEY,
+                    aggregate_type VARCHAR(50)  NOT NULL,
+                    aggregate_id   BIGINT       NOT NULL,
+                    event_type     VARCHAR(50)  NOT NULL,
+                    payload        TEXT         NOT NULL,
+                    status         VARCHAR(20)  NOT NULL,
+                    retry_count    INTEGER      NOT NULL,
+                    published_at   TIMESTAMP,
+                    created_at     TIMESTAMP,
+                    updated_at     TIMESTAMP
+                )
+                """);
+    }
+
+    @Test
+    void 파티션_전환_후_배치_INSERT가_성공한다() {
+        // given
+        outboxPartitionRepository.convertToPartitioned(LocalDateTime.now().minusDays(7), LocalDate.now().plusDays(1));
+
+        // when
+        orderBulkRepository.insertOutboxEvents(List.of(
+                OutboxEvent.create("ORDER", 1L, "ORDER_CREATED", "{}"),
+                OutboxEvent.create("ORDER", 2L, "ORDER_CREATED", "{}")
+        ), LocalDateTime.now());
+
+        // then
+        assertThat(outboxPartitionRepository.isPartitioned()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    void 파티션_테이블에는_id만으로_ON_CONFLICT를_쓸_수_없다() {
+        // given
+        outboxPartitionRepository.convertToPartitioned(LocalDateTime.now().minusDays(7), LocalDate.now().plusDays(1));
+
+        // when & then — OrderBulkRepository가 ON CONFLICT (id)를 쓰지 않아야 하는 이유
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO outbox_event (id, aggregate_type, aggregate_id, event_type, payload, status, retry_count, created_at, updated_at)
+                VALUES (1, 'ORDER', 1, 'ORDER_CREATED', '{}', 'PENDING', 0, now(), now())
+                ON CONFLICT (id) DO NOTHING
+                """))
+                .hasMessageContaining("no unique or exclusion constraint");
+    }
+
+    @Test
+    void 파티션_전환은_발행_대기_행과_보관_기간_내_행만_옮긴다() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        insertLegacy(1L, "PENDING", null, now.minusDays(30));
+        insertLegacy(2L, "PUBLISHED", now.minusDays(20), now.minusDays(20));
+        insertLegacy(3L, "PUBLISHED", now.minusDays(1), now.minusDays(1));
+
+        // when
+        int moved = outboxPartitionRepository.convertToPartitioned(now.minusDays(7), LocalDate.now().plusDays(1));
+
+        // then
+        assertThat(moved).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM outbox_event ORDER BY id", Long.class))
+                .containsExactly(1L, 3L);
+        assertThat(outboxPartitionRepository.findDailyPartitions())
+                .contains(now.minusDays(30).toLocalDate(), LocalDate.now());
+    }
+
+    @Test
+    void 중단된_DETACH_CONCURRENTLY는_FINALIZE_후_삭제한다() throws Exception {
+        // given
+        LocalDate date = LocalDate.now().minusDays(10);
+        outboxPartitionRepository.convertToPartitioned(LocalDateTime.now().minusDays(7), LocalDate.now());
+        outboxPartitionRepository.createDailyPartition(date);
+        String partition = "outbox_event_p" + date.toString().replace("-", "");
+
+        // 부모 테이블을 읽은 트랜잭션이 열려 있으면 DETACH CONCURRENTLY는 두 번째 단계에서 대기하고,
+        // 그 사이 취소되면 분리 대기(inhdetachpending) 상태로 남는다
+        try (Connection reader = postgres.createConnection("")) {
+            reader.setAutoCommit(false);
+            reader.createStatement().execute("SELECT 1 FROM outbox_event LIMIT 1");
+
+            SingleConnectionDataSource detacher = new SingleConnectionDataSource(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+            JdbcTemplate detacherTemplate = new JdbcTemplate(detacher);
+            detacherTemplate.execute("SET statement_timeout = '1s'");
+            assertThatThrownBy(() -> detacherTemplate.execute(
+                    "ALTER TABLE outbox_event DETACH PARTITION " + partition + " CONCURRENTLY"));
+            detacher.destroy();
+
+            reader.rollback();
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT inhdetachpending FROM pg_inherits WHERE inhrelid = to_regclass(?)", Boolean.class, partition))
+                .isTrue();
+
+        // when
+        outboxPartitionRepository.dropDailyPartition(date);
+
+        // then
+        assertThat(outboxPartitionRepository.findDailyPartitions()).doesNotContain(date);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, partition)).isTrue();
+    }
+
+    @Test
+    void 분리_후_남은_파티션_테이블을_찾아_삭제한다() {
+        // given
+        LocalDate date = LocalDate.now().minusDays(10);
+        outboxPartitionRepository.convertToPartitioned(LocalDateTime.now().minusDays(7), LocalDate.now());
+        outboxPartitionRepository.createDailyPartition(date);
+        String partition = "outbox_event_p" + date.toString().replace("-", "");
+        jdbcTemplate.execute("ALTER TABLE outbox_event DETACH PARTITION " + partition);
+
+        // when
+        List<LocalDate> orphaned = outboxPartitionRepository.findOrphanedPartitions();
+        outboxPartitionRepository.dropDailyPartition(date);
+
+        // then
+        assertThat(orphaned).containsExactly(date);
+        assertThat(outboxPartitionRepository.findOrphanedPartitions()).isEmpty();
+    }
+
+    private void insertLegacy(Long id, String status, LocalDateTime publishedAt, LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+                INSERT INTO outbox_event (id, aggregate_type, aggregate_id, event_type, payload, status, retry_count, published_at, created_at, updated_at)
+                VALUES (?, 'ORDER', ?, 'ORDER_CREATED', '{}', ?, 0, ?, ?, ?)
+                """, id, id, status, publishedAt, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,90 @@
+package com.booster.queryburst.ranking.application;
+
+import com.booster.queryburst.common.redis.RedisScriptExecutor;
+import com.booster.queryburst.ranking.application.dto.ProductRankingResult;
+import com.booster.queryburst.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingServiceTest extends RedisTestSupport {
+
+    private static final String WINDOW_KEY = "{RANK}:window:24h";
+    private static final String EMPTY_MARKER_KEY = "{RANK}:window:24h:empty";
+
+    private RankingService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new RankingService(redissonClient, new RedisScriptExecutor(redissonClient));
+    }
+
+    @Test
+    void 윈도우를_합산하면_TTL이_있는_캐시_키가_생긴다() {
+        // given
+        rankingService.applySalesDeltas(Map.of(1L, 3L, 2L, 5L));
+
+        // when
+        List<ProductRankingResult> results = rankingService.getTopProducts(RankingWindow.LAST_24H, 10);
+
+        // then
+        assertThat(results).extracting(ProductRankingResult::productId).containsExactly(2L, 1L);
+        assertThat(results).extracting(ProductRankingResult::rank).containsExactly(1, 2);
+        assertThat(redissonClient.getKeys().remainTimeToLive(WINDOW_KEY)).isPositive();
+    }
+
+    @Test
+    void 판매가_없는_윈도우는_빈_마커를_남기고_다시_합산하지_않는다() {
+        // given
+        assertThat(rankingService.getTopProducts(RankingWindow.LAST_24H, 10)).isEmpty();
+        assertThat(redissonClient.getKeys().remainTimeToLive(EMPTY_MARKER_KEY)).isPositive();
+
+        // when — 마커가 살아 있는 동안 들어온 판매는 마커 만료 후 합산에 반영된다
+        rankingService.applySalesDeltas(Map.of(1L, 3L));
+        List<ProductRankingResult> results = rankingService.getTopProducts(RankingWindow.LAST_24H, 10);
+
+        // then
+        assertThat(results).isEmpty();
+        assertThat(redissonClient.getKeys().countExists(WINDOW_KEY)).isZero();
+
+        redissonClient.getKeys().delete(EMPTY_MARKER_KEY);
+        assertThat(rankingService.getTopProducts(RankingWindow.LAST_24H, 10))
+                .extracting(ProductRankingResult::productId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void 시간대_키는_상품_ID를_문자열_멤버로_저장한다() {
+        // given
+        String hourlyKey = "{RANK}:hourly:" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHH"));
+
+        // when
+        rankingService.applySalesDeltas(Map.of(42L, 2L));
+
+        // then
+        assertThat(redissonClient.<String>getScoredSortedSet(hourlyKey, StringCodec.INSTANCE).getScore("42"))
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void 취소가_판매보다_많으면_점수는_0으로_보정되고_다음_증가분은_그대로_반영된다() {
+        // given
+        String hourlyKey = "{RANK}:hourly:" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHH"));
+        rankingService.applySalesDeltas(Map.of(42L, 2L));
+
+        // when
+        rankingService.applySalesDeltas(Map.of(42L, -5L));
+        rankingService.applySalesDeltas(Map.of(42L, 3L));
+
+        // then
+        assertThat(redissonClient.<String>getScoredSortedSet(hourlyKey, StringCodec.INSTANCE).getScore("42"))
+                .isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.booster.queryburst.statistics.domain;
+
+import com.booster.queryburst.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 증가분은 UPSERT, 감소분(취소)은 기존 행에만 반영되는지, 부호가 섞인 증감분의 증가분이 유실되지 않는지 검증한다.
+ */
+@PostgresJpaTest
+class SalesStatisticsUpsertRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 1);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private SalesStatisticsUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트 트랜잭션에 참여하므로 테스트가 끝나면 롤백된다
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new SalesStatisticsUpsertRepository(jdbcTemplate);
+    }
+
+    @Test
+    void 집계_행이_없는_취소는_행을_만들지_않는다() {
+        // when
+        repository.upsertDailySales(List.of(new DailySalesDelta(DATE, 1L, -5_000, -1)), NOW);
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM daily_sales_summary", Long.class)).isZero();
+    }
+
+    @Test
+    void 취소는_기존_행에서_차감되고_0_미만으로_내려가지_않는다() {
+        // given
+        repository.upsertDailySales(List.of(
+                new DailySalesDelta(DATE, 1L, 10_000, 2),
+                new DailySalesDelta(DATE, 2L, 3_000, 1)
+        ), NOW);
+
+        // when — 증가/감소가 섞인 배치
+        repository.upsertDailySales(List.of(
+                new DailySalesDelta(DATE, 1L, -4_000, -1),
+                new DailySalesDelta(DATE, 2L, -9_000, -3),
+                new DailySalesDelta(DATE, 3L, 7_000, 1),
+                new DailySalesDelta(DATE, 4L, -1_000, -1)
+        ), NOW);
+
+        // then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT category_id, total_amount, order_count FROM daily_sales_summary ORDER BY category_id");
+        assertThat(rows).extracting(row -> row.get("category_id")).containsExactly(1L, 2L, 3L);
+        assertThat(rows).extracting(row -> row.get("total_amount")).containsExactly(6_000L, 0L, 7_000L);
+        assertThat(rows).extracting(row -> row.get("order_count")).containsExactly(1L, 0L, 1L);
+    }
+
+    @Test
+    void 부호가_섞인_증감분은_증가분을_잃지_않는다() {
+        // given
+        repository.upsertDailySales(List.of(new DailySalesDelta(DATE, 1L, 10_000, 2)), NOW);
+
+        // when — 같은 키에 판매와 취소가 함께 합산되어 금액은 +, 건수는 -
+        repository.upsertDailySales(List.of(
+                new DailySalesDelta(DATE, 1L, 2_000, -1),
+                new DailySalesDelta(DATE, 2L, 3_000, -1)
+        ), NOW);
+
+        // then — 행이 없던 키도 증가분으로 행이 만들어지고, 감소분은 0 미만으로 내려가지 않는다
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT category_id, total_amount, order_count FROM daily_sales_summary ORDER BY category_id");
+        assertThat(rows).extracting(row -> row.get("category_id")).containsExactly(1L, 2L);
+        assertThat(rows).extracting(row -> row.get("total_amount")).containsExactly(12_000L, 3_000L);
+        assertThat(rows).extracting(row -> row.get("order_count")).containsExactly(1L, 0L);
+    }
+}
@@ -0,0 +1,30 @@
+package com.booster.queryburst.support;
+
+import com.booster.storage.db.PostgresTestConfig;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * PostgreSQL 전용 SQL(ON CONFLICT, 파티션, EXPLAIN) 검증용 JPA 슬라이스 테스트.
+ *
+ * storage-db testFixtures의 {@link PostgresTestConfig} 컨테이너를 @ServiceConnection으로 붙이고,
+ * 스키마는 엔티티 매핑(@Index 포함)으로 Hibernate가 생성한다. local 프로파일(H2)은 쓰지 않는다.
+ * 컨테이너 DataSource는 내장 DB가 아니어서 ddl-auto 기본값이 none이므로 create-drop을 명시한다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+public @interface PostgresJpaTest {
+}
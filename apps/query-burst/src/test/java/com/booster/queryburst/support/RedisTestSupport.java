@@ -0,0 +1,44 @@
+package com.booster.queryburst.support;
+
+import com.booster.storage.redis.RedisTestConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Redis 스크립트/키 구조 검증 테스트의 공통 기반.
+ *
+ * storage-redis testFixtures의 {@link RedisTestConfig} 컨테이너를 테스트 JVM당 한 번만 띄우고,
+ * 스프링 컨텍스트 없이 Redisson 클라이언트를 직접 만들어 공유한다. 테스트마다 flushall로 비운다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class RedisTestSupport {
+
+    private static final int REDIS_PORT = 6379;
+
+    private static GenericContainer<?> redisContainer;
+    protected static RedissonClient redissonClient;
+
+    @BeforeAll
+    static synchronized void startRedis() {
+        if (redissonClient != null) {
+            return;
+        }
+        redisContainer = new RedisTestConfig().redisContainer();
+        redisContainer.start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress(
+                "redis://" + redisContainer.getHost() + ":" + redisContainer.getMappedPort(REDIS_PORT));
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterEach
+    void flushRedis() {
+        redissonClient.getKeys().flushall();
+    }
+}